@@ -0,0 +1,49 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import student.management.api_app.model.Person;
+import student.management.api_app.util.AgeCalculator;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+// isAdult() cho 1 page 1000 dòng: gọi lẻ từng dòng vs cutoff tính 1 lần cho cả page (như mapper)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgeCalculatorBenchmark {
+
+    LocalDate[] dobs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dobs = BenchmarkData.persons(1000).stream()
+                .map(Person::getDob)
+                .toArray(LocalDate[]::new);
+        dobs[0] = null;
+    }
+
+    @Benchmark
+    public void isAdult(Blackhole bh) {
+        for (LocalDate dob : dobs) bh.consume(AgeCalculator.isAdult(dob));
+    }
+
+    @Benchmark
+    public void isAdultWithPageCutoff(Blackhole bh) {
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        for (LocalDate dob : dobs) bh.consume(AgeCalculator.isAdult(dob, adultCutoff));
+    }
+
+    // Bản cũ: LocalDate.now() + Period.between mỗi dòng
+    @Benchmark
+    public void legacyPeriodBetween(Blackhole bh) {
+        for (LocalDate dob : dobs) {
+            bh.consume(dob != null && Period.between(dob, LocalDate.now()).getYears() >= 18);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package student.management.api_app.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import student.management.api_app.model.Person;
+import student.management.api_app.model.Student;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Dữ liệu giả dùng chung cho các benchmark (seed cố định để kết quả so sánh được giữa các lần chạy)
+final class BenchmarkData {
+    private BenchmarkData() {}
+
+    static final long SEED = 42L;
+
+    private static final String[] LAST_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Võ", "Đỗ", "Bùi"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Hoàng", "Minh", "Ngọc", "Đức"};
+    private static final String[] FIRST_NAMES = {"An", "Bích", "Cường", "Diệp", "Em", "Hoa", "Kiên", "Lan"};
+
+    static List<Person> persons(int n) {
+        Random rnd = new Random(SEED);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        List<Person> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(Person.builder()
+                    .id(new UUID(rnd.nextLong(), rnd.nextLong()))
+                    .fullName(LAST_NAMES[rnd.nextInt(LAST_NAMES.length)] + " "
+                            + MIDDLE_NAMES[rnd.nextInt(MIDDLE_NAMES.length)] + " "
+                            + FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)])
+                    .dob(LocalDate.of(1995 + rnd.nextInt(15), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28)))
+                    .phone(String.format("09%08d", i))
+                    .contactEmail("person" + i + "@example.com")
+                    .address("Hai Chau, Da Nang")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return result;
+    }
+
+    static List<Student> students(int n) {
+        Random rnd = new Random(SEED);
+        List<Student> result = new ArrayList<>(n);
+        int i = 0;
+        for (Person p : persons(n)) {
+            result.add(Student.builder()
+                    .id(p.getId())
+                    .person(p)
+                    .studentCode(String.format("STU%07d", i++))
+                    .enrollmentYear(2018 + rnd.nextInt(8))
+                    .createdAt(p.getCreatedAt())
+                    .updatedAt(p.getUpdatedAt())
+                    .build());
+        }
+        return result;
+    }
+
+    // Cấu hình giống ObjectMapper của app (JavaTimeModule + JsonNullableModule + filter mặc định)
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .modulesToInstall(new JsonNullableModule())
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package student.management.api_app.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.exception.AppException;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.exception.NotFoundException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đường lỗi 404/400: throw ở tầng service -> catch ở handler -> serialize AppResponse.error.
+ * {@code depth} giả lập số frame giữa controller và chỗ throw (request thật qua Spring MVC có ~100+ frame),
+ * chi phí fillInStackTrace tăng theo depth.
+ * <ul>
+ *   <li>{@code legacy*}: ResponseStatusException (có stack trace), như trước khi có exception package</li>
+ *   <li>{@code stackless*}: AppException tạo mới mỗi lần</li>
+ *   <li>{@code preallocated}: instance static final dùng lại (message cố định)</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+    private static final String PATH = "/api/v1/students/by-phone/+84905000001";
+    private static final BadRequestException PHONE_REQUIRED = new BadRequestException("Phone is required");
+
+    @Param({"20", "150"})
+    int depth;
+
+    ObjectMapper mapper;
+    UUID id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = BenchmarkData.objectMapper(new JsonFactory());
+        id = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public byte[] legacyNotFound() throws Exception {
+        try {
+            call(depth, () -> {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found with id: " + id);
+            });
+            return null;
+        } catch (ResponseStatusException e) {
+            return mapper.writeValueAsBytes(AppResponse.error(
+                    HttpStatus.valueOf(e.getStatusCode().value()).name(), e.getReason(), PATH));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessNotFound() throws Exception {
+        try {
+            call(depth, () -> {
+                throw new NotFoundException("Student not found with id: " + id);
+            });
+            return null;
+        } catch (AppException e) {
+            return mapper.writeValueAsBytes(AppResponse.error(e.getCode(), e.getMessage(), PATH));
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyBadRequest() throws Exception {
+        try {
+            call(depth, () -> {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Phone is required");
+            });
+            return null;
+        } catch (ResponseStatusException e) {
+            return mapper.writeValueAsBytes(AppResponse.error(
+                    HttpStatus.valueOf(e.getStatusCode().value()).name(), e.getReason(), PATH));
+        }
+    }
+
+    @Benchmark
+    public byte[] preallocatedBadRequest() throws Exception {
+        try {
+            call(depth, () -> {
+                throw PHONE_REQUIRED;
+            });
+            return null;
+        } catch (AppException e) {
+            return mapper.writeValueAsBytes(AppResponse.error(e.getCode(), e.getMessage(), PATH));
+        }
+    }
+
+    // Đệ quy để stack có đúng depth frame lúc throw
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static void call(int depth, Runnable thrower) {
+        if (depth == 0) {
+            thrower.run();
+            return;
+        }
+        call(depth - 1, thrower);
+    }
+}
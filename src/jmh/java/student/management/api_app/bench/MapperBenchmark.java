@@ -0,0 +1,61 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import student.management.api_app.mapper.PersonMapper;
+import student.management.api_app.mapper.StudentMapper;
+import student.management.api_app.model.Person;
+import student.management.api_app.model.Student;
+import student.management.api_app.util.AgeCalculator;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Map 10k entity -> DTO (list item và detail)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10000"})
+    int size;
+
+    PersonMapper personMapper;
+    StudentMapper studentMapper;
+    List<Person> persons;
+    List<Student> students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        personMapper = new PersonMapper();
+        studentMapper = new StudentMapper(personMapper);
+        persons = BenchmarkData.persons(size);
+        students = BenchmarkData.students(size);
+    }
+
+    @Benchmark
+    public void personToListItem(Blackhole bh) {
+        LocalDate adultCutoff = AgeCalculator.adultCutoff(); // 1 lần / page như service
+        for (Person p : persons) bh.consume(personMapper.toListItemResponse(p, adultCutoff));
+    }
+
+    @Benchmark
+    public void personToDetail(Blackhole bh) {
+        for (Person p : persons) bh.consume(personMapper.toDetailResponse(p));
+    }
+
+    @Benchmark
+    public void studentToListItem(Blackhole bh) {
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        for (Student s : students) bh.consume(studentMapper.toListItemResponse(s, adultCutoff));
+    }
+
+    @Benchmark
+    public void studentToDetail(Blackhole bh) {
+        for (Student s : students) bh.consume(studentMapper.toDetailResponse(s));
+    }
+}
@@ -0,0 +1,94 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import student.management.api_app.util.NormalizerUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Chi phí normalize cho mỗi request / mỗi dòng bulk (mỗi op = 1 mảng input).
+ * legacy* = bản cũ (replaceAll + toLowerCase/toUpperCase theo locale mặc định) để so sánh.
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát / op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NormalizerBenchmark {
+
+    String[] phones = {
+            "0905000001", " 0905 000 002 ", "0905.000.003", "0905-000-004", "+84 905 000 005", null, "   "
+    };
+    // Dữ liệu đã chuẩn (đọc từ DB, client gửi đúng) -> đường nhanh không cấp phát
+    String[] canonicalPhones = {"+84905000001", "+84905000002", "+84905000003", "+84905000004"};
+    String[] emails = {
+            "An.Nguyen@Example.com", "  bich.tran@example.com ", "CUONG.LE@EXAMPLE.COM", null, ""
+    };
+    String[] codes = {"stu001", " Stu002 ", "STU003", "k22-cntt-0004", null};
+    String[] names = {"  Nguyễn Văn An  ", "Trần Thị Bích", "", null, "Lê Hoàng Cường "};
+
+    @Benchmark
+    public void normalizePhone(Blackhole bh) {
+        for (String s : phones) bh.consume(NormalizerUtil.normalizePhone(s));
+    }
+
+    @Benchmark
+    public void normalizePhoneCanonical(Blackhole bh) {
+        for (String s : canonicalPhones) bh.consume(NormalizerUtil.normalizePhone(s));
+    }
+
+    @Benchmark
+    public void normalizeEmail(Blackhole bh) {
+        for (String s : emails) bh.consume(NormalizerUtil.normalizeEmail(s));
+    }
+
+    @Benchmark
+    public void normalizeCode(Blackhole bh) {
+        for (String s : codes) bh.consume(NormalizerUtil.normalizeCode(s));
+    }
+
+    @Benchmark
+    public void trimToNull(Blackhole bh) {
+        for (String s : names) bh.consume(NormalizerUtil.trimToNull(s));
+    }
+
+    @Benchmark
+    public void legacyNormalizePhone(Blackhole bh) {
+        for (String s : phones) bh.consume(Legacy.normalizePhone(s));
+    }
+
+    @Benchmark
+    public void legacyNormalizeEmail(Blackhole bh) {
+        for (String s : emails) bh.consume(Legacy.normalizeEmail(s));
+    }
+
+    @Benchmark
+    public void legacyNormalizeCode(Blackhole bh) {
+        for (String s : codes) bh.consume(Legacy.normalizeCode(s));
+    }
+
+    // Bản NormalizerUtil trước khi viết lại, giữ nguyên để làm baseline
+    static final class Legacy {
+        static String trimToNull(String s) {
+            return (s == null || s.isBlank()) ? null : s.trim();
+        }
+
+        static String normalizeEmail(String s) {
+            String v = trimToNull(s);
+            return (v == null) ? null : v.toLowerCase();
+        }
+
+        static String normalizePhone(String s) {
+            String v = trimToNull(s);
+            return (v == null) ? null : v.replaceAll("[\\s.\\-]", "");
+        }
+
+        static String normalizeCode(String s) {
+            String v = trimToNull(s);
+            return v == null ? null : v.toUpperCase();
+        }
+    }
+}
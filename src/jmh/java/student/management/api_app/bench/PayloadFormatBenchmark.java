@@ -0,0 +1,78 @@
+package student.management.api_app.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.student.StudentListItemResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh JSON / Smile / CBOR cho 1 page 1000 StudentListItemResponse.
+ * Kích thước payload được in ra ở Setup, throughput đo ở các benchmark write/read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    String format;
+
+    @Param({"1000"})
+    int pageSize;
+
+    ObjectMapper mapper;
+    AppResponse<PageResponse<StudentListItemResponse>> payload;
+    byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "SMILE" -> new SmileFactory();
+            case "CBOR" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        mapper = BenchmarkData.objectMapper(factory);
+
+        List<StudentListItemResponse> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(new StudentListItemResponse(
+                    UUID.randomUUID(),
+                    "STU" + String.format("%06d", i),
+                    2020 + (i % 6),
+                    "Nguyễn Văn Học Viên " + i,
+                    "student" + i + "@example.com",
+                    i % 3 != 0));
+        }
+        payload = AppResponse.success(new PageResponse<>(
+                new PageImpl<>(items, PageRequest.of(0, pageSize), pageSize * 20L)));
+        encoded = mapper.writeValueAsBytes(payload);
+
+        System.out.printf("%n[%s] payload size for %d items: %d bytes%n",
+                format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        // Phía consumer: parse lại toàn bộ payload
+        return mapper.readTree(encoded);
+    }
+}
@@ -0,0 +1,67 @@
+package student.management.api_app.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.person.PersonListItemResponse;
+import student.management.api_app.dto.student.StudentListItemResponse;
+import student.management.api_app.mapper.PersonMapper;
+import student.management.api_app.mapper.StudentMapper;
+import student.management.api_app.util.AgeCalculator;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialize AppResponse<PageResponse<...>> như response của các endpoint list/search
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"5", "100", "1000"})
+    int pageSize;
+
+    ObjectMapper mapper;
+    AppResponse<PageResponse<PersonListItemResponse>> personPage;
+    AppResponse<PageResponse<StudentListItemResponse>> studentPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = BenchmarkData.objectMapper(new JsonFactory());
+
+        PersonMapper personMapper = new PersonMapper();
+        StudentMapper studentMapper = new StudentMapper(personMapper);
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+
+        List<PersonListItemResponse> persons = BenchmarkData.persons(pageSize).stream()
+                .map(p -> personMapper.toListItemResponse(p, adultCutoff))
+                .toList();
+        List<StudentListItemResponse> students = BenchmarkData.students(pageSize).stream()
+                .map(s -> studentMapper.toListItemResponse(s, adultCutoff))
+                .toList();
+
+        personPage = AppResponse.success(new PageResponse<>(
+                new PageImpl<>(persons, pageRequest, pageSize * 20L)));
+        studentPage = AppResponse.success(new PageResponse<>(
+                new PageImpl<>(students, pageRequest, pageSize * 20L)));
+    }
+
+    @Benchmark
+    public byte[] personPage() throws Exception {
+        return mapper.writeValueAsBytes(personPage);
+    }
+
+    @Benchmark
+    public byte[] studentPage() throws Exception {
+        return mapper.writeValueAsBytes(studentPage);
+    }
+}
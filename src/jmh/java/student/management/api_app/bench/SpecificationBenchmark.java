@@ -0,0 +1,80 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import student.management.api_app.model.Person;
+import student.management.api_app.model.Student;
+import student.management.api_app.repository.specification.PersonSpecifications;
+import student.management.api_app.util.DobRange;
+import student.management.api_app.util.NormalizerUtil;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static student.management.api_app.repository.specification.StudentSpecifications.*;
+
+/**
+ * Chi phí dựng Specification như trong PersonService.search / StudentService.search
+ * (normalize input + compose). Phần toPredicate() cần EntityManager nên không đo ở đây.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    // true: mọi filter đều có giá trị; false: request không filter (trang mặc định)
+    @Param({"true", "false"})
+    boolean filtered;
+
+    String name;
+    String phone;
+    String email;
+    String address;
+    String code;
+    LocalDate dobFrom;
+    LocalDate dobTo;
+    Boolean adult;
+    Integer yearFrom;
+    Integer yearTo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!filtered) return;
+        name = " Nguyễn ";
+        phone = "0905.000.001";
+        email = "Example.com";
+        address = "Da Nang";
+        code = "stu";
+        dobFrom = LocalDate.of(2000, 1, 1);
+        dobTo = LocalDate.of(2008, 12, 31);
+        adult = true;
+        yearFrom = 2020;
+        yearTo = 2025;
+    }
+
+    @Benchmark
+    public Specification<Person> personSearch() {
+        return Specification.<Person>unrestricted()
+                .and(PersonSpecifications.fullNameContains(NormalizerUtil.trimToNull(name)))
+                .and(PersonSpecifications.phoneEquals(NormalizerUtil.normalizePhone(phone)))
+                .and(PersonSpecifications.emailContains(NormalizerUtil.normalizeEmail(email)))
+                .and(PersonSpecifications.addressContains(NormalizerUtil.trimToNull(address)))
+                .and(PersonSpecifications.dobIn(
+                        DobRange.of(dobFrom, dobTo, adult, null, null, LocalDate.now())));
+    }
+
+    @Benchmark
+    public Specification<Student> studentSearch() {
+        return Specification.<Student>unrestricted()
+                .and(personNameContains(NormalizerUtil.trimToNull(name)))
+                .and(personPhoneEquals(NormalizerUtil.normalizePhone(phone)))
+                .and(personEmailContains(NormalizerUtil.normalizeEmail(email)))
+                .and(personDobIn(DobRange.of(dobFrom, dobTo, adult, null, null, LocalDate.now())))
+                .and(studentCodeContains(NormalizerUtil.normalizeCode(code)))
+                .and(enrollmentYearGte(yearFrom))
+                .and(enrollmentYearLte(yearTo));
+    }
+}
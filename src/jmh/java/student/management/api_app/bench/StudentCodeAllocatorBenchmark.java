@@ -0,0 +1,54 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import student.management.api_app.codegen.BlockSequence;
+import student.management.api_app.codegen.StudentCodePattern;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thông lượng cấp studentCode như StudentCodeAllocator (BlockSequence + StudentCodePattern), 8 thread cùng lúc.
+ * reserveLatencyMicros giả lập round trip nextval tới Postgres khi hết block (mục tiêu: >= 10k code/s).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class StudentCodeAllocatorBenchmark {
+
+    @Param({"100", "1000"})
+    long blockSize;
+
+    // 0: chỉ đo phần trong bộ nhớ; 1000: mỗi block tốn ~1ms DB
+    @Param({"0", "1000"})
+    long reserveLatencyMicros;
+
+    BlockSequence sequence;
+    StudentCodePattern pattern;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtomicLong dbSequence = new AtomicLong(1);
+        sequence = new BlockSequence(() -> {
+            if (reserveLatencyMicros > 0) LockSupport.parkNanos(reserveLatencyMicros * 1_000);
+            return new BlockSequence.Range(dbSequence.getAndAdd(blockSize), blockSize);
+        });
+        pattern = StudentCodePattern.parse("STU{year}{seq:6}");
+    }
+
+    @Benchmark
+    public String allocate() {
+        return pattern.format(2025, sequence.next());
+    }
+
+    // Chỉ bộ đếm, không format
+    @Benchmark
+    public long nextSequence() {
+        return sequence.next();
+    }
+}
@@ -0,0 +1,77 @@
+package student.management.api_app.bench;
+
+import org.openjdk.jmh.annotations.*;
+import student.management.api_app.dto.suggest.SuggestionResponse;
+import student.management.api_app.model.Student;
+import student.management.api_app.suggest.PrefixIndex;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Độ trễ 1 query typeahead trên PrefixIndex (như SuggestIndex, limit 10), cả khi đang có delta chưa gộp.
+ * Kích thước ước lượng của index được in ra lúc setup (cùng số liệu với gauge app.suggest.index.bytes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuggestBenchmark {
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    // Số entry đã sửa sau khi dựng (nằm trong delta)
+    @Param({"0", "2000"})
+    int pendingUpdates;
+
+    PrefixIndex persons;
+    PrefixIndex students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Student> data = BenchmarkData.students(size);
+        persons = new PrefixIndex(5_000, 2_000);
+        students = new PrefixIndex(5_000, 2_000);
+        persons.replaceAll(data.stream()
+                .map(s -> new PrefixIndex.Entry(s.getId(), s.getPerson().getFullName(), null))
+                .toList());
+        students.replaceAll(data.stream()
+                .map(s -> new PrefixIndex.Entry(s.getId(), s.getStudentCode(), s.getPerson().getFullName()))
+                .toList());
+
+        List<PrefixIndex.Entry> updates = data.stream().limit(pendingUpdates)
+                .map(s -> new PrefixIndex.Entry(s.getId(), s.getPerson().getFullName() + " Mới", null))
+                .toList();
+        persons.apply(updates, List.<UUID>of());
+
+        System.out.printf("%nsize=%d: persons ~%d KB, students ~%d KB%n",
+                size, persons.estimatedBytes() / 1024, students.estimatedBytes() / 1024);
+    }
+
+    // 1 ký tự: range lớn nhất, dừng sau LIMIT hit
+    @Benchmark
+    public List<SuggestionResponse> personsOneChar() {
+        return persons.search("n", LIMIT);
+    }
+
+    @Benchmark
+    public List<SuggestionResponse> personsUnaccentedPrefix() {
+        return persons.search("nguy", LIMIT);
+    }
+
+    // Nhiều từ: duyệt theo từ dài nhất, lọc theo các từ còn lại
+    @Benchmark
+    public List<SuggestionResponse> personsMultiWord() {
+        return persons.search("tran thi la", LIMIT);
+    }
+
+    @Benchmark
+    public List<SuggestionResponse> studentsByCode() {
+        return students.search("stu00012", LIMIT);
+    }
+}
@@ -0,0 +1,161 @@
+package student.management.api_app.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import static student.management.api_app.datagen.VietnameseData.*;
+
+/**
+ * Một writer = một connection, sinh dải seq [from, to) và COPY theo batch.
+ * Mỗi batch: COPY people rồi COPY students trong cùng transaction (FK luôn thỏa).
+ * Phone/student_code suy ra từ seq nên các writer không bao giờ trùng nhau.
+ */
+class CopyWriter implements Callable<Long> {
+    private static final String COPY_PEOPLE =
+            "COPY app.people (id, full_name, dob, phone, contact_email, address) FROM STDIN";
+    private static final String COPY_STUDENTS =
+            "COPY app.students (person_id, student_code, enrollment_year) FROM STDIN";
+
+    // Năm nhập học 2010..2025, khóa gần đây đông hơn (tăng ~20%/năm)
+    static final int FIRST_YEAR = 2010;
+    private static final int[] YEAR_CUMULATIVE;
+
+    static {
+        int[] weights = new int[16];
+        double w = 100;
+        for (int i = 0; i < weights.length; i++, w *= 1.2) weights[i] = (int) w;
+        YEAR_CUMULATIVE = cumulative(weights);
+    }
+
+    private final DataGeneratorConfig config;
+    private final long from;
+    private final long to;
+    private final SplittableRandom random;
+    private final LongAdder progress;
+
+    CopyWriter(DataGeneratorConfig config, long from, long to, long seed, LongAdder progress) {
+        this.config = config;
+        this.from = from;
+        this.to = to;
+        this.random = new SplittableRandom(seed);
+        this.progress = progress;
+    }
+
+    @Override
+    public Long call() throws Exception {
+        try (Connection conn = DriverManager.getConnection(
+                config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword())) {
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                // Dữ liệu sinh lại được, không cần chờ WAL flush mỗi commit
+                st.execute("SET synchronous_commit = off");
+            }
+            CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+
+            StringBuilder people = new StringBuilder(config.batchSize() * 128);
+            StringBuilder students = new StringBuilder(config.batchSize() * 64);
+            for (long batchStart = from; batchStart < to; batchStart += config.batchSize()) {
+                long batchEnd = Math.min(to, batchStart + config.batchSize());
+                people.setLength(0);
+                students.setLength(0);
+                for (long seq = batchStart; seq < batchEnd; seq++) {
+                    appendRow(seq, people, students);
+                }
+                copy.copyIn(COPY_PEOPLE, new StringReader(people.toString()));
+                if (!students.isEmpty()) {
+                    copy.copyIn(COPY_STUDENTS, new StringReader(students.toString()));
+                }
+                conn.commit();
+                progress.add(batchEnd - batchStart);
+            }
+        }
+        return to - from;
+    }
+
+    // COPY text format: tab phân cách, \N là NULL. Dữ liệu sinh ra không chứa tab/backslash nên không cần escape
+    private void appendRow(long seq, StringBuilder people, StringBuilder students) {
+        UUID id = uuid();
+        boolean female = random.nextBoolean();
+        int family = familyIndex(random);
+        String[] given = female ? GIVEN_FEMALE : GIVEN_MALE;
+        String[] givenAscii = female ? GIVEN_FEMALE_ASCII : GIVEN_MALE_ASCII;
+        int givenIdx = random.nextInt(given.length);
+        String[] middles = female ? MIDDLE_FEMALE : MIDDLE_MALE;
+        String middle = middles[random.nextInt(middles.length)];
+
+        boolean student = random.nextDouble() < config.studentRatio();
+        Integer year = student && random.nextInt(50) != 0
+                ? FIRST_YEAR + pick(YEAR_CUMULATIVE, random)
+                : null;
+        LocalDate dob = dob(student, year);
+
+        people.append(id).append('\t')
+                .append(FAMILY[family]).append(' ').append(middle).append(' ').append(given[givenIdx]).append('\t')
+                .append(dob).append('\t');
+        if (random.nextInt(33) == 0) {
+            people.append("\\N");
+        } else {
+            people.append(phone(seq));
+        }
+        people.append('\t')
+                .append(givenAscii[givenIdx]).append('.').append(FAMILY_ASCII[family]).append(seq)
+                .append('@').append(EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)]).append('\t')
+                .append(ADDRESSES[random.nextInt(ADDRESSES.length)]).append('\n');
+
+        if (student) {
+            students.append(id).append('\t')
+                    .append("SV").append(year == null ? 0 : year);
+            appendPadded(students, seq, 9);
+            students.append('\t').append(year == null ? "\\N" : year).append('\n');
+        }
+    }
+
+    private LocalDate dob(boolean student, Integer year) {
+        int birthYear;
+        if (year != null) {
+            birthYear = year - 18 - (random.nextInt(10) == 0 ? 1 + random.nextInt(8) : 0);
+        } else if (student) {
+            birthYear = 1995 + random.nextInt(13);
+        } else {
+            birthYear = 1955 + random.nextInt(52);
+        }
+        return LocalDate.ofYearDay(birthYear, 1 + random.nextInt(365));
+    }
+
+    /*
+     * Hoán vị seq trong mỗi đầu số bằng phép nhân với hằng số nguyên tố cùng nhau với 10^7,
+     * nên số trông ngẫu nhiên nhưng vẫn là song ánh -> không trùng.
+     */
+    static String phone(long seq) {
+        int prefix = (int) (seq / PHONES_PER_PREFIX);
+        if (prefix >= PHONE_PREFIXES.length) {
+            throw new IllegalStateException("Phone space exhausted at seq " + seq);
+        }
+        long local = (seq % PHONES_PER_PREFIX * 3_344_671L + 1_234_567L) % PHONES_PER_PREFIX;
+        StringBuilder sb = new StringBuilder(12).append(PHONE_PREFIXES[prefix]);
+        appendPadded(sb, local, 7);
+        return sb.toString();
+    }
+
+    private static void appendPadded(StringBuilder sb, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) sb.append('0');
+        sb.append(digits);
+    }
+
+    private UUID uuid() {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
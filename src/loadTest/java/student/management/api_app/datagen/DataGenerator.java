@@ -0,0 +1,89 @@
+package student.management.api_app.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sinh dataset lớn cho app.people/app.students bằng COPY song song.
+ *
+ * <pre>
+ * ./gradlew generateData -Pdatagen.persons=10000000 -Pdatagen.writers=8
+ * # Nạp thêm 5M vào dataset đã có:
+ * ./gradlew generateData -Pdatagen.persons=5000000 -Pdatagen.startSeq=10000000
+ * </pre>
+ *
+ * Tên tiếng Việt có dấu, phone theo đầu số di động thật, năm nhập học lệch về các khóa gần đây,
+ * ~70% person là student. Phone và student_code suy ra từ seq nên không vi phạm unique.
+ */
+public class DataGenerator {
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorConfig config = DataGeneratorConfig.fromSystemProperties();
+        long endSeq = config.startSeq() + config.persons();
+        if (endSeq > VietnameseData.PHONES_PER_PREFIX * VietnameseData.PHONE_PREFIXES.length) {
+            throw new IllegalArgumentException("Too many persons for the phone space: " + endSeq);
+        }
+        ensureRangeIsFree(config);
+
+        int writers = Math.max(1, config.writers());
+        long perWriter = (config.persons() + writers - 1) / writers;
+        LongAdder progress = new LongAdder();
+        long start = System.nanoTime();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> printProgress(progress.sum(), config.persons(), start),
+                5, 5, TimeUnit.SECONDS);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(writers)) {
+            List<Future<Long>> futures = new ArrayList<>(writers);
+            for (int i = 0; i < writers; i++) {
+                long from = config.startSeq() + i * perWriter;
+                long to = Math.min(endSeq, from + perWriter);
+                if (from >= to) break;
+                futures.add(pool.submit(new CopyWriter(config, from, to, config.seed() * 31 + i, progress)));
+            }
+            for (Future<Long> f : futures) f.get();
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        printProgress(progress.sum(), config.persons(), start);
+        System.out.println("Done. Run ANALYZE app.people, app.students as the table owner before benchmarking.");
+    }
+
+    // Dải seq đã nạp rồi thì các phone đầu dải đã tồn tại -> dừng sớm thay vì lỗi unique giữa chừng
+    private static void ensureRangeIsFree(DataGeneratorConfig config) throws Exception {
+        long probe = Math.min(config.persons(), 100);
+        String[] phones = new String[(int) probe];
+        for (int i = 0; i < probe; i++) phones[i] = CopyWriter.phone(config.startSeq() + i);
+        try (Connection conn = DriverManager.getConnection(
+                config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword());
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT 1 FROM app.people WHERE phone = ANY (?) LIMIT 1")) {
+            ps.setArray(1, conn.createArrayOf("varchar", phones));
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    throw new IllegalStateException("Sequence range starting at " + config.startSeq()
+                            + " is already loaded; pass -Pdatagen.startSeq=<next free seq>");
+                }
+            }
+        }
+    }
+
+    private static void printProgress(long done, long total, long startNanos) {
+        double seconds = Duration.ofNanos(System.nanoTime() - startNanos).toMillis() / 1000.0;
+        System.out.printf("%,d / %,d persons (%.1f%%) in %.0fs, %,.0f rows/s%n",
+                done, total, 100.0 * done / total, seconds, done / Math.max(seconds, 0.001));
+    }
+}
@@ -0,0 +1,37 @@
+package student.management.api_app.datagen;
+
+/**
+ * Cấu hình generator, đọc từ system property (Gradle: -Pdatagen.xxx=...).
+ *
+ * @param persons      số person cần sinh
+ * @param studentRatio tỉ lệ person cũng là student
+ * @param writers      số connection COPY song song
+ * @param batchSize    số person mỗi transaction
+ * @param startSeq     số thứ tự bắt đầu, dùng khi nạp thêm vào dataset đã có (phone/code suy ra từ seq)
+ * @param seed         seed ngẫu nhiên, cùng cấu hình thì ra cùng dữ liệu
+ */
+record DataGeneratorConfig(
+        long persons,
+        double studentRatio,
+        int writers,
+        int batchSize,
+        long startSeq,
+        long seed,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword
+) {
+    static DataGeneratorConfig fromSystemProperties() {
+        return new DataGeneratorConfig(
+                Long.getLong("datagen.persons", 10_000_000L),
+                Double.parseDouble(System.getProperty("datagen.studentRatio", "0.7")),
+                Integer.getInteger("datagen.writers", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("datagen.batchSize", 50_000),
+                Long.getLong("datagen.startSeq", 0L),
+                Long.getLong("datagen.seed", 42L),
+                System.getProperty("datagen.jdbcUrl", "jdbc:postgresql://localhost:5432/student_management"),
+                System.getProperty("datagen.jdbcUser", "app_user"),
+                System.getProperty("datagen.jdbcPassword", "123456")
+        );
+    }
+}
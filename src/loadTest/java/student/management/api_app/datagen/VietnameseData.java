@@ -0,0 +1,79 @@
+package student.management.api_app.datagen;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Từ điển tên/địa chỉ/đầu số tiếng Việt. Bản ASCII (cho email) được tính sẵn một lần,
+ * không normalize trên từng dòng.
+ */
+final class VietnameseData {
+    private VietnameseData() {}
+
+    // Họ phổ biến, trọng số xấp xỉ tỉ lệ dân số (%)
+    static final String[] FAMILY = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ",
+            "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý", "Đinh", "Trương", "Lâm", "Mai"};
+    private static final int[] FAMILY_WEIGHT = {38, 11, 10, 7, 5, 4, 4, 4, 3, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1};
+
+    static final String[] MIDDLE_MALE = {"Văn", "Minh", "Quốc", "Đức", "Hữu", "Thành", "Gia", "Anh", "Công", "Xuân"};
+    static final String[] MIDDLE_FEMALE = {"Thị", "Ngọc", "Thu", "Thanh", "Bảo", "Khánh", "Mỹ", "Phương", "Diệu", "Kim"};
+    static final String[] GIVEN_MALE = {"An", "Bình", "Cường", "Dũng", "Duy", "Hải", "Hiếu", "Hoàng", "Huy", "Khang",
+            "Khoa", "Kiên", "Long", "Nam", "Nghĩa", "Phát", "Phúc", "Quân", "Sơn", "Tài", "Thắng", "Tiến", "Trí",
+            "Tuấn", "Việt", "Vinh"};
+    static final String[] GIVEN_FEMALE = {"Anh", "Bích", "Châu", "Chi", "Diệp", "Giang", "Hà", "Hạnh", "Hoa",
+            "Hương", "Lan", "Linh", "Loan", "Mai", "My", "Ngân", "Nhung", "Oanh", "Phương", "Quỳnh", "Thảo",
+            "Trang", "Uyên", "Vy", "Yến"};
+
+    static final String[] ADDRESSES = {"Hải Châu, Đà Nẵng", "Thanh Khê, Đà Nẵng", "Liên Chiểu, Đà Nẵng",
+            "Cẩm Lệ, Đà Nẵng", "Cầu Giấy, Hà Nội", "Đống Đa, Hà Nội", "Hai Bà Trưng, Hà Nội", "Quận 1, TP. Hồ Chí Minh",
+            "Quận 7, TP. Hồ Chí Minh", "Thủ Đức, TP. Hồ Chí Minh", "Ninh Kiều, Cần Thơ", "Hồng Bàng, Hải Phòng",
+            "TP. Huế, Thừa Thiên Huế", "Nha Trang, Khánh Hòa", "Quy Nhơn, Bình Định"};
+
+    static final String[] EMAIL_DOMAINS = {"gmail.com", "gmail.com", "gmail.com", "yahoo.com", "outlook.com",
+            "fpt.edu.vn"};
+
+    /*
+     * Đầu số di động (dạng E.164 như NormalizerUtil.normalizePhone), mỗi đầu số chứa được 10^7 số
+     * -> ~220M số không trùng. Bỏ +8490 (seed V1.0.1) và +847x (loadTest) để không đụng unique phone.
+     */
+    static final String[] PHONE_PREFIXES = {"+8432", "+8433", "+8434", "+8435", "+8436", "+8437", "+8438",
+            "+8439", "+8481", "+8482", "+8483", "+8484", "+8485", "+8486", "+8488", "+8489", "+8491", "+8493",
+            "+8494", "+8496", "+8497", "+8498"};
+    static final long PHONES_PER_PREFIX = 10_000_000L;
+
+    static final String[] FAMILY_ASCII = ascii(FAMILY);
+    static final String[] GIVEN_MALE_ASCII = ascii(GIVEN_MALE);
+    static final String[] GIVEN_FEMALE_ASCII = ascii(GIVEN_FEMALE);
+
+    private static final int[] FAMILY_CUMULATIVE = cumulative(FAMILY_WEIGHT);
+
+    static int familyIndex(SplittableRandom random) {
+        return pick(FAMILY_CUMULATIVE, random);
+    }
+
+    static int pick(int[] cumulative, SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        int i = Arrays.binarySearch(cumulative, roll + 1);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    static int[] cumulative(int[] weights) {
+        int[] result = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    private static String[] ascii(String[] values) {
+        return Arrays.stream(values)
+                .map(v -> Normalizer.normalize(v, Normalizer.Form.NFD)
+                        .replaceAll("\\p{M}", "")
+                        .replace('Đ', 'D').replace('đ', 'd')
+                        .toLowerCase(java.util.Locale.ROOT))
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,60 @@
+package student.management.api_app.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency (micro giây) + số request/lỗi cho 1 endpoint
+class EndpointStats {
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, boolean ok) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+                histogram.getHighestTrackableValue()));
+        if (!ok) errors.increment();
+    }
+
+    void reset() {
+        histogram.reset();
+        errors.reset();
+    }
+
+    String summaryLine(double seconds) {
+        long count = histogram.getTotalCount();
+        return String.format("%-26s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name, count, errors.sum(), count / seconds,
+                ms(histogram.getValueAtPercentile(50)),
+                ms(histogram.getValueAtPercentile(90)),
+                ms(histogram.getValueAtPercentile(99)),
+                ms(histogram.getValueAtPercentile(99.9)),
+                ms(histogram.getMaxValue()));
+    }
+
+    static String header() {
+        return String.format("%-26s %9s %7s %10s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    // File .hgrm mở được bằng HdrHistogram plotter
+    void writeDistribution(Path dir) throws IOException {
+        try (PrintStream out = new PrintStream(new FileOutputStream(dir.resolve(name + ".hgrm").toFile()))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,38 @@
+package student.management.api_app.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình load test, đọc từ system property (Gradle: -PloadTest.xxx=...).
+ *
+ * @param persons       số person seed thêm
+ * @param studentRatio  tỉ lệ person cũng là student
+ * @param concurrency   số "user" đồng thời (mỗi user là 1 virtual thread)
+ * @param warmup        thời gian warmup (không ghi số liệu)
+ * @param duration      thời gian đo
+ * @param baseUrl       null = tự khởi động app trong cùng JVM, ngược lại bắn vào app đang chạy
+ * @param reseed        xóa dữ liệu load test cũ và seed lại
+ */
+record LoadTestConfig(
+        int persons,
+        double studentRatio,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        String baseUrl,
+        String apiPrefix,
+        boolean reseed
+) {
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadTest.persons", 100_000),
+                Double.parseDouble(System.getProperty("loadTest.studentRatio", "0.7")),
+                Integer.getInteger("loadTest.concurrency", 100),
+                Duration.ofSeconds(Integer.getInteger("loadTest.warmupSec", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadTest.durationSec", 60)),
+                System.getProperty("loadTest.baseUrl"),
+                System.getProperty("loadTest.apiPrefix", "/api/v1"),
+                Boolean.parseBoolean(System.getProperty("loadTest.reseed", "true"))
+        );
+    }
+}
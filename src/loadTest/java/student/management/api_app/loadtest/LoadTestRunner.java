@@ -0,0 +1,126 @@
+package student.management.api_app.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import student.management.api_app.StudentManagementApiAppApplication;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load test end-to-end: ./gradlew loadTest [-PloadTest.persons=1000000 -PloadTest.concurrency=200 ...]
+ *
+ * <ol>
+ *   <li>Khởi động app trong cùng JVM (port ngẫu nhiên) với Postgres local (docker-compose),
+ *       hoặc bắn vào app có sẵn nếu có {@code loadTest.baseUrl}</li>
+ *   <li>Seed people/students theo cấu hình</li>
+ *   <li>Mỗi "user" là 1 virtual thread gửi request liên tục (closed-loop) theo workload hỗn hợp</li>
+ *   <li>In throughput + percentile theo endpoint, ghi .hgrm vào build/reports/loadtest</li>
+ * </ol>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext app = null;
+        String baseUrl = config.baseUrl();
+        JdbcTemplate jdbc;
+        if (baseUrl == null) {
+            app = new SpringApplicationBuilder(StudentManagementApiAppApplication.class)
+                    .run("--server.port=0",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN");
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+            jdbc = app.getBean(JdbcTemplate.class);
+        } else {
+            jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                    System.getProperty("loadTest.jdbcUrl", "jdbc:postgresql://localhost:5432/student_management"),
+                    System.getProperty("loadTest.jdbcUser", "app_user"),
+                    System.getProperty("loadTest.jdbcPassword", "123456")));
+        }
+
+        try {
+            Seeder seeder = new Seeder(jdbc);
+            if (config.reseed()) {
+                long start = System.nanoTime();
+                seeder.reseed(config.persons(), config.studentRatio());
+                System.out.printf("Seeded %d persons in %d ms%n",
+                        config.persons(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+            Workload workload = new Workload(baseUrl, config.apiPrefix(), seeder.sample(10_000, 20));
+
+            Map<String, EndpointStats> stats = workload.newStats();
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                System.out.printf("Warmup %ds, measure %ds, concurrency %d -> %s%n",
+                        config.warmup().toSeconds(), config.duration().toSeconds(),
+                        config.concurrency(), baseUrl);
+
+                drive(client, workload, stats, config.concurrency(), config.warmup());
+                stats.values().forEach(EndpointStats::reset);
+                drive(client, workload, stats, config.concurrency(), config.duration());
+            }
+
+            report(stats, config.duration().toMillis() / 1000.0);
+        } finally {
+            if (app != null) app.close();
+        }
+    }
+
+    private static void drive(HttpClient client, Workload workload, Map<String, EndpointStats> stats,
+                              int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(users.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Workload.Operation op = workload.next(random);
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> res = client.send(
+                                    op.request().apply(random), HttpResponse.BodyHandlers.discarding());
+                            ok = res.statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        stats.get(op.name()).record(System.nanoTime() - start, ok);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+    }
+
+    private static void report(Map<String, EndpointStats> stats, double seconds) throws Exception {
+        Path dir = Path.of(System.getProperty("loadTest.reportDir", "build/reports/loadtest"));
+        Files.createDirectories(dir);
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        for (EndpointStats s : stats.values()) {
+            System.out.println(s.summaryLine(seconds));
+            s.writeDistribution(dir);
+        }
+        System.out.println("HDR histograms: " + dir.toAbsolutePath());
+    }
+}
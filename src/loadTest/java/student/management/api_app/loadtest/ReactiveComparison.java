@@ -0,0 +1,120 @@
+package student.management.api_app.loadtest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * So sánh app MVC (JPA) với reactive read API (WebFlux + R2DBC) trên cùng dữ liệu:
+ * ./gradlew reactiveComparison [-Pbench.concurrency=2000 -Pbench.slowReadMs=50 ...]
+ *
+ * <p>Cả 2 app phải đang chạy ({@code bootRun} và {@code bootRunReactive}), dữ liệu đã seed
+ * (loadTest / generateData). Mỗi "user" là 1 virtual thread, đọc body theo từng chunk
+ * và ngủ {@code bench.slowReadMs} giữa các chunk để giả lập client mobile chậm giữ kết nối.
+ * Reactive được đo thêm NDJSON stream ({@code bench.streamSize} dòng / request).</p>
+ */
+public class ReactiveComparison {
+
+    private record Target(String name, String baseUrl, String accept) {}
+
+    public static void main(String[] args) throws Exception {
+        String prefix = System.getProperty("bench.apiPrefix", "/api/v1");
+        int concurrency = Integer.getInteger("bench.concurrency", 2000);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("bench.warmupSec", 15));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("bench.durationSec", 60));
+        int slowReadMs = Integer.getInteger("bench.slowReadMs", 50);
+        int chunkBytes = Integer.getInteger("bench.chunkBytes", 1024);
+        int streamSize = Integer.getInteger("bench.streamSize", 1000);
+        Path reportDir = Path.of(System.getProperty("bench.reportDir", "build/reports/reactive"));
+        Files.createDirectories(reportDir);
+
+        List<Target> targets = List.of(
+                new Target("mvc", System.getProperty("bench.mvcUrl", "http://localhost:8080"), "application/json"),
+                new Target("reactive", System.getProperty("bench.reactiveUrl", "http://localhost:8081"), "application/json"),
+                new Target("reactive-ndjson", System.getProperty("bench.reactiveUrl", "http://localhost:8081"), "application/x-ndjson"));
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            for (Target target : targets) {
+                // NDJSON: cùng query nhưng size lớn, client đọc dần theo back-pressure
+                String size = target.accept().equals("application/x-ndjson") ? "size=" + streamSize : "size=20";
+                Map<String, String> paths = new LinkedHashMap<>();
+                paths.put("persons.getAll", prefix + "/persons?" + size);
+                paths.put("persons.search", prefix + "/persons/search?name=nguyen&" + size);
+                paths.put("students.getAll", prefix + "/students?" + size);
+                paths.put("students.search", prefix + "/students/search?enrollmentYearFrom=2022&" + size);
+
+                Map<String, EndpointStats> stats = new LinkedHashMap<>();
+                paths.keySet().forEach(k -> stats.put(k, new EndpointStats(target.name() + "." + k)));
+
+                System.out.printf("%n[%s] warmup %ds, measure %ds, concurrency %d, slow read %dms/%dB -> %s%n",
+                        target.name(), warmup.toSeconds(), duration.toSeconds(),
+                        concurrency, slowReadMs, chunkBytes, target.baseUrl());
+                drive(client, target, paths, stats, concurrency, warmup, slowReadMs, chunkBytes);
+                stats.values().forEach(EndpointStats::reset);
+                drive(client, target, paths, stats, concurrency, duration, slowReadMs, chunkBytes);
+
+                System.out.println(EndpointStats.header());
+                for (EndpointStats s : stats.values()) {
+                    System.out.println(s.summaryLine(duration.toMillis() / 1000.0));
+                    s.writeDistribution(reportDir);
+                }
+            }
+        }
+    }
+
+    private static void drive(HttpClient client, Target target, Map<String, String> paths,
+                              Map<String, EndpointStats> stats, int concurrency, Duration duration,
+                              int slowReadMs, int chunkBytes) throws Exception {
+        List<String> keys = new ArrayList<>(paths.keySet());
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                running.add(users.submit(() -> {
+                    byte[] buf = new byte[chunkBytes];
+                    while (System.nanoTime() < deadline) {
+                        String key = keys.get(ThreadLocalRandom.current().nextInt(keys.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(target.baseUrl() + paths.get(key)))
+                                .header("Accept", target.accept())
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream body = response.body()) {
+                                while (body.read(buf) > 0) {
+                                    if (slowReadMs > 0) Thread.sleep(slowReadMs);
+                                }
+                            }
+                            ok = response.statusCode() == 200;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        stats.get(key).record(System.nanoTime() - start, ok);
+                    }
+                }));
+            }
+            for (Future<?> f : running) f.get();
+        }
+    }
+}
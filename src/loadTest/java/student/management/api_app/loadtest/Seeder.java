@@ -0,0 +1,80 @@
+package student.management.api_app.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seed dữ liệu load test bằng generate_series (nhanh hơn nhiều so với insert từng dòng).
+ * Mọi dòng seed có address = 'LOADTEST' để dọn lại được.
+ */
+class Seeder {
+    static final String MARKER = "LOADTEST";
+
+    record Sample(List<UUID> studentIds, List<UUID> personIds,
+                  List<String> studentCodes, List<String> phones, int maxPage) {}
+
+    private final JdbcTemplate jdbc;
+
+    Seeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    void reseed(int persons, double studentRatio) {
+        jdbc.update("""
+                DELETE FROM app.students s USING app.people p
+                WHERE s.person_id = p.id AND p.address = ?
+                """, MARKER);
+        jdbc.update("DELETE FROM app.people WHERE address = ?", MARKER);
+
+        // Tên có dấu, ngày sinh rải 1995..2009, phone +847xxxxxxxx (E.164, không trùng seed gốc +84905...)
+        jdbc.update("""
+                INSERT INTO app.people (full_name, dob, phone, contact_email, address)
+                SELECT (ARRAY['Nguyễn','Trần','Lê','Phạm','Hoàng','Võ'])[1 + g % 6]
+                           || ' ' || (ARRAY['Văn','Thị','Minh','Ngọc'])[1 + g % 4]
+                           || ' ' || (ARRAY['An','Bích','Cường','Diệp','Hoa','Lan','Kiên'])[1 + g % 7]
+                           || ' ' || g,
+                       DATE '1995-01-01' + (g % 5400),
+                       '+847' || lpad(g::text, 8, '0'),
+                       'lt' || g || '@example.com',
+                       ?
+                FROM generate_series(1, ?) AS g
+                """, MARKER, persons);
+
+        jdbc.update("""
+                INSERT INTO app.students (person_id, student_code, enrollment_year)
+                SELECT p.id,
+                       'LT' || substr(p.phone, 5),
+                       2018 + abs(hashtext(p.phone)) % 8
+                FROM app.people p
+                WHERE p.address = ? AND random() < ?
+                """, MARKER, studentRatio);
+
+        jdbc.execute("ANALYZE app.people");
+        jdbc.execute("ANALYZE app.students");
+    }
+
+    Sample sample(int size, int pageSize) {
+        List<Object[]> rows = jdbc.query("""
+                SELECT s.person_id, s.student_code, p.phone
+                FROM app.students s JOIN app.people p ON p.id = s.person_id
+                WHERE p.address = ?
+                ORDER BY random()
+                LIMIT ?
+                """, (rs, i) -> new Object[]{
+                        rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3)},
+                MARKER, size);
+        List<UUID> personIds = jdbc.queryForList(
+                "SELECT id FROM app.people WHERE address = ? ORDER BY random() LIMIT ?",
+                UUID.class, MARKER, size);
+        Long total = jdbc.queryForObject("SELECT count(*) FROM app.students", Long.class);
+
+        return new Sample(
+                rows.stream().map(r -> (UUID) r[0]).toList(),
+                personIds,
+                rows.stream().map(r -> (String) r[1]).toList(),
+                rows.stream().map(r -> (String) r[2]).toList(),
+                (int) Math.max(1, (total == null ? 0 : total) / pageSize));
+    }
+}
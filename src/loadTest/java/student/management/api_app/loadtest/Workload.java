@@ -0,0 +1,119 @@
+package student.management.api_app.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Workload hỗn hợp: mỗi operation có trọng số, tên operation = tên endpoint trong báo cáo.
+ * Tỉ lệ mặc định thiên về đọc (~90%) giống traffic thực tế.
+ */
+class Workload {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+    private static final String[] NAMES = {"nguyễn", "trần văn", "lê thị", "minh", "ngọc an", "hoa"};
+
+    record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {}
+
+    private final String api;
+    private final Seeder.Sample sample;
+    private final AtomicLong createSeq = new AtomicLong(System.nanoTime() % 1_000_000);
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    Workload(String baseUrl, String apiPrefix, Seeder.Sample sample) {
+        this.api = baseUrl + apiPrefix;
+        this.sample = sample;
+        this.operations = List.of(
+                new Operation("student.getById", 20, r -> get("/students/" + pick(r, sample.studentIds()))),
+                new Operation("person.getById", 10, r -> get("/persons/" + pick(r, sample.personIds()))),
+                new Operation("student.byCode", 10, r ->
+                        get("/students/by-student-code?student-code=" + pick(r, sample.studentCodes()))),
+                new Operation("student.byPhone", 5, r ->
+                        get("/students/by-phone?phone=" + pick(r, sample.phones()))),
+                new Operation("student.search.name", 10, r ->
+                        get("/students/search?person.name=" + enc(NAMES[r.nextInt(NAMES.length)])
+                                + "&size=" + PAGE_SIZE)),
+                new Operation("student.search.year", 8, r -> {
+                    int from = 2018 + r.nextInt(8);
+                    return get("/students/search?enrollmentYearFrom=" + from
+                            + "&enrollmentYearTo=" + (from + r.nextInt(3)) + "&size=" + PAGE_SIZE);
+                }),
+                new Operation("person.search.dob", 7, r -> {
+                    int year = 1995 + r.nextInt(14);
+                    return get("/persons/search?dobFrom=" + year + "-01-01&dobTo=" + year + "-12-31"
+                            + "&size=" + PAGE_SIZE);
+                }),
+                new Operation("student.list.deepPage", 10, r ->
+                        get("/students?page=" + r.nextInt(sample.maxPage()) + "&size=" + PAGE_SIZE)),
+                new Operation("person.create", 5, r -> createPerson()),
+                new Operation("student.patch", 5, r -> patch(
+                        "/students/" + pick(r, sample.studentIds()),
+                        "{\"enrollmentYear\":" + (2018 + r.nextInt(8)) + "}"))
+        );
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Map<String, EndpointStats> newStats() {
+        return operations.stream().collect(Collectors.toMap(
+                Operation::name, op -> new EndpointStats(op.name()), (a, b) -> a, java.util.LinkedHashMap::new));
+    }
+
+    Operation next(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation op : operations) {
+            roll -= op.weight();
+            if (roll < 0) return op;
+        }
+        return operations.getLast();
+    }
+
+    private HttpRequest createPerson() {
+        long n = createSeq.incrementAndGet();
+        // Không gửi phone để tránh 409 trùng; address = marker để Seeder dọn được
+        String body = """
+                {"fullName":"Load Test Create %d","dob":"2001-05-17","contactEmail":"ltc%d@example.com","address":"%s"}
+                """.formatted(n, n, Seeder.MARKER);
+        return HttpRequest.newBuilder(URI.create(api + "/persons"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(api + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest patch(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(api + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static <T> T pick(ThreadLocalRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String enc(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
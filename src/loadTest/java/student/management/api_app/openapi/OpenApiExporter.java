@@ -0,0 +1,51 @@
+package student.management.api_app.openapi;
+
+import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import student.management.api_app.StudentManagementApiAppApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sinh OpenAPI lúc build: ./gradlew generateOpenApiDocs (hoặc bootJar -Popenapi).
+ * Khởi động app 1 lần (cần Postgres local), tải /v3/api-docs/<group> cho mọi GroupedOpenApi bean
+ * và ghi ra {@code openapi.outputDir}/<group>.json. Prod đọc các file này thay vì để springdoc scan controller.
+ */
+public class OpenApiExporter {
+
+    public static void main(String[] args) throws Exception {
+        Path outputDir = Path.of(System.getProperty("openapi.outputDir", "build/generated/openapi/openapi"));
+        Files.createDirectories(outputDir);
+
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(StudentManagementApiAppApplication.class)
+                .run("--server.port=0",
+                        "--springdoc.api-docs.enabled=true",
+                        "--springdoc.writer-with-default-pretty-printer=true",
+                        "--logging.level.root=WARN");
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            String docsPath = app.getEnvironment().getProperty("springdoc.api-docs.path", "/v3/api-docs");
+
+            for (GroupedOpenApi group : app.getBeansOfType(GroupedOpenApi.class).values()) {
+                URI uri = URI.create("http://localhost:" + port + docsPath + "/" + group.getGroup());
+                HttpResponse<byte[]> res = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (res.statusCode() != 200) {
+                    throw new IllegalStateException(uri + " returned " + res.statusCode());
+                }
+                Path file = outputDir.resolve(group.getGroup() + ".json");
+                Files.write(file, res.body());
+                System.out.printf("%-10s -> %s (%d bytes)%n", group.getGroup(), file, res.body().length);
+            }
+        } finally {
+            app.close();
+        }
+    }
+}
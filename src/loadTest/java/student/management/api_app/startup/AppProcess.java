@@ -0,0 +1,85 @@
+package student.management.api_app.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Khởi động app ở process riêng (jar / jar + AOT + CDS / native binary) trên port trống
+ * và đo thời gian tới request đầu tiên trả 2xx, tính từ lúc spawn process.
+ */
+final class AppProcess implements AutoCloseable {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Process process;
+    private final int port;
+    private final long startedAt;
+
+    private AppProcess(Process process, int port, long startedAt) {
+        this.process = process;
+        this.port = port;
+        this.startedAt = startedAt;
+    }
+
+    // command: lệnh khởi động không kèm port, vd [java, -jar, app.jar]
+    static AppProcess start(List<String> command, Path log) throws IOException {
+        int port = freePort();
+        List<String> cmd = new ArrayList<>(command);
+        cmd.add("--server.port=" + port);
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new AppProcess(process, port, startedAt);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /** @return ms từ lúc spawn tới response 2xx đầu tiên của {@code path} */
+    long awaitFirstSuccess(String path, Duration timeout) throws Exception {
+        URI uri = URI.create(baseUrl() + path);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("App exited with code " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> res = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (res.statusCode() / 100 == 2) {
+                        return Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+                    }
+                } catch (IOException e) {
+                    // Chưa listen -> thử lại
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        }
+        throw new IllegalStateException("No successful response from " + uri + " within " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, java.util.concurrent.TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package student.management.api_app.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * So sánh time-to-first-successful-request: ./gradlew startupBenchmark -Paot [-Pnative]
+ *
+ * <ol>
+ *   <li>Extract boot jar (jarmode=tools) -> layout phù hợp cho CDS</li>
+ *   <li>Training run ({@code spring.context.exit=onRefresh}) ghi AppCDS archive, 1 bản có AOT, 1 bản không</li>
+ *   <li>Mỗi cấu hình khởi động {@code startup.runs} lần, đo tới khi {@code startup.probePath} trả 2xx</li>
+ * </ol>
+ * Cần Postgres local như khi chạy app (Flyway + Hibernate validate chạy cả trong training run).
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(required("startup.jar"));
+        Path workDir = Path.of(System.getProperty("startup.workDir", "build/startup"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        String probePath = System.getProperty("startup.probePath", "/api/v1/students?size=1");
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeoutSec", 120));
+        String nativeBinary = System.getProperty("startup.nativeBinary");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        Path extracted = extract(java, jar, workDir.resolve("app"));
+        Path cds = workDir.resolve("app.jsa");
+        Path aotCds = workDir.resolve("app-aot.jsa");
+        train(java, extracted, cds, false, workDir.resolve("train.log"));
+        train(java, extracted, aotCds, true, workDir.resolve("train-aot.log"));
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jar", List.of(java, "-jar", jar.toString()));
+        modes.put("jar + CDS", List.of(java, "-XX:SharedArchiveFile=" + cds, "-jar", extracted.toString()));
+        modes.put("jar + AOT", List.of(java, "-Dspring.aot.enabled=true", "-jar", extracted.toString()));
+        modes.put("jar + AOT + CDS", List.of(java, "-XX:SharedArchiveFile=" + aotCds,
+                "-Dspring.aot.enabled=true", "-jar", extracted.toString()));
+        if (nativeBinary != null && Files.isExecutable(Path.of(nativeBinary))) {
+            modes.put("native", List.of(nativeBinary));
+        }
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] times = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Path log = workDir.resolve(mode.getKey().replaceAll("\\W+", "-") + "-" + i + ".log");
+                try (AppProcess app = AppProcess.start(mode.getValue(), log)) {
+                    times[i] = app.awaitFirstSuccess(probePath, timeout);
+                }
+                System.out.printf("%-16s run %d: %d ms%n", mode.getKey(), i + 1, times[i]);
+            }
+            Arrays.sort(times);
+            results.put(mode.getKey(), times);
+        }
+
+        long baseline = median(results.get("jar"));
+        System.out.printf("%nTime to first successful GET %s (%d runs)%n", probePath, runs);
+        System.out.printf("%-16s %8s %8s %8s%n", "mode", "min", "median", "vs jar");
+        results.forEach((mode, times) -> System.out.printf("%-16s %6d ms %6d ms %7.2fx%n",
+                mode, times[0], median(times), (double) baseline / median(times)));
+    }
+
+    // jarmode=tools extract -> <dest>/<tên jar>.jar + lib/ (classpath cố định, CDS dùng lại được)
+    private static Path extract(String java, Path jar, Path dest) throws Exception {
+        deleteRecursively(dest);
+        run(List.of(java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", dest.toString()),
+                dest.resolveSibling("extract.log"));
+        return dest.resolve(jar.getFileName());
+    }
+
+    private static void train(String java, Path jar, Path archive, boolean aot, Path log) throws Exception {
+        List<String> cmd = new ArrayList<>(List.of(java, "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        if (aot) cmd.add("-Dspring.aot.enabled=true");
+        cmd.addAll(List.of("-jar", jar.toString(), "--server.port=0"));
+        run(cmd, log);
+        if (!Files.exists(archive)) throw new IllegalStateException("CDS archive not created, see " + log);
+    }
+
+    private static void run(List<String> cmd, Path log) throws Exception {
+        Files.createDirectories(log.getParent());
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (p.waitFor() != 0) throw new IllegalStateException(String.join(" ", cmd) + " failed, see " + log);
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static String required(String key) {
+        String value = System.getProperty(key);
+        if (value == null) throw new IllegalArgumentException("Missing system property " + key);
+        return value;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
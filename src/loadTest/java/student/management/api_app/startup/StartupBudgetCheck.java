@@ -0,0 +1,78 @@
+package student.management.api_app.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ./gradlew startupBudget [-Pstartup.budgetMs=15000]
+ *
+ * Khởi động boot jar, đo tới request 2xx đầu tiên, in các bước chậm nhất từ actuator /startup
+ * và exit 1 nếu vượt budget. Cần Postgres local.
+ */
+public class StartupBudgetCheck {
+
+    private record Step(String name, String tags, long millis) {}
+
+    public static void main(String[] args) throws Exception {
+        String jar = System.getProperty("startup.jar");
+        Path workDir = Path.of(System.getProperty("startup.workDir", "build/startup"));
+        long budgetMs = Long.getLong("startup.budgetMs", 15_000);
+        int top = Integer.getInteger("startup.top", 15);
+        String apiPrefix = System.getProperty("startup.apiPrefix", "/api/v1");
+        String probePath = System.getProperty("startup.probePath", apiPrefix + "/students?size=1");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Files.createDirectories(workDir);
+
+        long elapsed;
+        List<Step> steps;
+        try (AppProcess app = AppProcess.start(List.of(java, "-jar", jar), workDir.resolve("budget.log"))) {
+            elapsed = app.awaitFirstSuccess(probePath, Duration.ofMillis(Math.max(budgetMs * 4, 60_000)));
+            steps = timeline(app.baseUrl() + apiPrefix + "/startup");
+        }
+
+        System.out.printf("Slowest startup steps:%n");
+        steps.stream()
+                .sorted(Comparator.comparingLong(Step::millis).reversed())
+                .limit(top)
+                .forEach(s -> System.out.printf("%8d ms  %-40s %s%n", s.millis(), s.name(), s.tags()));
+        System.out.printf("%nTime to first successful GET %s: %d ms (budget %d ms)%n", probePath, elapsed, budgetMs);
+
+        if (elapsed > budgetMs) {
+            System.err.printf("Startup budget exceeded by %d ms%n", elapsed - budgetMs);
+            System.exit(1);
+        }
+    }
+
+    // GET (không drain) timeline: events[].startupStep{name, tags[]}, events[].duration (ISO-8601)
+    private static List<Step> timeline(String url) throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> res = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() != 200) throw new IllegalStateException(url + " returned " + res.statusCode());
+
+            List<Step> steps = new ArrayList<>();
+            for (JsonNode event : new ObjectMapper().readTree(res.body()).path("timeline").path("events")) {
+                JsonNode step = event.path("startupStep");
+                StringBuilder tags = new StringBuilder();
+                for (JsonNode tag : step.path("tags")) {
+                    if (!tags.isEmpty()) tags.append(", ");
+                    tags.append(tag.path("key").asText()).append('=').append(tag.path("value").asText());
+                }
+                steps.add(new Step(step.path("name").asText(), tags.toString(),
+                        Duration.parse(event.path("duration").asText()).toMillis()));
+            }
+            return steps;
+        }
+    }
+}
@@ -2,12 +2,16 @@ package student.management.api_app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class StudentManagementApiAppApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(StudentManagementApiAppApplication.class, args);
+		SpringApplication app = new SpringApplication(StudentManagementApiAppApplication.class);
+		// Ghi lại các bước khởi động -> GET ${api.prefix}/startup (actuator)
+		app.setApplicationStartup(new BufferingApplicationStartup(4096));
+		app.run(args);
 	}
 
 }
@@ -0,0 +1,236 @@
+package student.management.api_app.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.batch.BatchItemRequest;
+import student.management.api_app.dto.batch.BatchItemResponse;
+import student.management.api_app.exception.BadRequestException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Chạy các sub-request của 1 batch song song trên virtual thread, gọi lại chính route của app
+ * qua loopback HTTP -> đi qua đủ filter / controller advice / ETag, mỗi sub-request 1 transaction như gọi lẻ.
+ * <ul>
+ *   <li>Tối đa {@code max-concurrency} sub-request cùng lúc / batch (không chiếm hết pool connection DB)</li>
+ *   <li>Tối đa {@code max-in-flight} sub-request cùng lúc cho cả process (mọi batch): sub-request đi qua chính
+ *       connector đang giữ request batch, không chặn thì nhiều batch đồng thời chiếm hết thread request
+ *       rồi chờ sub-request của nhau. Hết chỗ quá item-timeout -> item đó 503</li>
+ *   <li>GET giống hệt nhau (path + header) chỉ chạy 1 lần, dùng chung kết quả</li>
+ *   <li>Lỗi của 1 item (kể cả timeout) chỉ nằm trong status của item đó</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BatchExecutor {
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    // Header của sub-response được trả lại cho client
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LOCATION);
+    // Header hop-by-hop / do HttpClient tự quản lý, không cho client set
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "host", "upgrade", "expect", "transfer-encoding");
+
+    private record DedupKey(String path, Map<String, String> headers) {}
+
+    private final ObjectMapper objectMapper;
+    private final String apiPrefix;
+    private final int maxItems;
+    private final int maxConcurrency;
+    private final Duration itemTimeout;
+    private final Semaphore inFlight;
+    private final HttpClient client;
+
+    public BatchExecutor(
+            ObjectMapper objectMapper,
+            @Value("${api.prefix}") String apiPrefix,
+            @Value("${app.batch.max-items:50}") int maxItems,
+            @Value("${app.batch.max-concurrency:8}") int maxConcurrency,
+            @Value("${app.batch.item-timeout:10s}") Duration itemTimeout,
+            @Value("${app.batch.max-in-flight:64}") int maxInFlight) {
+        this.objectMapper = objectMapper;
+        this.apiPrefix = apiPrefix;
+        this.maxItems = maxItems;
+        this.maxConcurrency = maxConcurrency;
+        this.itemTimeout = itemTimeout;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    /**
+     * @param localPort port của connector nhận request batch (sub-request gửi về đúng connector đó)
+     */
+    public List<BatchItemResponse> execute(List<BatchItemRequest> items, int localPort) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one request");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Batch must contain <= " + maxItems + " requests");
+        }
+        List<HttpRequest> requests = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                requests.add(toHttpRequest(i, items.get(i), localPort));
+            } catch (IllegalArgumentException e) { // header name/value không hợp lệ
+                throw new BadRequestException("requests[" + i + "]: " + e.getMessage(), e);
+            }
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<DedupKey, Future<BatchItemResponse>> reads = new HashMap<>();
+        List<Future<BatchItemResponse>> futures = new ArrayList<>(items.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests.size(); i++) {
+                HttpRequest request = requests.get(i);
+                int index = i;
+                Callable<BatchItemResponse> task = () -> send(index, request, permits);
+                futures.add(request.method().equals("GET")
+                        ? reads.computeIfAbsent(dedupKey(request), k -> executor.submit(task))
+                        : executor.submit(task));
+            }
+
+            List<BatchItemResponse> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(join(futures.get(i)).at(i));
+            }
+            return results;
+        }
+    }
+
+    private HttpRequest toHttpRequest(int index, BatchItemRequest item, int localPort) {
+        String method = item.method() == null ? "GET" : item.method().toUpperCase(Locale.ROOT);
+        if (!METHODS.contains(method)) {
+            throw new BadRequestException("requests[" + index + "]: unsupported method " + item.method());
+        }
+        URI uri = subRequestUri(index, item.path(), localPort);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(itemTimeout);
+        if (item.headers() != null) {
+            item.headers().forEach((name, value) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) builder.header(name, value);
+            });
+        }
+        if (item.headers() == null || item.headers().keySet().stream().noneMatch(HttpHeaders.ACCEPT::equalsIgnoreCase)) {
+            builder.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        }
+
+        if (item.body() == null || item.body().isNull()) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(item.body())))
+                    .build();
+        } catch (Exception e) {
+            throw new BadRequestException("requests[" + index + "]: invalid body", e);
+        }
+    }
+
+    // Chỉ route của API (không actuator, không /batch lồng nhau), không cho đổi host
+    private URI subRequestUri(int index, String path, int localPort) {
+        if (path == null || !path.startsWith(apiPrefix + "/") || path.contains("..")) {
+            throw new BadRequestException("requests[" + index + "]: path must start with " + apiPrefix + "/");
+        }
+        String route = path.substring(apiPrefix.length());
+        if (route.equals("/batch") || route.startsWith("/batch?") || route.startsWith("/batch/")) {
+            throw new BadRequestException("requests[" + index + "]: nested batch is not allowed");
+        }
+        try {
+            URI uri = new URI("http://127.0.0.1:" + localPort + path);
+            if (!"127.0.0.1".equals(uri.getHost()) || uri.getPort() != localPort) throw new IllegalArgumentException();
+            return uri;
+        } catch (Exception e) {
+            throw new BadRequestException("requests[" + index + "]: invalid path " + path);
+        }
+    }
+
+    private static DedupKey dedupKey(HttpRequest request) {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        request.headers().map().forEach((k, v) -> headers.put(k, String.join(",", v)));
+        return new DedupKey(request.uri().toString(), headers);
+    }
+
+    private BatchItemResponse send(int index, HttpRequest request, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        try {
+            if (!inFlight.tryAcquire(itemTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return failure(index, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many batch sub-requests in flight, retry later", request);
+            }
+            try {
+                return sendNow(index, request);
+            } finally {
+                inFlight.release();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BatchItemResponse sendNow(int index, HttpRequest request) throws InterruptedException {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return new BatchItemResponse(index, response.statusCode(), headers(response), body(response));
+        } catch (HttpTimeoutException e) {
+            return failure(index, HttpStatus.GATEWAY_TIMEOUT, "Sub-request timed out after " + itemTimeout, request);
+        } catch (java.io.IOException e) {
+            log.warn("Batch sub-request {} {} failed: {}", request.method(), request.uri().getRawPath(), e.toString());
+            return failure(index, HttpStatus.BAD_GATEWAY, "Sub-request failed", request);
+        }
+    }
+
+    private static Map<String, String> headers(HttpResponse<?> response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RESPONSE_HEADERS) {
+            response.headers().firstValue(name).ifPresent(v -> headers.put(name, v));
+        }
+        return headers.isEmpty() ? null : headers;
+    }
+
+    private JsonNode body(HttpResponse<byte[]> response) {
+        byte[] bytes = response.body();
+        if (bytes == null || bytes.length == 0) return null;
+        boolean json = response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .map(ct -> ct.contains("json"))
+                .orElse(false);
+        try {
+            return json ? objectMapper.readTree(bytes) : objectMapper.getNodeFactory().textNode(new String(bytes, StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            return objectMapper.getNodeFactory().textNode(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private BatchItemResponse failure(int index, HttpStatus status, String message, HttpRequest request) {
+        return new BatchItemResponse(index, status.value(), null,
+                objectMapper.valueToTree(AppResponse.error(status.name(), message, request.uri().getRawPath())));
+    }
+
+    private static BatchItemResponse join(Future<BatchItemResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch sub-request failed", e.getCause());
+        }
+    }
+}
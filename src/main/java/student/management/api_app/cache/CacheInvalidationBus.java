@@ -0,0 +1,129 @@
+package student.management.api_app.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bus invalidate cache giữa các node:
+ * - publish(): pg_notify trong cùng transaction (Postgres chỉ gửi NOTIFY khi commit)
+ *   + evict cache local sau commit
+ * - publishAll(): như publish() nhưng 1 NOTIFY cho cả lô id (payload: nodeId|TYPE|id1,id2,...),
+ *   cắt thành nhiều NOTIFY nếu vượt giới hạn payload 8000 byte của Postgres
+ * - PgNotifyInvalidationListener nhận NOTIFY từ node khác và gọi onRemoteMessage()
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+    private static final char SEPARATOR = '|';
+    private static final char ID_SEPARATOR = ',';
+    // 36 ký tự UUID + ',' -> ~7.4KB/NOTIFY, dưới giới hạn 8000 byte kể cả phần nodeId|TYPE|
+    static final int MAX_IDS_PER_NOTIFY = 200;
+
+    // Để bỏ qua NOTIFY do chính node này gửi (local đã evict sau commit)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<LocalCacheEvictor> evictors;
+    private final boolean enabled;
+    private final String channel;
+
+    public CacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            List<LocalCacheEvictor> evictors,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.channel:app_cache_invalidation}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.evictors = evictors;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public void publish(EntityType type, UUID id) {
+        publishAll(type, List.of(id));
+    }
+
+    public void publishAll(EntityType type, Collection<UUID> ids) {
+        if (ids.isEmpty()) return;
+        List<UUID> batch = List.copyOf(ids);
+        if (enabled) {
+            for (int from = 0; from < batch.size(); from += MAX_IDS_PER_NOTIFY) {
+                notify(type, batch.subList(from, Math.min(from + MAX_IDS_PER_NOTIFY, batch.size())));
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatchLocal(type, batch);
+            return;
+        }
+        // Evict sau commit: evict trước thì request khác có thể cache lại data cũ
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatchLocal(type, batch);
+            }
+        });
+    }
+
+    private void notify(EntityType type, List<UUID> ids) {
+        StringBuilder payload = new StringBuilder(nodeId).append(SEPARATOR).append(type.name()).append(SEPARATOR);
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) payload.append(ID_SEPARATOR);
+            payload.append(ids.get(i));
+        }
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, channel);
+            ps.setString(2, payload.toString());
+            return ps.execute();
+        });
+    }
+
+    public void onRemoteMessage(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3) {
+            log.warn("Ignore malformed invalidation payload: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) return;
+
+        try {
+            EntityType type = EntityType.valueOf(parts[1]);
+            List<UUID> ids = new ArrayList<>();
+            for (String id : parts[2].split(String.valueOf(ID_SEPARATOR))) {
+                ids.add(UUID.fromString(id));
+            }
+            dispatchLocal(type, ids);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignore malformed invalidation payload: {}", payload);
+        }
+    }
+
+    private void dispatchLocal(EntityType type, List<UUID> ids) {
+        for (UUID id : ids) {
+            dispatchLocal(new InvalidationEvent(type, id));
+        }
+    }
+
+    public void dispatchLocal(InvalidationEvent event) {
+        for (LocalCacheEvictor evictor : evictors) {
+            evictor.evict(event);
+        }
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
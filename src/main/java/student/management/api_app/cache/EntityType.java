@@ -0,0 +1,17 @@
+package student.management.api_app.cache;
+
+// Loại entity trong event invalidate, kèm bảng tương ứng trong TableVersions
+public enum EntityType {
+    PERSON(TableVersions.PEOPLE),
+    STUDENT(TableVersions.STUDENTS);
+
+    private final String table;
+
+    EntityType(String table) {
+        this.table = table;
+    }
+
+    public String table() {
+        return table;
+    }
+}
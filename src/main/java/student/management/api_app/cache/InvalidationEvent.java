@@ -0,0 +1,18 @@
+package student.management.api_app.cache;
+
+import java.util.UUID;
+
+/**
+ * Event invalidate cache: (type, id) của entity vừa thay đổi.
+ * type == null nghĩa là flush toàn bộ (vd: mất kết nối LISTEN, có thể đã lỡ event).
+ */
+public record InvalidationEvent(EntityType type, UUID id) {
+
+    public static InvalidationEvent flushAll() {
+        return new InvalidationEvent(null, null);
+    }
+
+    public boolean isFlushAll() {
+        return type == null;
+    }
+}
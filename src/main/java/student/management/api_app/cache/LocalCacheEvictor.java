@@ -0,0 +1,6 @@
+package student.management.api_app.cache;
+
+// Mỗi cache in-process implement interface này để nhận event từ CacheInvalidationBus
+public interface LocalCacheEvictor {
+    void evict(InvalidationEvent event);
+}
@@ -0,0 +1,128 @@
+package student.management.api_app.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Giữ 1 connection riêng (ngoài Hikari pool) để LISTEN kênh invalidate.
+ * Mất kết nối -> reconnect có backoff; sau khi reconnect flush toàn bộ cache local
+ * vì trong khoảng mất kết nối có thể đã lỡ NOTIFY.
+ */
+@Slf4j
+@Component
+public class PgNotifyInvalidationListener implements SmartLifecycle {
+    private final CacheInvalidationBus bus;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollTimeoutMs;
+    private final long maxBackoffMs;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread worker;
+
+    public PgNotifyInvalidationListener(
+            CacheInvalidationBus bus,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.cache.invalidation.poll-timeout-ms:1000}") int pollTimeoutMs,
+            @Value("${app.cache.invalidation.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.bus = bus;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Override
+    public void start() {
+        if (!bus.isEnabled() || running) return;
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("pg-cache-invalidation-listener")
+                .daemon(true)
+                .start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (worker != null) worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        long backoffMs = 500;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                connection = conn;
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + bus.channel());
+                }
+                if (connectedBefore) {
+                    // Gap: không biết đã lỡ bao nhiêu event -> flush hết
+                    log.warn("Cache invalidation listener reconnected, flushing local caches");
+                    bus.dispatchLocal(InvalidationEvent.flushAll());
+                }
+                connectedBefore = true;
+                backoffMs = 500;
+
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    // Block tối đa pollTimeoutMs; connection hỏng sẽ ném SQLException
+                    PGNotification[] notifications = pg.getNotifications(pollTimeoutMs);
+                    if (notifications == null) continue;
+                    for (PGNotification n : notifications) {
+                        bus.onRemoteMessage(n.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) break;
+                log.warn("Cache invalidation listener lost connection, retry in {} ms: {}",
+                        backoffMs, e.getMessage());
+                if (!sleep(backoffMs)) break;
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private static boolean sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) return;
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Đang shutdown
+        }
+    }
+}
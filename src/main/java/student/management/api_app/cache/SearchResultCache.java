@@ -0,0 +1,84 @@
+package student.management.api_app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import student.management.api_app.dto.page.PageResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache kết quả search TTL ngắn. Page và count được cache riêng:
+ * count không phụ thuộc page/sort nên dùng chung cho mọi trang của cùng bộ filter.
+ * Metrics: cache.gets{cache=search.pages|search.counts, result=hit|miss}, cache.size, ...
+ */
+@Component
+public class SearchResultCache implements LocalCacheEvictor {
+
+    // criteria: search request đã normalize (record -> equals/hashCode theo giá trị)
+    private record PageKey(String scope, List<Long> versions, Object criteria,
+                           Pageable pageable, Set<String> fields) {}
+
+    private record CountKey(String scope, List<Long> versions, Object criteria) {}
+
+    private final TableVersions tableVersions;
+    private final Cache<PageKey, PageResponse<?>> pages;
+    private final Cache<CountKey, Long> counts;
+
+    public SearchResultCache(
+            TableVersions tableVersions,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.search.ttl:5s}") Duration ttl,
+            @Value("${app.cache.search.max-pages:10000}") long maxPages,
+            @Value("${app.cache.search.max-counts:10000}") long maxCounts) {
+        this.tableVersions = tableVersions;
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxPages)
+                .recordStats()
+                .build();
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxCounts)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "search.pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "search.counts");
+    }
+
+    /**
+     * @param scope  tên truy vấn (vd: "students.search")
+     * @param tables các bảng mà kết quả phụ thuộc (student list có cả dữ liệu people)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> PageResponse<T> page(String scope, String[] tables, Object criteria,
+                                    Pageable pageable, Set<String> fields,
+                                    Supplier<PageResponse<T>> loader) {
+        PageKey key = new PageKey(scope, tableVersions.current(tables), criteria, pageable, fields);
+        return (PageResponse<T>) pages.get(key, k -> loader.get());
+    }
+
+    public long count(String scope, String[] tables, Object criteria, LongSupplier loader) {
+        CountKey key = new CountKey(scope, tableVersions.current(tables), criteria);
+        return counts.get(key, k -> loader.getAsLong());
+    }
+
+    public void invalidateAll() {
+        pages.invalidateAll();
+        counts.invalidateAll();
+    }
+
+    // Event theo từng entity đã được xử lý qua version của bảng, chỉ cần xử lý flush toàn bộ
+    @Override
+    public void evict(InvalidationEvent event) {
+        if (event.isFlushAll()) invalidateAll();
+    }
+}
@@ -0,0 +1,48 @@
+package student.management.api_app.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bộ đếm version cho từng bảng. Mọi thao tác ghi tăng version của bảng bị ảnh hưởng
+ * (qua CacheInvalidationBus, kể cả ghi từ node khác);
+ * key của cache chứa version tại thời điểm đọc -> entry cũ tự động không còn được dùng.
+ */
+@Component
+public class TableVersions implements LocalCacheEvictor {
+    public static final String PEOPLE = "people";
+    public static final String STUDENTS = "students";
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(String table) {
+        return counter(table).get();
+    }
+
+    public List<Long> current(String... tables) {
+        Long[] result = new Long[tables.length];
+        for (int i = 0; i < tables.length; i++) result[i] = current(tables[i]);
+        return List.of(result);
+    }
+
+    public void bump(String... tables) {
+        for (String table : tables) counter(table).incrementAndGet();
+    }
+
+    @Override
+    public void evict(InvalidationEvent event) {
+        if (event.isFlushAll()) {
+            versions.values().forEach(AtomicLong::incrementAndGet);
+        } else {
+            bump(event.type().table());
+        }
+    }
+
+    private AtomicLong counter(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
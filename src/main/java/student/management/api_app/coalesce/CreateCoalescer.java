@@ -0,0 +1,56 @@
+package student.management.api_app.coalesce;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import student.management.api_app.dto.person.PersonCreateRequest;
+import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.dto.student.StudentCreateRequest;
+import student.management.api_app.dto.student.StudentDetailResponse;
+import student.management.api_app.service.IPersonService;
+import student.management.api_app.service.IStudentService;
+
+import java.time.Duration;
+
+/**
+ * Điểm vào của POST /persons và POST /students.
+ * Bật {@code app.write-coalescer.enabled}: các create đồng thời được gom thành lô (group commit),
+ * 1 transaction / lô thay vì 1 transaction / request -> ít round trip + fsync hơn khi tải ghi cao.
+ * Tắt (mặc định): gọi thẳng service.create như cũ, không thêm độ trễ chờ gom lô.
+ */
+@Component
+public class CreateCoalescer {
+    private final IPersonService personService;
+    private final IStudentService studentService;
+    private final WriteCoalescer<PersonCreateRequest, PersonDetailResponse> persons;
+    private final WriteCoalescer<StudentCreateRequest, StudentDetailResponse> students;
+
+    public CreateCoalescer(
+            IPersonService personService,
+            IStudentService studentService,
+            @Value("${app.write-coalescer.enabled:false}") boolean enabled,
+            @Value("${app.write-coalescer.max-batch:64}") int maxBatch,
+            @Value("${app.write-coalescer.max-wait:2ms}") Duration maxWait,
+            @Value("${app.write-coalescer.max-in-flight:4}") int maxInFlight) {
+        this.personService = personService;
+        this.studentService = studentService;
+        this.persons = enabled ? new WriteCoalescer<>("persons",
+                personService::createAll, personService::create, maxBatch, maxWait, maxInFlight) : null;
+        this.students = enabled ? new WriteCoalescer<>("students",
+                studentService::createAll, studentService::create, maxBatch, maxWait, maxInFlight) : null;
+    }
+
+    public PersonDetailResponse createPerson(PersonCreateRequest req) {
+        return persons != null ? persons.submit(req) : personService.create(req);
+    }
+
+    public StudentDetailResponse createStudent(StudentCreateRequest req) {
+        return students != null ? students.submit(req) : studentService.create(req);
+    }
+
+    @PreDestroy
+    void close() {
+        if (persons != null) persons.close();
+        if (students != null) students.close();
+    }
+}
@@ -0,0 +1,134 @@
+package student.management.api_app.coalesce;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gom các request ghi đồng thời thành lô (tối đa {@code maxBatch} request hoặc chờ {@code maxWait}
+ * kể từ request đầu tiên), mỗi lô ghi trong 1 transaction / 1 commit.
+ * <ul>
+ *   <li>{@code batchWriter}: ghi cả lô, trả {@link WriteOutcome} theo đúng thứ tự request</li>
+ *   <li>Lô lỗi toàn bộ (vd: unique violation không lường trước làm hỏng transaction) -> rollback,
+ *       từng request chạy lại bằng {@code singleWriter} trong transaction riêng, lỗi của ai trả cho người đó</li>
+ * </ul>
+ * Tối đa {@code maxInFlight} lô ghi song song, còn lại xếp hàng trong queue (giới hạn, đầy thì caller chờ).
+ */
+@Slf4j
+public class WriteCoalescer<R, T> implements AutoCloseable {
+    private record Pending<R, T>(R request, CompletableFuture<T> result) {}
+
+    private final String name;
+    private final Function<List<R>, List<WriteOutcome<T>>> batchWriter;
+    private final Function<R, T> singleWriter;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final Semaphore inFlight;
+    private final BlockingQueue<Pending<R, T>> queue;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public WriteCoalescer(String name,
+                          Function<List<R>, List<WriteOutcome<T>>> batchWriter,
+                          Function<R, T> singleWriter,
+                          int maxBatch, Duration maxWait, int maxInFlight) {
+        this.name = name;
+        this.batchWriter = batchWriter;
+        this.singleWriter = singleWriter;
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.queue = new ArrayBlockingQueue<>(maxBatch * maxInFlight * 4);
+        this.collector = Thread.ofVirtual().name("coalescer-" + name).start(this::collect);
+    }
+
+    /**
+     * Chặn tới khi lô chứa request này commit (hoặc fallback xong), trả kết quả / ném exception của riêng request.
+     */
+    public T submit(R request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            queue.put(new Pending<>(request, result));
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + " batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void collect() {
+        while (running) {
+            try {
+                Pending<R, T> first = queue.take();
+                List<Pending<R, T>> batch = new ArrayList<>(maxBatch);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Pending<R, T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                Thread.ofVirtual().name("coalescer-" + name + "-write").start(() -> {
+                    try {
+                        write(batch);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<Pending<R, T>> batch) {
+        List<R> requests = batch.stream().map(Pending::request).toList();
+        List<WriteOutcome<T>> outcomes;
+        try {
+            outcomes = batchWriter.apply(requests);
+        } catch (RuntimeException e) {
+            log.debug("{} batch of {} failed, retrying one by one: {}", name, batch.size(), e.toString());
+            for (Pending<R, T> p : batch) writeSingle(p);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            WriteOutcome<T> o = outcomes.get(i);
+            if (o.error() != null) batch.get(i).result().completeExceptionally(o.error());
+            else batch.get(i).result().complete(o.value());
+        }
+    }
+
+    private void writeSingle(Pending<R, T> p) {
+        try {
+            p.result().complete(singleWriter.apply(p.request()));
+        } catch (RuntimeException e) {
+            p.result().completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        // Request còn trong queue: ghi lẻ để caller không bị treo
+        Pending<R, T> p;
+        while ((p = queue.poll()) != null) writeSingle(p);
+    }
+}
@@ -0,0 +1,16 @@
+package student.management.api_app.coalesce;
+
+/**
+ * Kết quả của 1 request trong batch ghi: giá trị hoặc exception riêng của request đó
+ * (vd: 409 trùng phone chỉ trả cho đúng caller gửi phone đó).
+ */
+public record WriteOutcome<T>(T value, RuntimeException error) {
+
+    public static <T> WriteOutcome<T> ok(T value) {
+        return new WriteOutcome<>(value, null);
+    }
+
+    public static <T> WriteOutcome<T> failed(RuntimeException error) {
+        return new WriteOutcome<>(null, error);
+    }
+}
@@ -0,0 +1,39 @@
+package student.management.api_app.codegen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bộ đếm hi/lo: {@code reserve} giữ riêng 1 block số liên tiếp [start, start + size)
+ * (vd: nextval của sequence INCREMENT BY size). Trong block chỉ là 1 getAndIncrement, hết block mới
+ * gọi reserve (1 thread gọi, các thread khác chờ block mới).
+ */
+public class BlockSequence {
+    public record Range(long start, long size) {}
+
+    private record Block(long end, AtomicLong next) {}
+
+    private final Supplier<Range> reserve;
+    private volatile Block current;
+
+    public BlockSequence(Supplier<Range> reserve) {
+        this.reserve = reserve;
+    }
+
+    public long next() {
+        while (true) {
+            Block b = current;
+            if (b != null) {
+                long v = b.next().getAndIncrement();
+                if (v < b.end()) return v;
+            }
+            synchronized (this) {
+                if (current == b) {
+                    Range r = reserve.get();
+                    if (r.size() < 1) throw new IllegalStateException("Reserved block is empty: " + r);
+                    current = new Block(r.start() + r.size(), new AtomicLong(r.start()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package student.management.api_app.codegen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+
+/**
+ * Sinh studentCode phía server khi client không gửi (bật bằng {@code app.student-code.generation.enabled}).
+ * Số thứ tự lấy theo block từ app.student_code_block_seq (V1.0.8): mỗi node giữ 1 block, cấp code từ bộ nhớ
+ * -> không tốn round trip / create, không trùng giữa các node, không cần existsByStudentCode.
+ * Có lỗ (block dở khi restart, create bị rollback) nhưng không bao giờ cấp lại 1 số.
+ * <p>
+ * Code client tự đặt trùng dạng với {@code pattern} vẫn có thể đụng code sinh ra -> 409 như trước,
+ * nên code thủ công nên dùng tiền tố khác.
+ */
+@Component
+public class StudentCodeAllocator {
+    private static final String SEQUENCE = "student_code_block_seq";
+    // Không đặt trong @Value: dấu { } của mẫu lẫn với placeholder
+    private static final String DEFAULT_PATTERN = "STU{year}{seq:6}";
+
+    private final boolean enabled;
+    private final StudentCodePattern pattern;
+    private final BlockSequence sequence;
+
+    public StudentCodeAllocator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.student-code.generation.enabled:false}") boolean enabled,
+            @Value("${app.student-code.generation.pattern:}") String pattern) {
+        this.enabled = enabled;
+        this.pattern = StudentCodePattern.parse(pattern.isBlank() ? DEFAULT_PATTERN : pattern);
+        // Kích thước block = INCREMENT BY hiện tại của sequence, đọc cùng query với nextval
+        // -> ALTER SEQUENCE đổi block size không làm các node lệch nhau
+        this.sequence = new BlockSequence(() -> jdbcTemplate.queryForObject("""
+                SELECT nextval('app.%s') AS start, increment_by AS size
+                FROM pg_sequences WHERE schemaname = 'app' AND sequencename = '%s'
+                """.formatted(SEQUENCE, SEQUENCE),
+                (rs, i) -> new BlockSequence.Range(rs.getLong("start"), rs.getLong("size"))));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enrollmentYear năm dùng cho {year}/{yy}; null -> năm hiện tại
+     */
+    public String next(Integer enrollmentYear) {
+        int year = enrollmentYear != null ? enrollmentYear : Year.now().getValue();
+        return pattern.format(year, sequence.next());
+    }
+}
@@ -0,0 +1,104 @@
+package student.management.api_app.codegen;
+
+import student.management.api_app.util.NormalizerUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mẫu student code, vd: {@code STU{year}{seq:6}} -> STU2024000123.
+ * <ul>
+ *   <li>{@code {year}}: năm nhập học (không có thì năm hiện tại), {@code {yy}}: 2 số cuối</li>
+ *   <li>{@code {seq}} / {@code {seq:N}}: số thứ tự toàn cục, đệm 0 đủ N chữ số (vượt N thì dài hơn, không cắt)</li>
+ * </ul>
+ * Bắt buộc có {@code {seq}} -> code duy nhất theo sequence, không phụ thuộc năm.
+ */
+public final class StudentCodePattern {
+    private enum Kind { LITERAL, YEAR, SHORT_YEAR, SEQ }
+
+    // text: chỉ dùng với LITERAL, width: chỉ dùng với SEQ
+    private record Part(Kind kind, String text, int width) {}
+
+    private final String pattern;
+    private final Part[] parts;
+
+    private StudentCodePattern(String pattern, Part[] parts) {
+        this.pattern = pattern;
+        this.parts = parts;
+    }
+
+    public static StudentCodePattern parse(String pattern) {
+        List<Part> parts = new ArrayList<>();
+        boolean hasSeq = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            int open = pattern.indexOf('{', i);
+            if (open < 0) open = pattern.length();
+            if (open > i) parts.add(literal(pattern, pattern.substring(i, open)));
+            if (open == pattern.length()) break;
+
+            int close = pattern.indexOf('}', open);
+            if (close < 0) throw new IllegalArgumentException("Unclosed '{' in student code pattern: " + pattern);
+            String token = pattern.substring(open + 1, close);
+            switch (token) {
+                case "year" -> parts.add(new Part(Kind.YEAR, null, 0));
+                case "yy" -> parts.add(new Part(Kind.SHORT_YEAR, null, 0));
+                case "seq" -> parts.add(new Part(Kind.SEQ, null, 1));
+                default -> {
+                    if (!token.startsWith("seq:")) {
+                        throw new IllegalArgumentException("Unknown token {" + token + "} in student code pattern: " + pattern);
+                    }
+                    parts.add(new Part(Kind.SEQ, null, seqWidth(pattern, token)));
+                }
+            }
+            hasSeq |= token.startsWith("seq");
+            i = close + 1;
+        }
+        if (!hasSeq) throw new IllegalArgumentException("Student code pattern must contain {seq}: " + pattern);
+        return new StudentCodePattern(pattern, parts.toArray(Part[]::new));
+    }
+
+    public String format(int year, long seq) {
+        StringBuilder out = new StringBuilder(24);
+        for (Part part : parts) {
+            switch (part.kind()) {
+                case LITERAL -> out.append(part.text());
+                case YEAR -> out.append(year);
+                case SHORT_YEAR -> {
+                    int yy = Math.floorMod(year, 100);
+                    if (yy < 10) out.append('0');
+                    out.append(yy);
+                }
+                case SEQ -> {
+                    String digits = Long.toString(seq);
+                    for (int pad = part.width() - digits.length(); pad > 0; pad--) out.append('0');
+                    out.append(digits);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static int seqWidth(String pattern, String token) {
+        try {
+            int width = Integer.parseInt(token.substring(4));
+            if (width >= 1 && width <= 18) return width;
+        } catch (NumberFormatException ignored) {
+            // rơi xuống lỗi chung bên dưới
+        }
+        throw new IllegalArgumentException("Invalid width in {" + token + "}, expected 1..18 in student code pattern: " + pattern);
+    }
+
+    // Code sinh ra phải ở dạng đã normalize (lookup / unique index dùng dạng này)
+    private static Part literal(String pattern, String text) {
+        if (!text.equals(NormalizerUtil.normalizeCode(text))) {
+            throw new IllegalArgumentException("Student code pattern literals must be upper case without spaces: " + pattern);
+        }
+        return new Part(Kind.LITERAL, text, 0);
+    }
+}
@@ -1,9 +1,16 @@
 package student.management.api_app.configs;
 
 import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfig {
@@ -11,5 +18,30 @@ public class JacksonConfig {
     public Module jsonNullableModule() {
         return new JsonNullableModule();
     }
-}
 
+    // DTO có @JsonFilter (cho ?fields=): mặc định không lọc gì,
+    // FieldSelectionResponseBodyAdvice sẽ set filter riêng cho từng response khi có param
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    // Binary formats chọn theo Accept / Content-Type:
+    // - application/x-jackson-smile
+    // - application/cbor
+    // Builder của Spring Boot (prototype) đã áp dụng mọi Module bean (kể cả JsonNullableModule)
+    // -> PATCH body gửi bằng Smile/CBOR vẫn phân biệt được "không gửi" và "gửi null"
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
+    }
+}
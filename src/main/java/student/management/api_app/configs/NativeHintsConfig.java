@@ -0,0 +1,49 @@
+package student.management.api_app.configs;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.dto.person.PersonListItemResponse;
+import student.management.api_app.dto.student.StudentDetailResponse;
+import student.management.api_app.dto.student.StudentListItemResponse;
+import student.management.api_app.outbox.OutboxEvent;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reflection/proxy mà Spring AOT không tự suy ra được, cần cho native image (./gradlew nativeCompile -Pnative).
+ * JVM thường (kể cả chạy với AOT) bỏ qua các hint này.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // FieldSelection đọc record components của DTO để validate ?fields=
+            for (Class<?> dto : new Class<?>[]{PersonListItemResponse.class, PersonDetailResponse.class,
+                    StudentListItemResponse.class, StudentDetailResponse.class}) {
+                hints.reflection().registerType(dto, MemberCategory.values());
+            }
+
+            // SseEmitter serialize OutboxEvent lúc chạy, AOT không thấy qua kiểu trả về của controller
+            hints.reflection().registerType(OutboxEvent.class, MemberCategory.values());
+
+            // datasource-proxy bọc JDBC object bằng JDK dynamic proxy
+            for (Class<?> jdbc : new Class<?>[]{Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbc);
+                hints.proxies().registerJdkProxy(jdbc, ProxyJdbcObject.class);
+            }
+        }
+    }
+}
@@ -70,6 +70,16 @@ public class OpenApiConfig {
     @Value("${openapi.groups.demo.packages}")
     String[] demoPackages;
 
+    @Value("${openapi.groups.batch.name}")
+    String batchGroupName;
+    @Value("${openapi.groups.batch.packages}")
+    String[] batchPackages;
+
+    @Value("${openapi.groups.events.name}")
+    String eventsGroupName;
+    @Value("${openapi.groups.events.packages}")
+    String[] eventsPackages;
+
     @Bean
     public GroupedOpenApi personsGroup() {
         return GroupedOpenApi.builder()
@@ -93,4 +103,20 @@ public class OpenApiConfig {
                 .packagesToScan(demoPackages)
                 .build();
     }
+
+    @Bean
+    public GroupedOpenApi batchGroup() {
+        return GroupedOpenApi.builder()
+                .group(batchGroupName)
+                .packagesToScan(batchPackages)
+                .build();
+    }
+
+    @Bean
+    public GroupedOpenApi eventsGroup() {
+        return GroupedOpenApi.builder()
+                .group(eventsGroupName)
+                .packagesToScan(eventsPackages)
+                .build();
+    }
 }
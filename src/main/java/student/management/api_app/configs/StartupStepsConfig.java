@@ -0,0 +1,76 @@
+package student.management.api_app.configs;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bước khởi động riêng của app (tên "app.*") trong timeline của actuator /startup,
+ * để tách Flyway và Hibernate khỏi các bước chung "spring.beans.instantiate".
+ */
+@Configuration
+public class StartupStepsConfig {
+
+    // Flyway migrate, gồm cả validate-on-migrate (checksum từng file so với flyway_schema_history)
+    @Bean
+    public FlywayMigrationStrategy timedFlywayMigrationStrategy(ApplicationStartup startup) {
+        return flyway -> {
+            StartupStep step = startup.start("app.flyway.migrate")
+                    .tag("validateOnMigrate", String.valueOf(flyway.getConfiguration().isValidateOnMigrate()));
+            try {
+                flyway.migrate();
+            } finally {
+                step.end();
+            }
+        };
+    }
+
+    // Dựng EntityManagerFactory: metamodel + ddl-auto=validate + mở connection đầu tiên của Hikari pool
+    @Bean
+    public static BeanPostProcessor jpaBootstrapStepPostProcessor() {
+        return new JpaBootstrapStep();
+    }
+
+    static class JpaBootstrapStep implements BeanPostProcessor, ApplicationStartupAware, EnvironmentAware {
+        private final Map<String, StartupStep> running = new ConcurrentHashMap<>();
+        private ApplicationStartup startup = ApplicationStartup.DEFAULT;
+        private Environment environment;
+
+        @Override
+        public void setApplicationStartup(ApplicationStartup applicationStartup) {
+            this.startup = applicationStartup;
+        }
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof AbstractEntityManagerFactoryBean) {
+                running.put(beanName, startup.start("app.jpa.bootstrap")
+                        .tag("beanName", beanName)
+                        .tag("ddlAuto", environment.getProperty("spring.jpa.hibernate.ddl-auto", "none")));
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            StartupStep step = running.remove(beanName);
+            if (step != null) step.end();
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package student.management.api_app.controller.advice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.exception.AppException;
+
+/**
+ * Render lỗi thẳng thành {@code AppResponse.error(code, message, path)},
+ * không đi qua /error (BasicErrorController) và không log stack trace cho 4xx nghiệp vụ.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(AppException.class)
+    public ResponseEntity<AppResponse<Void>> handleApp(AppException e, HttpServletRequest request) {
+        return ResponseEntity.status(e.getStatus())
+                .body(AppResponse.error(e.getCode(), e.getMessage(), request.getRequestURI()));
+    }
+
+    // ResponseStatusException do Spring / thư viện ném: cùng 1 format body
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<AppResponse<Void>> handleStatus(ResponseStatusException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+        String code = status != null ? status.name() : String.valueOf(e.getStatusCode().value());
+        return ResponseEntity.status(e.getStatusCode())
+                .headers(e.getHeaders())
+                .body(AppResponse.error(code, e.getReason(), request.getRequestURI()));
+    }
+}
@@ -0,0 +1,57 @@
+package student.management.api_app.controller.advice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.util.FieldSelection;
+
+import java.util.Set;
+
+/**
+ * Áp dụng {@code ?fields=} lúc serialize (JSON/Smile/CBOR) bằng Jackson filter.
+ * Không có param thì ObjectMapper dùng filter mặc định (giữ nguyên mọi field).
+ */
+@RestControllerAdvice
+public class FieldSelectionResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+                                           MediaType contentType,
+                                           MethodParameter returnType,
+                                           ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) return;
+        if (!(bodyContainer.getValue() instanceof AppResponse<?> body) || body.getData() == null) return;
+
+        // Controller đã validate field name, ở đây chỉ tách cấp 1 / cấp lồng
+        Set<String> fields = FieldSelection.split(
+                servletRequest.getServletRequest().getParameter(FieldSelection.PARAM));
+        if (fields == null) return;
+
+        Set<String> top = FieldSelection.topLevel(fields);
+        Set<String> personNested = FieldSelection.nested(fields, "personDetail");
+
+        SimpleBeanPropertyFilter personFilter;
+        if (body.getData() instanceof PersonDetailResponse) {
+            personFilter = SimpleBeanPropertyFilter.filterOutAllExcept(top);
+        } else if (personNested.isEmpty()) {
+            personFilter = SimpleBeanPropertyFilter.serializeAll();
+        } else {
+            personFilter = SimpleBeanPropertyFilter.filterOutAllExcept(personNested);
+        }
+
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(top))
+                .addFilter(FieldSelection.PERSON_DETAIL_FILTER_ID, personFilter));
+    }
+}
@@ -0,0 +1,46 @@
+package student.management.api_app.controller.batch;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import student.management.api_app.batch.BatchExecutor;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.batch.BatchItemRequest;
+import student.management.api_app.dto.batch.BatchItemResponse;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${api.prefix}/batch")
+@RequiredArgsConstructor
+public class BatchController {
+    private final BatchExecutor executor;
+
+    @Operation(
+            summary = "Execute several API requests in one round trip",
+            description = """
+                    Gửi mảng sub-request tới các route sẵn có (path bắt đầu bằng api.prefix).
+                    - Chạy song song, giới hạn số sub-request đồng thời mỗi batch
+                    - Kết quả đúng thứ tự gửi lên, mỗi item có status/headers/body riêng
+                    - GET giống hệt nhau (path + headers) chỉ chạy 1 lần
+                    Batch luôn trả 200 nếu hợp lệ; lỗi của từng item nằm trong status của item đó
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "400", description = "Empty/too large batch or invalid sub-request",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class)))
+            }
+    )
+    @PostMapping
+    public ResponseEntity<AppResponse<List<BatchItemResponse>>> execute(
+            @RequestBody List<BatchItemRequest> requests,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(AppResponse.success(executor.execute(requests, request.getLocalPort())));
+    }
+}
@@ -0,0 +1,58 @@
+package student.management.api_app.controller.docs;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import student.management.api_app.exception.NotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Khi tắt springdoc (profile prod: springdoc.api-docs.enabled=false), trả OpenAPI đã sinh lúc build
+ * (classpath:openapi/<group>.json, xem task generateOpenApiDocs) tại cùng URL /v3/api-docs/<group>.
+ * Không scan controller lúc chạy, file đọc 1 lần rồi giữ trong bộ nhớ.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "false")
+public class PrebuiltOpenApiController {
+    private static final Pattern GROUP_NAME = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+
+    private final Map<String, Optional<byte[]>> docs = new ConcurrentHashMap<>();
+
+    @GetMapping(value = "${springdoc.api-docs.path:/v3/api-docs}/{group}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> group(@PathVariable String group) {
+        byte[] body = GROUP_NAME.matcher(group).matches()
+                ? docs.computeIfAbsent(group, PrebuiltOpenApiController::load).orElse(null)
+                : null;
+        if (body == null) {
+            throw new NotFoundException("OpenAPI group not found: " + group);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)))
+                .body(body);
+    }
+
+    private static Optional<byte[]> load(String group) {
+        ClassPathResource resource = new ClassPathResource("openapi/" + group + ".json");
+        if (!resource.exists()) return Optional.empty();
+        try (InputStream in = resource.getInputStream()) {
+            return Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package student.management.api_app.controller.events;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import student.management.api_app.outbox.OutboxStream;
+
+@RestController
+@RequestMapping("${api.prefix}/events")
+@RequiredArgsConstructor
+public class EventStreamController {
+    private final OutboxStream stream;
+
+    @Operation(
+            summary = "Stream person/student change events (SSE)",
+            description = """
+                    Server-Sent Events từ outbox: event name dạng PERSON.CREATED, STUDENT.DELETED, ...
+                    id của mỗi event là offset tăng dần.
+                    Resume: EventSource tự gửi Last-Event-ID khi reconnect, hoặc truyền ?offset=<offset đã nhận>.
+                    Offset quá cũ (đã dọn) -> event "resync", nên đồng bộ lại qua /changes
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream"),
+                    @ApiResponse(responseCode = "503", description = "Too many subscribers")
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(hidden = true)
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Offset cuối cùng đã nhận (bỏ trống = chỉ nhận event mới)")
+            @RequestParam(name = "offset", required = false) Long offset) {
+        return stream.subscribe(lastEventId != null ? lastEventId : offset);
+    }
+}
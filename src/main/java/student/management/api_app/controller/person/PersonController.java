@@ -1,6 +1,7 @@
 package student.management.api_app.controller.person;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,14 +10,23 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import student.management.api_app.coalesce.CreateCoalescer;
 import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.suggest.SuggestionResponse;
 import student.management.api_app.dto.person.*;
 import student.management.api_app.service.IPersonService;
+import student.management.api_app.util.ETagUtil;
+import student.management.api_app.util.FieldSelection;
+import student.management.api_app.suggest.SuggestIndex;
+import student.management.api_app.util.SortAllowlist;
 
 import java.net.URI;
 import java.util.Collection;
@@ -28,6 +38,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PersonController {
     private final IPersonService service;
+    private final CreateCoalescer createCoalescer;
+    private final SuggestIndex suggestIndex;
 
     @Operation(
             summary = "Get all persons with pagination",
@@ -38,8 +50,12 @@ public class PersonController {
     public ResponseEntity<AppResponse<PageResponse<PersonListItemResponse>>> getAll(
             @ParameterObject
             @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.DESC)
-            Pageable pageable) {
-        return ResponseEntity.ok(AppResponse.success(service.getAll(pageable)));
+            Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        return okWithETag(service.getAll(
+                pageable, FieldSelection.parse(fields, PersonListItemResponse.class)), fields);
     }
 
     @Operation(
@@ -50,7 +66,7 @@ public class PersonController {
                     - phone: đúng với phone (sau normalize)
                     - email: chứa trong contactEmail
                     - dobFrom / dobTo: khoảng năm sinh
-                    \nHỗ trợ phân trang & sort theo mọi field hợp lệ
+                    \nHỗ trợ phân trang & sort theo: createdAt, updatedAt, fullName, dob
                     """,
             responses = @ApiResponse(responseCode = "200", description = "Success")
     )
@@ -58,8 +74,12 @@ public class PersonController {
     public ResponseEntity<AppResponse<PageResponse<PersonListItemResponse>>> search(
             @ParameterObject PersonSearchRequest req,
             @PageableDefault(size = 5, sort = {"createdAt", "fullName"}, direction = Sort.Direction.DESC)
-            @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(AppResponse.success(service.search(req, pageable)));
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        return okWithETag(service.search(
+                req, pageable, FieldSelection.parse(fields, PersonListItemResponse.class)), fields);
     }
 
     @Operation(
@@ -72,33 +92,95 @@ public class PersonController {
     public ResponseEntity<AppResponse<PageResponse<PersonListItemResponse>>> listByIds(
             @RequestBody Collection<UUID> ids,
             @PageableDefault(size = 5, sort = {"createdAt", "fullName"}, direction = Sort.Direction.DESC)
-            @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(AppResponse.success(service.listByIds(ids, pageable)));
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        return okWithETag(service.listByIds(
+                ids, pageable, FieldSelection.parse(fields, PersonListItemResponse.class)), fields);
+    }
+
+    @Operation(
+            summary = "Typeahead suggestions for persons",
+            description = """
+                    Gợi ý theo prefix từ index in-memory (không query DB), dùng cho autocomplete.
+                    - Khớp prefix của từng từ trong fullName
+                    Không phân biệt hoa thường / dấu; nhiều từ thì mọi từ đều phải khớp
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class))),
+                    @ApiResponse(responseCode = "503", description = "Index is not ready",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class)))
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<AppResponse<List<SuggestionResponse>>> suggest(
+            @Parameter(description = "Chuỗi đang gõ, vd: nguyen va")
+            @RequestParam(name = "q") String q,
+            @Parameter(description = "Số gợi ý tối đa")
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(AppResponse.success(suggestIndex.suggestPersons(q, limit)));
+    }
+
+    @Operation(
+            summary = "Incremental change feed of persons",
+            description = """
+                    Các person thay đổi sau cursor `since`, theo thứ tự (updatedAt, id).
+                    - UPSERT: tạo mới/cập nhật, data là bản ghi hiện tại
+                    - DELETE: tombstone, chỉ có id
+                    Bỏ trống since để đồng bộ từ đầu; gửi lại nextCursor cho lần sau, hasMore=true thì gọi tiếp ngay
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class)))
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<AppResponse<ChangeFeedResponse<PersonDetailResponse>>> changes(
+            @Parameter(description = "nextCursor của lần gọi trước (bỏ trống = từ đầu)")
+            @RequestParam(name = "since", required = false) String since,
+            @Parameter(description = "Số thay đổi tối đa trả về")
+            @RequestParam(name = "size", defaultValue = "500") int size) {
+        return ResponseEntity.ok(AppResponse.success(service.changes(since, size)));
     }
 
     @Operation(
             summary = "Get person by ID",
-            description = "Lấy chi tiết person theo ID",
+            description = "Lấy chi tiết person theo ID. Hỗ trợ If-None-Match (ETag)",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "304", description = "Not modified"),
                     @ApiResponse(responseCode = "404", description = "Person not found",
                             content = @Content(schema = @Schema(
                                     implementation = AppResponse.AppError.class)))
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<AppResponse<PersonDetailResponse>> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(AppResponse.<PersonDetailResponse>builder()
-                .success(true)
-                .data(service.getById(id))
-                .build());
+    public ResponseEntity<AppResponse<PersonDetailResponse>> getById(
+            @PathVariable UUID id,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields,
+            WebRequest request) {
+        FieldSelection.parse(fields, PersonDetailResponse.class); // validate, lọc lúc serialize
+        // Client gửi lại ETag cũ -> chỉ query updated_at, khớp thì trả 304 luôn
+        if (ETagUtil.isNotModified(request, () -> service.findETagById(id))) return null;
+
+        PersonDetailResponse data = service.getById(id);
+        return okWithETag(data, fields);
     }
 
     @Operation(
             summary = "Get person by phone",
-            description = "Tìm person theo số điện thoại",
+            description = "Tìm person theo số điện thoại. Hỗ trợ If-None-Match (ETag)",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "304", description = "Not modified"),
                     @ApiResponse(responseCode = "400", description = "Phone is required",
                             content = @Content(schema = @Schema(
                                     implementation = AppResponse.AppError.class)) ),
@@ -109,11 +191,15 @@ public class PersonController {
     )
     @GetMapping("/by-phone")
     public ResponseEntity<AppResponse<PersonDetailResponse>> getByPhone(
-            @RequestParam("phone") String phone) {
-        return ResponseEntity.ok(AppResponse.<PersonDetailResponse>builder()
-                .success(true)
-                .data(service.getByPhone(phone))
-                .build());
+            @RequestParam("phone") String phone,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields,
+            WebRequest request) {
+        FieldSelection.parse(fields, PersonDetailResponse.class); // validate, lọc lúc serialize
+        if (ETagUtil.isNotModified(request, () -> service.findETagByPhone(phone))) return null;
+
+        PersonDetailResponse data = service.getByPhone(phone);
+        return okWithETag(data, fields);
     }
 
     @Operation(
@@ -133,7 +219,7 @@ public class PersonController {
     @PostMapping
     public ResponseEntity<AppResponse<PersonDetailResponse>> create(
             @RequestBody PersonCreateRequest req) {
-        PersonDetailResponse created = service.create(req);
+        PersonDetailResponse created = createCoalescer.createPerson(req);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("{id}")
                 .buildAndExpand(created.id())
@@ -188,4 +274,24 @@ public class PersonController {
     public void delete(@PathVariable UUID id) {
         service.deleteById(id);
     }
+
+    // Spring tự so If-None-Match với ETag của ResponseEntity và trả 304 nếu khớp
+    private static <T> ResponseEntity<AppResponse<PageResponse<T>>> okWithETag(PageResponse<T> page, String fields) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getEtag() != null) {
+            builder.eTag(ETagUtil.withFields(page.getEtag(), fields)).varyBy(HttpHeaders.ACCEPT);
+        }
+        return builder.body(AppResponse.success(page));
+    }
+
+    private static ResponseEntity<AppResponse<PersonDetailResponse>> okWithETag(
+            PersonDetailResponse data, String fields) {
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.withFields(ETagUtil.of(data.id(), data.updatedAt()), fields))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(AppResponse.<PersonDetailResponse>builder()
+                        .success(true)
+                        .data(data)
+                        .build());
+    }
 }
@@ -1,6 +1,7 @@
 package student.management.api_app.controller.student;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,13 +12,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import student.management.api_app.coalesce.CreateCoalescer;
 import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.suggest.SuggestionResponse;
 import student.management.api_app.dto.student.*;
 import student.management.api_app.service.impl.StudentService;
+import student.management.api_app.util.ETagUtil;
+import student.management.api_app.util.FieldSelection;
+import student.management.api_app.suggest.SuggestIndex;
+import student.management.api_app.util.SortAllowlist;
 
 import java.net.URI;
 import java.util.List;
@@ -31,6 +41,8 @@ public class StudentController {
     @Value("${api.prefix}")
     private String apiPrefix;
     private final StudentService service;
+    private final CreateCoalescer createCoalescer;
+    private final SuggestIndex suggestIndex;
 
     @Operation(
             summary = "Get all students with pagination",
@@ -40,9 +52,13 @@ public class StudentController {
     @GetMapping
     public ResponseEntity<AppResponse<PageResponse<StudentListItemResponse>>> getAll(
             @ParameterObject @PageableDefault(size = 5)
-            Pageable pageable
+            Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,studentCode (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields
     ) {
-        return ResponseEntity.ok(AppResponse.success(service.getAll(pageable)));
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        return okWithETag(service.getAll(
+                pageable, FieldSelection.parse(fields, StudentListItemResponse.class)), fields);
     }
 
     @Operation(
@@ -54,11 +70,12 @@ public class StudentController {
     public ResponseEntity<AppResponse<PageResponse<StudentListItemResponse>>> listByEnrollmentYear(
             @RequestParam("year") Integer year,
             @PageableDefault(size = 5, sort = "enrollmentYear", direction = Sort.Direction.DESC)
-            @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(AppResponse.<PageResponse<StudentListItemResponse>>builder()
-                .success(true)
-                .data(service.listByEnrollmentYear(year, pageable))
-                .build());
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,studentCode (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        return okWithETag(service.listByEnrollmentYear(
+                year, pageable, FieldSelection.parse(fields, StudentListItemResponse.class)), fields);
     }
 
     @Operation(
@@ -70,7 +87,7 @@ public class StudentController {
                     - email: chứa trong Person.contactEmail
                     - studentCode: chứa trong studentCode
                     - enrollmentYearFrom / enrollmentYearTo: khoảng năm nhập học
-                    Hỗ trợ phân trang & sort theo mọi field hợp lệ (kể cả person.fullName)
+                    Hỗ trợ phân trang & sort theo: createdAt, updatedAt, studentCode, enrollmentYear, person.fullName
                     """,
             responses = @ApiResponse(responseCode = "200", description = "Success")
     )
@@ -79,9 +96,13 @@ public class StudentController {
             @ParameterObject StudentSearchRequest req, // Để Swagger + Spring Doc hiểu khi bind từ query param
             @ParameterObject @PageableDefault(
                     size = 5, sort = {"createdAt", "person.fullName"}, direction = Sort.Direction.DESC)
-            Pageable pageable
+            Pageable pageable,
+            @Parameter(description = "Danh sách field cần trả về, vd: id,studentCode (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields
     ) {
-        return ResponseEntity.ok(AppResponse.success(service.search(req, pageable)));
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        return okWithETag(service.search(
+                req, pageable, FieldSelection.parse(fields, StudentListItemResponse.class)), fields);
     }
 
     @Operation(
@@ -98,29 +119,88 @@ public class StudentController {
                 .build());
     }
 
+    @Operation(
+            summary = "Typeahead suggestions for students",
+            description = """
+                    Gợi ý theo prefix từ index in-memory (không query DB), dùng cho autocomplete.
+                    - Khớp prefix của studentCode hoặc từng từ trong fullName (detail = fullName)
+                    Không phân biệt hoa thường / dấu; nhiều từ thì mọi từ đều phải khớp
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class))),
+                    @ApiResponse(responseCode = "503", description = "Index is not ready",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class)))
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<AppResponse<List<SuggestionResponse>>> suggest(
+            @Parameter(description = "Chuỗi đang gõ, vd: stu-2024")
+            @RequestParam(name = "q") String q,
+            @Parameter(description = "Số gợi ý tối đa")
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(AppResponse.success(suggestIndex.suggestStudents(q, limit)));
+    }
+
+    @Operation(
+            summary = "Incremental change feed of students",
+            description = """
+                    Các student thay đổi sau cursor `since`, theo thứ tự (updatedAt, id).
+                    - UPSERT: tạo mới/cập nhật, data là bản ghi hiện tại
+                    - DELETE: tombstone, chỉ có id
+                    - Sửa person của student cũng trả về student đó
+                    Bỏ trống since để đồng bộ từ đầu; gửi lại nextCursor cho lần sau, hasMore=true thì gọi tiếp ngay
+                    """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                            content = @Content(schema = @Schema(
+                                    implementation = AppResponse.AppError.class)))
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<AppResponse<ChangeFeedResponse<StudentDetailResponse>>> changes(
+            @Parameter(description = "nextCursor của lần gọi trước (bỏ trống = từ đầu)")
+            @RequestParam(name = "since", required = false) String since,
+            @Parameter(description = "Số thay đổi tối đa trả về")
+            @RequestParam(name = "size", defaultValue = "500") int size) {
+        return ResponseEntity.ok(AppResponse.success(service.changes(since, size)));
+    }
+
     @Operation(
             summary = "Get student by id",
-            description = "Lấy chi tiết học viên theo ID (trùng với personId)",
+            description = "Lấy chi tiết học viên theo ID (trùng với personId). Hỗ trợ If-None-Match (ETag)",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "304", description = "Not modified"),
                     @ApiResponse(responseCode = "404", description = "Student not found",
                             content = @Content(schema = @Schema(
                                     implementation = AppResponse.AppError.class)))
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<AppResponse<StudentDetailResponse>> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(AppResponse.<StudentDetailResponse>builder()
-                .success(true)
-                .data(service.getById(id))
-                .build());
+    public ResponseEntity<AppResponse<StudentDetailResponse>> getById(
+            @PathVariable UUID id,
+            @Parameter(description = "Danh sách field cần trả về, " +
+                    "vd: studentCode,personDetail.fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields,
+            WebRequest request) {
+        FieldSelection.parse(fields, StudentDetailResponse.class); // validate, lọc lúc serialize
+        // Client gửi lại ETag cũ -> chỉ query updated_at, khớp thì trả 304 luôn
+        if (ETagUtil.isNotModified(request, () -> service.findETagById(id))) return null;
+
+        return okWithETag(service.getById(id), fields);
     }
 
     @Operation(
             summary = "Get student by studentCode",
-            description = "Tìm student theo studentCode",
+            description = "Tìm student theo studentCode. Hỗ trợ If-None-Match (ETag)",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "304", description = "Not modified"),
                     @ApiResponse(responseCode = "404", description = "Student not found",
                             content = @Content(schema = @Schema(
                                     implementation = AppResponse.AppError.class)))
@@ -128,18 +208,25 @@ public class StudentController {
     )
     @GetMapping("/by-student-code")
     public ResponseEntity<AppResponse<StudentDetailResponse>> getByStudentCode(
-            @RequestParam("student-code") String studentCode) {
-        return ResponseEntity.ok(AppResponse.<StudentDetailResponse>builder()
-                    .success(true)
-                    .data(service.getByStudentCode(studentCode))
-                .build());
+            @RequestParam("student-code") String studentCode,
+            @Parameter(description = "Danh sách field cần trả về, " +
+                    "vd: studentCode,personDetail.fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields,
+            WebRequest request) {
+        FieldSelection.parse(fields, StudentDetailResponse.class); // validate, lọc lúc serialize
+        if (ETagUtil.isNotModified(request,
+                () -> service.findETagByStudentCode(studentCode))) return null;
+
+        return okWithETag(service.getByStudentCode(studentCode), fields);
     }
 
     @Operation(
             summary = "Get student by phone",
-            description = "Tìm student theo số điện thoại. Trả về 404 nếu không tìm thấy",
+            description = "Tìm student theo số điện thoại. Trả về 404 nếu không tìm thấy. " +
+                    "Hỗ trợ If-None-Match (ETag)",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "304", description = "Not modified"),
                     @ApiResponse(responseCode = "400", description = "Invalid phone",
                             content = @Content(schema = @Schema(implementation = AppResponse.AppError.class))),
                     @ApiResponse(responseCode = "404", description = "Student not found",
@@ -148,11 +235,15 @@ public class StudentController {
     )
     @GetMapping("/by-phone")
     public ResponseEntity<AppResponse<StudentDetailResponse>> getByPhone(
-            @RequestParam("phone") String phone) {
-        return ResponseEntity.ok(AppResponse.<StudentDetailResponse>builder()
-                .success(true)
-                .data(service.getByPhone(phone))
-                .build());
+            @RequestParam("phone") String phone,
+            @Parameter(description = "Danh sách field cần trả về, " +
+                    "vd: studentCode,personDetail.fullName (mặc định: tất cả)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields,
+            WebRequest request) {
+        FieldSelection.parse(fields, StudentDetailResponse.class); // validate, lọc lúc serialize
+        if (ETagUtil.isNotModified(request, () -> service.findETagByPhone(phone))) return null;
+
+        return okWithETag(service.getByPhone(phone), fields);
     }
 
     @Operation(
@@ -161,7 +252,7 @@ public class StudentController {
                     Tạo mới Person và Student trong cùng một transaction.
                     Trả về 201 Created và Location header. Body gồm:
                     - person: thông tin cá nhân (fullName bắt buộc, phone unique nếu có)
-                    - student: thông tin sinh viên (studentCode bắt buộc, unique)
+                    - student: thông tin sinh viên (studentCode unique; bỏ trống thì server tự sinh nếu bật app.student-code.generation)
                     """,
             responses = {
                     @ApiResponse(responseCode = "201", description = "Created"),
@@ -176,7 +267,7 @@ public class StudentController {
     @PostMapping
     public ResponseEntity<AppResponse<StudentDetailResponse>> create(
             @RequestBody StudentCreateRequest req) {
-        StudentDetailResponse created = service.create(req);
+        StudentDetailResponse created = createCoalescer.createStudent(req);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(created.personDetail().id())
@@ -190,7 +281,8 @@ public class StudentController {
 
     @Operation(
             summary = "Create student from existing person",
-            description = "Tạo Student cho Person đã tồn tại. Trả về 201 Created và location header",
+            description = "Tạo Student cho Person đã tồn tại (studentCode bỏ trống -> server tự sinh nếu bật). "
+                    + "Trả về 201 Created và location header",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Created"),
                     @ApiResponse(responseCode = "400", description = "Invalid input",
@@ -263,4 +355,27 @@ public class StudentController {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ===== Helpers =====
+    // Spring tự so If-None-Match với ETag của ResponseEntity và trả 304 nếu khớp
+    private static <T> ResponseEntity<AppResponse<PageResponse<T>>> okWithETag(PageResponse<T> page, String fields) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getEtag() != null) {
+            builder.eTag(ETagUtil.withFields(page.getEtag(), fields)).varyBy(HttpHeaders.ACCEPT);
+        }
+        return builder.body(AppResponse.success(page));
+    }
+
+    private static ResponseEntity<AppResponse<StudentDetailResponse>> okWithETag(
+            StudentDetailResponse data, String fields) {
+        String etag = ETagUtil.of(data.personDetail().id(),
+                ETagUtil.latest(data.updatedAt(), data.personDetail().updatedAt()));
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.withFields(etag, fields))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(AppResponse.<StudentDetailResponse>builder()
+                        .success(true)
+                        .data(data)
+                        .build());
+    }
+}
@@ -0,0 +1,8 @@
+package student.management.api_app.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Projection hẹp (id, updated_at) để trả lời conditional GET mà không load cả entity
+public record EntityVersion(UUID id, Instant updatedAt) {
+}
@@ -0,0 +1,21 @@
+package student.management.api_app.dto.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+public record BatchItemRequest(
+        @Schema(description = "GET, POST, PUT, PATCH, DELETE (mặc định GET)", example = "GET")
+        String method,
+
+        @Schema(description = "Path kèm query, bắt đầu bằng api.prefix", example = "/api/v1/students/by-code?code=STU001")
+        String path,
+
+        @Schema(description = "Header gửi kèm, vd: If-None-Match, Accept")
+        Map<String, String> headers,
+
+        @Schema(description = "Body JSON cho POST/PUT/PATCH")
+        JsonNode body
+) {
+}
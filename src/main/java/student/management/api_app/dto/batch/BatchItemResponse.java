@@ -0,0 +1,22 @@
+package student.management.api_app.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Kết quả 1 sub-request, cùng vị trí ({@code index}) với request gửi lên.
+ * {@code body} là body gốc của route (thường là AppResponse), không bọc lại.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResponse(
+        int index,
+        int status,
+        Map<String, String> headers,
+        JsonNode body
+) {
+    public BatchItemResponse at(int index) {
+        return index == this.index ? this : new BatchItemResponse(index, status, headers, body);
+    }
+}
@@ -0,0 +1,14 @@
+package student.management.api_app.dto.changes;
+
+import java.util.List;
+
+/**
+ * @param nextCursor gửi lại qua {@code ?since=} cho lần gọi sau (không đổi nếu không có thay đổi mới)
+ * @param hasMore    còn thay đổi phía sau -> gọi tiếp ngay, không cần chờ
+ */
+public record ChangeFeedResponse<T>(
+        List<ChangeItem<T>> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,15 @@
+package student.management.api_app.dto.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeItem<T>(
+        UUID id,
+        ChangeType type,
+        Instant changedAt,
+        T data // null với DELETE
+) {
+}
@@ -0,0 +1,8 @@
+package student.management.api_app.dto.changes;
+
+public enum ChangeType {
+    // Tạo mới hoặc cập nhật: data là bản ghi hiện tại
+    UPSERT,
+    // Tombstone: chỉ có id, downstream xóa bản ghi
+    DELETE
+}
@@ -1,22 +1,32 @@
 package student.management.api_app.dto.page;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
     private List<T> items;
     private int page;
     private int size;
-    private long totalItems;
-    private int totalPages;
+    // null khi search chạy ở chế độ count-free (xem SearchCostGuard), lúc đó dùng hasNext
+    private Long totalItems;
+    private Integer totalPages;
+    private Boolean hasNext;
+
+    // ETag của page, controller đưa lên header, không serialize vào body
+    @JsonIgnore
+    private String etag;
 
     public PageResponse(Page<T> pageData) {
         this.items = pageData.getContent();
@@ -25,4 +35,18 @@ public class PageResponse<T> {
         this.totalItems = pageData.getTotalElements();
         this.totalPages = pageData.getTotalPages();
     }
+
+    public PageResponse(Page<T> pageData, String etag) {
+        this(pageData);
+        this.etag = etag;
+    }
+
+    // Slice không kèm tổng số dòng: chỉ biết còn trang sau hay không
+    public PageResponse(Slice<T> sliceData, String etag) {
+        this.items = sliceData.getContent();
+        this.page = sliceData.getNumber();
+        this.size = sliceData.getSize();
+        this.hasNext = sliceData.hasNext();
+        this.etag = etag;
+    }
 }
@@ -1,9 +1,13 @@
 package student.management.api_app.dto.person;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import student.management.api_app.util.FieldSelection;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
+@JsonFilter(FieldSelection.PERSON_DETAIL_FILTER_ID)
 public record PersonDetailResponse(
         UUID id,
         String fullName,
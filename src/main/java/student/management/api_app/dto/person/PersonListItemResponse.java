@@ -1,7 +1,11 @@
 package student.management.api_app.dto.person;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import student.management.api_app.util.FieldSelection;
+
 import java.util.UUID;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 public record PersonListItemResponse(
         UUID id,
         String fullName,
@@ -1,5 +1,6 @@
 package student.management.api_app.dto.person;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
@@ -14,6 +15,15 @@ public record PersonSearchRequest(
         LocalDate dobFrom,
 
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-        LocalDate dobTo
+        LocalDate dobTo,
+
+        @Schema(description = "true: chỉ người >= 18 tuổi, false: chỉ người < 18 tuổi (gồm cả dob không rõ)")
+        Boolean adult,
+
+        @Schema(description = "Tuổi tối thiểu (tính đến hôm nay, 0..150)")
+        Integer minAge,
+
+        @Schema(description = "Tuổi tối đa (tính đến hôm nay, 0..150)")
+        Integer maxAge
 ) {
 }
@@ -1,9 +1,12 @@
 package student.management.api_app.dto.student;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.util.FieldSelection;
 
 import java.time.Instant;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 public record StudentDetailResponse(
         PersonDetailResponse personDetail,
 
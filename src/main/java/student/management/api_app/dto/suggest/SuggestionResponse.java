@@ -0,0 +1,13 @@
+package student.management.api_app.dto.suggest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SuggestionResponse(
+        UUID id,
+        String label,  // fullName (persons) / studentCode (students)
+        String detail  // null (persons) / fullName (students)
+) {
+}
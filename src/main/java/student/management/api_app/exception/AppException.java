@@ -0,0 +1,29 @@
+package student.management.api_app.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Gốc của các lỗi nghiệp vụ (404, 409, 400...). Đây là kết quả bình thường, không phải bug:
+ * không chụp stack trace và không giữ suppressed, nên tạo rẻ như một object thường.
+ * Message cố định thì khai báo instance static final và throw lại (immutable, dùng chung được).
+ * Render thành {@code AppResponse.error(code, message, path)} ở {@code ApiExceptionHandler}.
+ */
+@Getter
+public abstract class AppException extends RuntimeException {
+    private final HttpStatus status;
+
+    protected AppException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    protected AppException(HttpStatus status, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.status = status;
+    }
+
+    // Mã lỗi trong body (AppError.code)
+    public String getCode() {
+        return status.name();
+    }
+}
@@ -0,0 +1,14 @@
+package student.management.api_app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Input không hợp lệ (400)
+public class BadRequestException extends AppException {
+    public BadRequestException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(HttpStatus.BAD_REQUEST, message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package student.management.api_app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Trùng dữ liệu / vi phạm ràng buộc unique (409)
+public class ConflictException extends AppException {
+    public ConflictException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(HttpStatus.CONFLICT, message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package student.management.api_app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Không tìm thấy resource (404)
+public class NotFoundException extends AppException {
+    public NotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+
+    public NotFoundException(String message, Throwable cause) {
+        super(HttpStatus.NOT_FOUND, message, cause);
+    }
+}
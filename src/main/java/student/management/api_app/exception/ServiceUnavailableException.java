@@ -0,0 +1,14 @@
+package student.management.api_app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Tạm thời không phục vụ được (503): quá tải, timeout, index chưa sẵn sàng... client thử lại sau
+public class ServiceUnavailableException extends AppException {
+    public ServiceUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message, cause);
+    }
+}
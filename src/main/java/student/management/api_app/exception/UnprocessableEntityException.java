@@ -0,0 +1,10 @@
+package student.management.api_app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Request đúng cú pháp nhưng không xử lý được như đã gửi, vd: search quá rộng (422)
+public class UnprocessableEntityException extends AppException {
+    public UnprocessableEntityException(String message) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, message);
+    }
+}
@@ -0,0 +1,208 @@
+package student.management.api_app.guard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.exception.ServiceUnavailableException;
+import student.management.api_app.exception.UnprocessableEntityException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Chặn search "bệnh lý" trước khi chạm DB thật:
+ * <ol>
+ *   <li>size vượt {@code max-page-size} -> 400</li>
+ *   <li>ước lượng cost bằng EXPLAIN (cache theo tổ hợp filter + sort + độ sâu offset,
+ *       không theo giá trị) -> vượt {@code max-cost} thì 422, yêu cầu thêm filter</li>
+ *   <li>COUNT vượt {@code count-free-cost} -> hạ xuống {@link SearchMode#COUNT_FREE}</li>
+ *   <li>khi chạy: SET LOCAL statement_timeout theo endpoint, timeout -> 503</li>
+ * </ol>
+ * Phải gọi trong transaction của service (EXPLAIN và SET LOCAL dùng chung connection).
+ */
+@Slf4j
+@Component
+public class SearchCostGuard {
+    // Trùng scope của SearchResultCache trong service
+    public static final String PERSONS_SEARCH = "persons.search";
+    public static final String STUDENTS_SEARCH = "students.search";
+
+    // Tên filter dùng trong shape
+    public static final String NAME = "name";
+    public static final String PHONE = "phone";
+    public static final String EMAIL = "email";
+    public static final String ADDRESS = "address";
+    public static final String DOB = "dob";
+    public static final String STUDENT_CODE = "studentCode";
+    public static final String ENROLLMENT_YEAR = "enrollmentYear";
+
+    // Shape: giá trị filter không nằm trong key -> mỗi tổ hợp chỉ EXPLAIN 1 lần / TTL (pageSize -1 = unpaged)
+    private record Shape(String endpoint, Set<String> filters, Sort sort, int pageSize, int offsetBucket) {}
+
+    private record Costs(double page, double count) {}
+
+    private record QueryTemplate(String select, String count, Map<String, String> predicates,
+                                 Map<String, String> sortColumns) {}
+
+    // Giá trị đại diện: LIKE '%x%' là trường hợp xấu nhất (không dùng được index)
+    private static final Map<String, QueryTemplate> TEMPLATES = Map.of(
+            PERSONS_SEARCH, new QueryTemplate(
+                    "SELECT p.* FROM app.people p",
+                    "SELECT count(*) FROM app.people p",
+                    Map.of(
+                            NAME, "lower(p.full_name) LIKE '%x%'",
+                            PHONE, "p.phone = '+84000000000'",
+                            EMAIL, "p.contact_email LIKE '%x%'",
+                            ADDRESS, "lower(p.address) LIKE '%x%'",
+                            DOB, "p.dob BETWEEN DATE '2000-01-01' AND DATE '2007-12-31'"),
+                    Map.of(
+                            "createdAt", "p.created_at",
+                            "updatedAt", "p.updated_at",
+                            "fullName", "p.full_name",
+                            "dob", "p.dob")),
+            STUDENTS_SEARCH, new QueryTemplate(
+                    "SELECT s.*, p.full_name, p.contact_email, p.dob "
+                            + "FROM app.students s JOIN app.people p ON p.id = s.person_id",
+                    "SELECT count(*) FROM app.students s JOIN app.people p ON p.id = s.person_id",
+                    Map.of(
+                            NAME, "lower(p.full_name) LIKE '%x%'",
+                            PHONE, "p.phone = '+84000000000'",
+                            EMAIL, "p.contact_email LIKE '%x%'",
+                            DOB, "p.dob BETWEEN DATE '2000-01-01' AND DATE '2007-12-31'",
+                            STUDENT_CODE, "lower(s.student_code) LIKE '%x%'",
+                            ENROLLMENT_YEAR, "s.enrollment_year BETWEEN 2022 AND 2024"),
+                    Map.of(
+                            "createdAt", "s.created_at",
+                            "updatedAt", "s.updated_at",
+                            "studentCode", "s.student_code",
+                            "enrollmentYear", "s.enrollment_year",
+                            "person.fullName", "p.full_name"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+    private final double maxCost;
+    private final double countFreeCost;
+    private final Map<String, Duration> statementTimeouts;
+    private final Cache<Shape, Costs> costs;
+
+    public SearchCostGuard(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.search.guard.max-page-size:100}") int maxPageSize,
+            @Value("${app.search.guard.max-cost:200000}") double maxCost,
+            @Value("${app.search.guard.count-free-cost:50000}") double countFreeCost,
+            @Value("${app.search.guard.explain-cache-ttl:10m}") Duration explainCacheTtl,
+            @Value("${app.search.guard.timeout.persons:2s}") Duration personsTimeout,
+            @Value("${app.search.guard.timeout.students:3s}") Duration studentsTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.maxCost = maxCost;
+        this.countFreeCost = countFreeCost;
+        this.statementTimeouts = Map.of(PERSONS_SEARCH, personsTimeout, STUDENTS_SEARCH, studentsTimeout);
+        this.costs = Caffeine.newBuilder()
+                .expireAfterWrite(explainCacheTtl)
+                .maximumSize(1_000)
+                .build();
+    }
+
+    /**
+     * @param filters tên các filter có giá trị (sau normalize), xem hằng số NAME, PHONE, ...
+     */
+    public SearchMode check(String endpoint, Set<String> filters, Pageable pageable) {
+        if (pageable.isPaged() && pageable.getPageSize() > maxPageSize) {
+            throw new BadRequestException("Page size must be <= " + maxPageSize);
+        }
+
+        Shape shape = new Shape(endpoint, Set.copyOf(filters), pageable.getSort(),
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.isPaged() ? offsetBucket(pageable.getOffset()) : 0);
+        Costs c = costs.get(shape, this::estimate);
+
+        if (c.page() > maxCost) {
+            throw new UnprocessableEntityException(
+                    "Search is too broad (estimated cost %.0f > %.0f). Add a selective filter such as phone, email or studentCode, use an earlier page, or sort by createdAt"
+                            .formatted(c.page(), maxCost));
+        }
+        // Unpaged không có "trang sau" để nhìn trước -> luôn FULL
+        return pageable.isPaged() && c.count() > countFreeCost ? SearchMode.COUNT_FREE : SearchMode.FULL;
+    }
+
+    /**
+     * Chạy {@code loader} với statement_timeout của endpoint (SET LOCAL -> hết hiệu lực khi transaction kết thúc).
+     */
+    public <T> T withStatementTimeout(String endpoint, Supplier<T> loader) {
+        Duration timeout = statementTimeouts.get(endpoint);
+        if (timeout != null) {
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + timeout.toMillis());
+        }
+        try {
+            return loader.get();
+        } catch (org.springframework.dao.QueryTimeoutException | jakarta.persistence.QueryTimeoutException e) {
+            throw new ServiceUnavailableException(
+                    "Search timed out after " + timeout + ", narrow the filters and retry", e);
+        }
+    }
+
+    private Costs estimate(Shape shape) {
+        QueryTemplate t = TEMPLATES.get(shape.endpoint());
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        for (String f : new TreeSet<>(shape.filters())) {
+            String predicate = t.predicates().get(f);
+            if (predicate != null) where.add(predicate);
+        }
+
+        StringBuilder page = new StringBuilder(t.select()).append(where);
+        if (shape.sort().isSorted()) {
+            StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+            for (Sort.Order o : shape.sort()) {
+                // Sort đã qua SortAllowlist ở controller; property lạ thì bỏ qua khi ước lượng
+                String column = t.sortColumns().get(o.getProperty());
+                if (column != null) orderBy.add(column + (o.isAscending() ? " ASC" : " DESC"));
+            }
+            page.append(orderBy);
+        }
+        if (shape.pageSize() >= 0) {
+            page.append(" LIMIT ").append(shape.pageSize())
+                    .append(" OFFSET ").append(bucketOffset(shape.offsetBucket()));
+        }
+
+        Costs c = new Costs(totalCost(page.toString()), totalCost(t.count() + where));
+        log.debug("Search cost {} -> page={}, count={}", shape, c.page(), c.count());
+        return c;
+    }
+
+    private double totalCost(String sql) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+            return plan.get("Total Cost").asDouble();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot parse EXPLAIN output", e);
+        }
+    }
+
+    // Offset gom theo lũy thừa 2 (0, 1..2, 3..4, 5..8, ...) -> vài chục shape thay vì vô hạn
+    private static int offsetBucket(long offset) {
+        return offset <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(offset - 1) + 1;
+    }
+
+    // Offset lớn nhất của bucket (ước lượng theo trường hợp xấu nhất)
+    private static long bucketOffset(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+}
@@ -0,0 +1,8 @@
+package student.management.api_app.guard;
+
+public enum SearchMode {
+    // Page + COUNT như bình thường
+    FULL,
+    // COUNT quá đắt: bỏ count, trả hasNext (đọc thêm 1 dòng) thay cho totalItems/totalPages
+    COUNT_FREE
+}
@@ -0,0 +1,63 @@
+package student.management.api_app.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 1 dòng access log JSON / request (logger {@code app.access}, appender async, có lấy mẫu).
+ * Log theo pattern của endpoint thay vì URI thật để không ghi phone/id vào log.
+ * Lấy mẫu ngay ở đây theo {@code app.logging.sampling.app.access}, trước khi dựng event (rẻ hơn để
+ * {@link LogSamplingFilter} bỏ sau); event gắn {@link LogKeys#SAMPLED} để không bị lấy mẫu lần 2.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS = LoggerFactory.getLogger(LogKeys.ACCESS_LOGGER);
+
+    // Tỉ lệ request được ghi (0..1)
+    private final double sampleRate;
+
+    public AccessLogFilter(@Value("${app.logging.sampling." + LogKeys.ACCESS_LOGGER + ":1.0}") double sampleRate) {
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (sampled() && ACCESS.isInfoEnabled()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                ACCESS.atInfo()
+                        .addMarker(LogKeys.SAMPLED)
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("endpoint", pattern != null ? pattern : "(unmatched)")
+                        .addKeyValue("status", response.getStatus())
+                        .addKeyValue("durationMs", (System.nanoTime() - start) / 1_000_000)
+                        .addKeyValue("remoteAddr", request.getRemoteAddr())
+                        .log("access");
+            }
+            MDC.remove(LogKeys.ENDPOINT);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,18 @@
+package student.management.api_app.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Đưa endpoint vào MDC khi đã biết handler -> slow query log biết query thuộc endpoint nào
+public class EndpointMdcInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) MDC.put(LogKeys.ENDPOINT, request.getMethod() + " " + pattern);
+        return true;
+    }
+}
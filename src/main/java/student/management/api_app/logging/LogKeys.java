@@ -0,0 +1,18 @@
+package student.management.api_app.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+// Tên logger và key MDC dùng chung cho access log / slow query log
+public final class LogKeys {
+    private LogKeys() {}
+
+    public static final String ACCESS_LOGGER = "app.access";
+    public static final String SLOW_QUERY_LOGGER = "app.sql.slow";
+
+    // "GET /api/v1/students/{id}" (pattern của handler, không chứa giá trị path variable)
+    public static final String ENDPOINT = "endpoint";
+
+    // Event đã được lấy mẫu tại nguồn (vd: AccessLogFilter) -> LogSamplingFilter bỏ qua
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+}
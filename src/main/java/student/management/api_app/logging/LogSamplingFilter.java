@@ -0,0 +1,84 @@
+package student.management.api_app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lấy mẫu log theo logger ({@code app.logging.sampling.<logger>=rate}, áp dụng cho cả logger con).
+ * Filter của appender chứ không phải TurboFilter: {@code atInfo()...log()} của logback không đi qua TurboFilter,
+ * còn filter appender luôn chạy. Gắn vào AsyncAppender nên quyết định ở thread gọi log, trước khi event vào queue.
+ * WARN/ERROR luôn giữ; event có marker {@link LogKeys#SAMPLED} đã được lấy mẫu tại nguồn nên không lấy mẫu lại.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+    // logger name -> tỉ lệ giữ lại (0..1)
+    private volatile Map<String, Double> rates = Map.of();
+
+    /**
+     * Gắn 1 filter dùng chung vào mọi appender đang gắn với logger. Gọi lại (context Spring khác cùng JVM)
+     * chỉ cập nhật tỉ lệ, không gắn thêm filter.
+     */
+    public static LogSamplingFilter install(LoggerContext context, Map<String, Double> rates) {
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                appenders.add(it.next());
+            }
+        }
+        LogSamplingFilter filter = appenders.stream()
+                .flatMap(a -> a.getCopyOfAttachedFiltersList().stream())
+                .filter(LogSamplingFilter.class::isInstance)
+                .map(LogSamplingFilter.class::cast)
+                .findFirst()
+                .orElseGet(LogSamplingFilter::new);
+        filter.setContext(context);
+        filter.setRates(rates);
+        filter.start();
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (!appender.getCopyOfAttachedFiltersList().contains(filter)) appender.addFilter(filter);
+        }
+        return filter;
+    }
+
+    public void setRates(Map<String, Double> rates) {
+        Map<String, Double> clamped = new HashMap<>();
+        rates.forEach((logger, rate) -> clamped.put(logger, Math.max(0.0, Math.min(1.0, rate))));
+        this.rates = Map.copyOf(clamped);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted() || event.getLevel().isGreaterOrEqual(Level.WARN)) return FilterReply.NEUTRAL;
+        Map<String, Double> current = rates;
+        if (current.isEmpty()) return FilterReply.NEUTRAL;
+        if (event.getMarkerList() != null && event.getMarkerList().contains(LogKeys.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = rateFor(current, event.getLoggerName());
+        if (rate >= 1.0) return FilterReply.NEUTRAL;
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Khớp logger gần nhất: "a.b.c" -> "a.b.c", "a.b", "a"
+    private static double rateFor(Map<String, Double> rates, String name) {
+        String n = name;
+        while (true) {
+            Double rate = rates.get(n);
+            if (rate != null) return rate;
+            int dot = n.lastIndexOf('.');
+            if (dot < 0) return 1.0;
+            n = n.substring(0, dot);
+        }
+    }
+}
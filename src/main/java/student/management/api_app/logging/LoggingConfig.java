@@ -0,0 +1,62 @@
+package student.management.api_app.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class LoggingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointMdcInterceptor());
+    }
+
+    // app.logging.sampling.<logger>=rate -> filter trên mọi appender của logback
+    @Bean
+    public LogSamplingFilter logSamplingFilter(Environment env) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        return LogSamplingFilter.install(context, samplingRates(Binder.get(env)));
+    }
+
+    // Map<String, scalar>: key giữ nguyên dấu chấm, "app.logging.sampling.org.hibernate.SQL" -> "org.hibernate.SQL"
+    static Map<String, Double> samplingRates(Binder binder) {
+        return binder.bind("app.logging.sampling", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+    }
+
+    // Bọc DataSource (Hikari) bằng datasource-proxy để đo thời gian từng statement.
+    // static: BeanPostProcessor phải tạo sớm, không kéo theo cả config class
+    @Bean
+    @ConditionalOnProperty(name = "app.logging.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment env) {
+        long thresholdMs = env.getProperty("app.logging.slow-query.threshold",
+                Duration.class, Duration.ofMillis(200)).toMillis();
+        boolean logParameters = env.getProperty("app.logging.slow-query.log-parameters",
+                Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof ProxyDataSource) return bean;
+                return ProxyDataSourceBuilder.create(ds)
+                        .name(beanName)
+                        .listener(new SlowQueryListener(thresholdMs, logParameters))
+                        .build();
+            }
+        };
+    }
+}
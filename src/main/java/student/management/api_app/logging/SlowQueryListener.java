@@ -0,0 +1,75 @@
+package student.management.api_app.logging;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.List;
+
+/**
+ * Ghi query chạy lâu hơn ngưỡng (logger {@code app.sql.slow}, WARN) kèm tham số bind và endpoint.
+ * Query nhanh chỉ tốn 1 phép so sánh.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+    private static final Logger SLOW = LoggerFactory.getLogger(LogKeys.SLOW_QUERY_LOGGER);
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdMs;
+    private final boolean logParameters;
+
+    public SlowQueryListener(long thresholdMs, boolean logParameters) {
+        this.thresholdMs = thresholdMs;
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs) return;
+
+        for (QueryInfo query : queryInfoList) {
+            LoggingEventBuilder event = SLOW.atWarn()
+                    .addKeyValue("elapsedMs", execInfo.getElapsedTime())
+                    .addKeyValue("endpoint", MDC.get(LogKeys.ENDPOINT))
+                    .addKeyValue("success", execInfo.isSuccess())
+                    .addKeyValue("batchSize", execInfo.getBatchSize())
+                    .addKeyValue("sql", query.getQuery());
+            if (logParameters && !query.getParametersList().isEmpty()) {
+                event = event.addKeyValue("params", formatParameters(query.getParametersList()));
+            }
+            event.log("slow query");
+        }
+    }
+
+    // [[1=abc, 2=NULL], [1=def, 2=5]] (batch: mỗi phần tử là 1 lần addBatch)
+    private static String formatParameters(List<List<ParameterSetOperation>> parametersList) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < parametersList.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('[');
+            List<ParameterSetOperation> ops = parametersList.get(i);
+            for (int j = 0; j < ops.size(); j++) {
+                if (j > 0) sb.append(", ");
+                Object[] args = ops.get(j).getArgs();
+                sb.append(args[0]).append('=');
+                if ("setNull".equals(ops.get(j).getMethod().getName()) || args.length < 2) {
+                    sb.append("NULL");
+                } else {
+                    String value = String.valueOf(args[1]);
+                    sb.append(value.length() > MAX_VALUE_LENGTH
+                            ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value);
+                }
+            }
+            sb.append(']');
+        }
+        return sb.append(']').toString();
+    }
+}
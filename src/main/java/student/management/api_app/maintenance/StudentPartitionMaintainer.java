@@ -0,0 +1,60 @@
+package student.management.api_app.maintenance;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+
+/**
+ * Đảm bảo app.students luôn có partition cho năm hiện tại + {@code years-ahead} năm tới,
+ * đồng thời tách các năm đang nằm trong partition default ra partition riêng
+ * (xem hàm ensure_student_partitions trong V1.0.4).
+ */
+@Slf4j
+@Component
+public class StudentPartitionMaintainer {
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationStartup startup;
+    private final int yearsAhead;
+
+    public StudentPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            ApplicationStartup startup,
+            @Value("${app.students.partitions.years-ahead:1}") int yearsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.startup = startup;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        StartupStep step = startup.start("app.students.partitions");
+        try {
+            ensurePartitions();
+        } finally {
+            step.end();
+        }
+    }
+
+    @Scheduled(cron = "${app.students.partitions.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        int current = Year.now().getValue();
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT app.ensure_student_partitions(?, ?)", Integer.class, current, current + yearsAhead);
+            if (created != null && created > 0) {
+                log.info("Created {} students partition(s) up to {}", created, current + yearsAhead);
+            }
+        } catch (RuntimeException e) {
+            // Không chặn app: thiếu partition thì dữ liệu vẫn vào default, lần chạy sau sẽ tách ra
+            log.warn("Could not ensure students partitions", e);
+        }
+    }
+}
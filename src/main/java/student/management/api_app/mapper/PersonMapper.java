@@ -1,19 +1,37 @@
 package student.management.api_app.mapper;
 
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 import student.management.api_app.dto.person.PersonDetailResponse;
 import student.management.api_app.dto.person.PersonListItemResponse;
 import student.management.api_app.model.Person;
 import student.management.api_app.util.AgeCalculator;
 
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static student.management.api_app.repository.projection.ListItemColumns.*;
+
 @Component
 public class PersonMapper {
-    public PersonListItemResponse toListItemResponse(Person p) {
+    // adultCutoff tính 1 lần cho cả page (AgeCalculator.adultCutoff()), không tính lại mỗi dòng
+    public PersonListItemResponse toListItemResponse(Person p, LocalDate adultCutoff) {
         return new PersonListItemResponse(
                 p.getId(),
                 p.getFullName(),
                 p.getContactEmail(),
-                AgeCalculator.isAdult(p.getDob())
+                AgeCalculator.isAdult(p.getDob(), adultCutoff)
+        );
+    }
+
+    // Từ projection: field không được chọn để null (và bị lọc khi serialize)
+    public PersonListItemResponse toListItemResponse(Tuple t, Set<String> fields, LocalDate adultCutoff) {
+        return new PersonListItemResponse(
+                t.get(ID, UUID.class),
+                fields.contains(FULL_NAME) ? t.get(FULL_NAME, String.class) : null,
+                fields.contains(CONTACT_EMAIL) ? t.get(CONTACT_EMAIL, String.class) : null,
+                fields.contains(IS_ADULT) ? AgeCalculator.isAdult(t.get(DOB, LocalDate.class), adultCutoff) : null
         );
     }
 
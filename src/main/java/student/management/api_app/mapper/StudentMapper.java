@@ -1,5 +1,6 @@
 package student.management.api_app.mapper;
 
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import student.management.api_app.dto.student.StudentDetailResponse;
@@ -8,6 +9,12 @@ import student.management.api_app.model.Person;
 import student.management.api_app.model.Student;
 import student.management.api_app.util.AgeCalculator;
 
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static student.management.api_app.repository.projection.ListItemColumns.*;
+
 @RequiredArgsConstructor
 @Component
 public class StudentMapper {
@@ -23,7 +30,8 @@ public class StudentMapper {
         );
     }
 
-    public StudentListItemResponse toListItemResponse(Student s) {
+    // adultCutoff tính 1 lần cho cả page (AgeCalculator.adultCutoff()), không tính lại mỗi dòng
+    public StudentListItemResponse toListItemResponse(Student s, LocalDate adultCutoff) {
         Person p = s.getPerson();
 
         return new StudentListItemResponse(
@@ -32,7 +40,19 @@ public class StudentMapper {
                 s.getEnrollmentYear(),
                 p.getFullName(),
                 p.getContactEmail(),
-                AgeCalculator.isAdult(p.getDob())
+                AgeCalculator.isAdult(p.getDob(), adultCutoff)
+        );
+    }
+
+    // Từ projection: field không được chọn để null (và bị lọc khi serialize)
+    public StudentListItemResponse toListItemResponse(Tuple t, Set<String> fields, LocalDate adultCutoff) {
+        return new StudentListItemResponse(
+                t.get(ID, UUID.class),
+                fields.contains(STUDENT_CODE) ? t.get(STUDENT_CODE, String.class) : null,
+                fields.contains(ENROLLMENT_YEAR) ? t.get(ENROLLMENT_YEAR, Integer.class) : null,
+                fields.contains(FULL_NAME) ? t.get(FULL_NAME, String.class) : null,
+                fields.contains(CONTACT_EMAIL) ? t.get(CONTACT_EMAIL, String.class) : null,
+                fields.contains(IS_ADULT) ? AgeCalculator.isAdult(t.get(DOB, LocalDate.class), adultCutoff) : null
         );
     }
 }
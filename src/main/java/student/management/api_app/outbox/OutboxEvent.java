@@ -0,0 +1,25 @@
+package student.management.api_app.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event đã phát, gửi qua SSE với {@code id: <offset>}.
+ * payload là JSON đã lưu trong DB, ghi thẳng ra không parse lại.
+ */
+public record OutboxEvent(
+        @JsonIgnore long offset,
+        String aggregateType,
+        UUID aggregateId,
+        OutboxEventType eventType,
+        @JsonRawValue String payload,
+        Instant createdAt
+) {
+    // Tên event SSE, vd: PERSON.UPDATED
+    public String name() {
+        return aggregateType + "." + eventType;
+    }
+}
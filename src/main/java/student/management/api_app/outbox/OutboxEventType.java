@@ -0,0 +1,8 @@
+package student.management.api_app.outbox;
+
+public enum OutboxEventType {
+    CREATED,
+    UPDATED,
+    // payload null, chỉ có aggregateId
+    DELETED
+}
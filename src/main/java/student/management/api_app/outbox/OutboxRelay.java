@@ -0,0 +1,104 @@
+package student.management.api_app.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Phát event trong outbox theo lô: gán stream_offset + published_at cho tối đa {@code batch-size} dòng
+ * chưa phát mỗi transaction.
+ * <p>
+ * Nhiều node cùng chạy: advisory lock bảo đảm mỗi lúc chỉ 1 relay gán offset, nên offset tăng đúng theo
+ * thứ tự commit (SSE resume theo offset không bao giờ bỏ sót). FOR UPDATE SKIP LOCKED để relay
+ * không chờ dòng đang bị transaction khác giữ.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final String RELAY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('app.outbox.relay'))";
+    // nextval gọi trong subquery đã sắp theo id, không phải trong UPDATE ... FROM: thứ tự dòng ra khỏi
+    // join tuỳ plan (hash join đi theo vị trí vật lý), offset sẽ lệch thứ tự id trong cùng 1 lô
+    private static final String PUBLISH_BATCH = """
+            WITH batch AS (
+                SELECT id, nextval('app.outbox_stream_offset_seq') AS stream_offset
+                FROM (
+                    SELECT id FROM app.outbox
+                    WHERE stream_offset IS NULL
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ) pending
+                ORDER BY id
+            )
+            UPDATE app.outbox o
+            SET stream_offset = batch.stream_offset, published_at = NOW()
+            FROM batch
+            WHERE o.id = batch.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final OutboxStream stream;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate tx,
+            OutboxStream stream,
+            @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${app.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${app.outbox.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = tx;
+        this.stream = stream;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:100}")
+    public void relay() {
+        try {
+            int published = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer n = tx.execute(status -> publishBatch());
+                if (n == null || n == 0) break;
+                published += n;
+                if (n < batchSize) break;
+            }
+            // Đánh thức tailer của node này ngay, không chờ tới lượt poll
+            if (published > 0) stream.poll();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retry next run", e);
+        }
+    }
+
+    // package-private: test gọi trong transaction riêng của test
+    int publishBatch() {
+        Boolean locked = jdbcTemplate.queryForObject(RELAY_LOCK, Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) return 0; // node khác đang relay
+        return jdbcTemplate.update(PUBLISH_BATCH, batchSize);
+    }
+
+    // Event đã phát quá retention: subscriber resume từ offset cũ hơn sẽ nhận "resync"
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    public void cleanup() {
+        try {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM app.outbox WHERE published_at < NOW() - ? * interval '1 second'",
+                    retention.toSeconds());
+            if (deleted > 0) log.info("Deleted {} published outbox event(s) older than {}", deleted, retention);
+        } catch (RuntimeException e) {
+            log.warn("Outbox cleanup failed", e);
+        }
+    }
+}
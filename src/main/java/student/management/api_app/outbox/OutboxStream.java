@@ -0,0 +1,218 @@
+package student.management.api_app.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import student.management.api_app.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đẩy event đã phát (stream_offset != null) tới các subscriber SSE của node này.
+ * <ul>
+ *   <li>1 tailer/node đọc DB theo stream_offset rồi chia cho subscriber (không phụ thuộc node nào relay)</li>
+ *   <li>Mỗi subscriber có 1 virtual thread + hàng đợi giới hạn {@code subscriber-buffer}:
+ *       client chậm làm đầy hàng đợi thì bỏ hàng đợi, đọc bù từ DB từ offset đã gửi
+ *       -> bộ nhớ không phụ thuộc tốc độ client</li>
+ *   <li>Resume: {@code Last-Event-ID} (EventSource tự gửi khi reconnect) hoặc {@code ?offset=};
+ *       offset đã bị dọn (quá retention) -> event {@code resync}, client đồng bộ lại qua /changes</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OutboxStream {
+    private static final String SELECT_AFTER = """
+            SELECT stream_offset, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at
+            FROM app.outbox
+            WHERE stream_offset > ?
+            ORDER BY stream_offset
+            LIMIT ?
+            """;
+
+    private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, i) -> new OutboxEvent(
+            rs.getLong("stream_offset"),
+            rs.getString("aggregate_type"),
+            rs.getObject("aggregate_id", UUID.class),
+            OutboxEventType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Offset lớn nhất tailer đã chia cho subscriber, -1 = chưa khởi tạo
+    private long highWater = -1;
+
+    public OutboxStream(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.outbox.stream.page-size:500}") int pageSize,
+            @Value("${app.outbox.stream.subscriber-buffer:1024}") int subscriberBuffer,
+            @Value("${app.outbox.stream.max-subscribers:2000}") int maxSubscribers,
+            @Value("${app.outbox.stream.heartbeat:15s}") Duration heartbeat,
+            @Value("${app.outbox.stream.timeout:30m}") Duration timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = pageSize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param after offset cuối cùng client đã nhận (null = chỉ nhận event mới từ bây giờ)
+     */
+    public SseEmitter subscribe(Long after) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many event stream subscribers, retry later");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after);
+        subscribers.add(subscriber);
+
+        Thread thread = Thread.ofVirtual().name("outbox-sse").unstarted(subscriber);
+        emitter.onCompletion(() -> subscriber.close(thread));
+        emitter.onTimeout(() -> subscriber.close(thread));
+        emitter.onError(e -> subscriber.close(thread));
+        thread.start();
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.stream.poll-interval-ms:200}")
+    public synchronized void poll() {
+        if (subscribers.isEmpty()) {
+            highWater = -1; // subscriber mới tự đọc bù từ DB, không cần giữ vị trí
+            return;
+        }
+        try {
+            if (highWater < 0) highWater = lastOffset();
+            List<OutboxEvent> page;
+            do {
+                page = readAfter(highWater);
+                for (OutboxEvent event : page) {
+                    for (Subscriber s : subscribers) s.offer(event);
+                }
+                if (!page.isEmpty()) highWater = page.getLast().offset();
+            } while (page.size() == pageSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox stream poll failed, retry next run", e);
+        }
+    }
+
+    private List<OutboxEvent> readAfter(long offset) {
+        return jdbcTemplate.query(SELECT_AFTER, EVENT_MAPPER, offset, pageSize);
+    }
+
+    private long lastOffset() {
+        Long max = jdbcTemplate.queryForObject("SELECT max(stream_offset) FROM app.outbox", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Long after;
+        private final BlockingQueue<OutboxEvent> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private volatile boolean overflow;
+        private volatile boolean closed;
+        private long lastSent;
+
+        Subscriber(SseEmitter emitter, Long after) {
+            this.emitter = emitter;
+            this.after = after;
+        }
+
+        void offer(OutboxEvent event) {
+            if (!queue.offer(event)) overflow = true;
+        }
+
+        void close(Thread thread) {
+            closed = true;
+            subscribers.remove(this);
+            thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                start();
+                while (!closed) {
+                    if (overflow) {
+                        overflow = false;
+                        queue.clear();
+                        replay();
+                        continue;
+                    }
+                    OutboxEvent event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    // Offset nhảy cóc: có thể thiếu event (subscriber vào giữa lúc tailer khởi tạo) -> đọc bù
+                    if (event.offset() > lastSent + 1) replay();
+                    if (event.offset() > lastSent) send(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Client đã ngắt kết nối
+            } catch (RuntimeException e) {
+                log.warn("Outbox stream subscriber failed", e);
+                emitter.completeWithError(e);
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        private void start() throws IOException {
+            if (after == null) {
+                lastSent = lastOffset();
+                return;
+            }
+            Long earliest = jdbcTemplate.queryForObject("SELECT min(stream_offset) FROM app.outbox", Long.class);
+            if (earliest != null && after < earliest - 1) {
+                // Event sau offset của client đã bị dọn: báo để client đồng bộ lại rồi tiếp tục từ event cũ nhất còn giữ
+                emitter.send(SseEmitter.event().name("resync")
+                        .data(Map.of("requestedOffset", after, "earliestOffset", earliest), MediaType.APPLICATION_JSON));
+                lastSent = earliest - 1;
+            } else {
+                lastSent = after;
+            }
+            replay();
+        }
+
+        private void replay() throws IOException {
+            List<OutboxEvent> page;
+            do {
+                page = readAfter(lastSent);
+                for (OutboxEvent event : page) send(event);
+            } while (page.size() == pageSize && !closed);
+        }
+
+        private void send(OutboxEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.offset()))
+                    .name(event.name())
+                    .data(event, MediaType.APPLICATION_JSON));
+            lastSent = event.offset();
+        }
+    }
+}
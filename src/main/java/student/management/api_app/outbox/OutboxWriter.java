@@ -0,0 +1,56 @@
+package student.management.api_app.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import student.management.api_app.cache.EntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ghi event vào app.outbox trong transaction đang chạy của service:
+ * rollback thì event cũng mất, commit thì chắc chắn có event. Không gọi ra ngoài -> không tăng latency ghi.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EntityType aggregate, UUID id, OutboxEventType type, Object payload) {
+        jdbcTemplate.update("""
+                INSERT INTO app.outbox (aggregate_type, aggregate_id, event_type, payload)
+                VALUES (?, ?, ?, CAST(? AS jsonb))
+                """, aggregate.name(), id, type.name(), toJson(payload));
+    }
+
+    // Create gom lô: 1 batch statement cho cả lô, thứ tự event theo thứ tự của map
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(EntityType aggregate, OutboxEventType type, Map<UUID, ?> payloads) {
+        if (payloads.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(payloads.size());
+        payloads.forEach((id, payload) -> args.add(
+                new Object[]{aggregate.name(), id, type.name(), toJson(payload)}));
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO app.outbox (aggregate_type, aggregate_id, event_type, payload)
+                VALUES (?, ?, ?, CAST(? AS jsonb))
+                """, args);
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) return null;
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package student.management.api_app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * INSERT nhiều dòng trong 1 statement cho WriteCoalescer (create gom lô).
+ * Chạy trên connection của transaction JPA hiện tại; entity được load lại sau khi insert.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkInsertRepository {
+    public record NewPerson(UUID id, String fullName, LocalDate dob, String phone,
+                            String contactEmail, String address) {}
+
+    public record NewStudent(UUID personId, String studentCode, Integer enrollmentYear) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Dòng vi phạm unique (phone) bị bỏ qua thay vì làm hỏng cả statement.
+     *
+     * @return id các dòng đã insert được
+     */
+    public Set<UUID> insertPeopleIgnoringConflicts(List<NewPerson> rows) {
+        if (rows.isEmpty()) return Set.of();
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(rows.size() * 6);
+        for (NewPerson r : rows) {
+            values.add("(?, ?, ?, ?, ?, ?)");
+            args.add(r.id());
+            args.add(r.fullName());
+            args.add(r.dob());
+            args.add(r.phone());
+            args.add(r.contactEmail());
+            args.add(r.address());
+        }
+        String sql = "INSERT INTO app.people (id, full_name, dob, phone, contact_email, address) VALUES "
+                + values + " ON CONFLICT DO NOTHING RETURNING id";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, UUID.class, args.toArray()));
+    }
+
+    // student_code unique nằm ở student_keys (trigger) nên không ON CONFLICT được: trùng -> cả statement lỗi
+    public void insertStudents(List<NewStudent> rows) {
+        if (rows.isEmpty()) return;
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (NewStudent r : rows) {
+            values.add("(?, ?, ?)");
+            args.add(r.personId());
+            args.add(r.studentCode());
+            args.add(r.enrollmentYear());
+        }
+        jdbcTemplate.update("INSERT INTO app.students (person_id, student_code, enrollment_year) VALUES " + values,
+                args.toArray());
+    }
+
+    public Set<String> existingStudentCodes(Set<String> codes) {
+        if (codes.isEmpty()) return Set.of();
+        // PgJDBC bind String[] thành text[]
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT student_code FROM app.student_keys WHERE student_code = ANY(?)",
+                String.class, (Object) codes.toArray(String[]::new)));
+    }
+}
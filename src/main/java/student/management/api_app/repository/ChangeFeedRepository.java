@@ -0,0 +1,80 @@
+package student.management.api_app.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import student.management.api_app.util.ChangeCursor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset trên (updated_at, id) của bảng chính UNION ALL (deleted_at, id) của bảng tombstone,
+ * mỗi nhánh đi index riêng và dừng sau {@code limit} dòng.
+ * <p>
+ * updated_at = NOW() lúc transaction bắt đầu, nên transaction commit muộn có thể mang updated_at
+ * nhỏ hơn watermark client đã giữ. Chỉ trả dòng cũ hơn {@code safety-lag} (theo đồng hồ DB)
+ * để transaction ghi kịp commit trước khi watermark vượt qua.
+ */
+@Repository
+public class ChangeFeedRepository {
+    public record ChangeRow(UUID id, Instant changedAt, boolean deleted) {}
+
+    private static final String PEOPLE = feedSql("app.people", "id", "app.people_tombstones");
+    private static final String STUDENTS = feedSql("app.students", "person_id", "app.students_tombstones");
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Duration safetyLag;
+
+    public ChangeFeedRepository(NamedParameterJdbcTemplate jdbc,
+                                @Value("${app.changes.safety-lag:30s}") Duration safetyLag) {
+        this.jdbc = jdbc;
+        this.safetyLag = safetyLag;
+    }
+
+    public List<ChangeRow> people(ChangeCursor after, int limit) {
+        return query(PEOPLE, after, limit);
+    }
+
+    public List<ChangeRow> students(ChangeCursor after, int limit) {
+        return query(STUDENTS, after, limit);
+    }
+
+    private List<ChangeRow> query(String sql, ChangeCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ts", OffsetDateTime.ofInstant(after.changedAt(), ZoneOffset.UTC))
+                .addValue("id", after.id())
+                .addValue("lagMs", safetyLag.toMillis())
+                .addValue("limit", limit);
+        return jdbc.query(sql, params, (rs, i) -> new ChangeRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("changed_at", OffsetDateTime.class).toInstant(),
+                rs.getBoolean("deleted")));
+    }
+
+    // Bảng tombstone dùng cùng tên cột id với bảng chính
+    private static String feedSql(String table, String idColumn, String tombstones) {
+        return """
+                (SELECT t.%2$s AS id, t.updated_at AS changed_at, FALSE AS deleted
+                 FROM %1$s t
+                 WHERE (t.updated_at, t.%2$s) > (:ts, :id)
+                   AND t.updated_at < now() - :lagMs * interval '1 millisecond'
+                 ORDER BY t.updated_at, t.%2$s
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT d.%2$s, d.deleted_at, TRUE
+                 FROM %3$s d
+                 WHERE (d.deleted_at, d.%2$s) > (:ts, :id)
+                   AND d.deleted_at < now() - :lagMs * interval '1 millisecond'
+                 ORDER BY d.deleted_at, d.%2$s
+                 LIMIT :limit)
+                ORDER BY changed_at, id
+                LIMIT :limit
+                """.formatted(table, idColumn, tombstones);
+    }
+}
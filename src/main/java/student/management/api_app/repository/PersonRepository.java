@@ -4,8 +4,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import student.management.api_app.dto.EntityVersion;
 import student.management.api_app.model.Person;
+import student.management.api_app.repository.projection.PersonProjectionRepository;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,10 +18,25 @@ import java.util.UUID;
 
 @Repository
 public interface PersonRepository extends
-        JpaRepository<Person, UUID>, JpaSpecificationExecutor<Person> {
+        JpaRepository<Person, UUID>, JpaSpecificationExecutor<Person>,
+        PersonProjectionRepository {
 
     Optional<Person> findByPhone(String phone);
     boolean existsByPhone(String phone);
 
     Page<Person> findByIdIn(Collection<UUID> ids, Pageable pageable);
+
+    @Query("""
+        SELECT new student.management.api_app.dto.EntityVersion(p.id, p.updatedAt)
+        FROM Person p
+        WHERE p.id = :id
+    """)
+    Optional<EntityVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("""
+        SELECT new student.management.api_app.dto.EntityVersion(p.id, p.updatedAt)
+        FROM Person p
+        WHERE p.phone = :phone
+    """)
+    Optional<EntityVersion> findVersionByPhone(@Param("phone") String phone);
 }
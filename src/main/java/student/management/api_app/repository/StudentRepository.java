@@ -2,27 +2,36 @@ package student.management.api_app.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import student.management.api_app.dto.EntityVersion;
 import student.management.api_app.dto.student.EnrollmentStatDTO;
 import student.management.api_app.model.Student;
+import student.management.api_app.repository.projection.StudentProjectionRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface StudentRepository
-        extends JpaRepository<Student, UUID>, JpaSpecificationExecutor<Student> {
+        extends JpaRepository<Student, UUID>, JpaSpecificationExecutor<Student>,
+        StudentProjectionRepository {
     Optional<Student> findByStudentCode(String studentCode);
 
     boolean existsByStudentCode(String studentCode);
 
     Page<Student> findByEnrollmentYear(Integer enrollmentYear, Pageable pageable);
 
+    // Change feed: load kèm person trong 1 query (StudentDetailResponse cần personDetail)
+    @EntityGraph(attributePaths = "person")
+    List<Student> findWithPersonByIdIn(Collection<UUID> ids);
+
     @Query("""
         SELECT s FROM Student s
         JOIN s.person p
@@ -39,4 +48,38 @@ public interface StudentRepository
         GROUP BY s.enrollmentYear
     """)
     List<EnrollmentStatDTO> countStudentsGroupedByYear();
+
+    // Student detail gồm cả thông tin person -> version là updated_at mới nhất của 2 bảng
+    @Query("""
+        SELECT new student.management.api_app.dto.EntityVersion(
+            s.id,
+            GREATEST(s.updatedAt, p.updatedAt)
+        )
+        FROM Student s
+        JOIN s.person p
+        WHERE s.id = :id
+    """)
+    Optional<EntityVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("""
+        SELECT new student.management.api_app.dto.EntityVersion(
+            s.id,
+            GREATEST(s.updatedAt, p.updatedAt)
+        )
+        FROM Student s
+        JOIN s.person p
+        WHERE s.studentCode = :studentCode
+    """)
+    Optional<EntityVersion> findVersionByStudentCode(@Param("studentCode") String studentCode);
+
+    @Query("""
+        SELECT new student.management.api_app.dto.EntityVersion(
+            s.id,
+            GREATEST(s.updatedAt, p.updatedAt)
+        )
+        FROM Student s
+        JOIN s.person p
+        WHERE p.phone = :phone
+    """)
+    Optional<EntityVersion> findVersionByPhone(@Param("phone") String phone);
 }
@@ -0,0 +1,18 @@
+package student.management.api_app.repository.projection;
+
+// Alias của các cột trong Tuple trả về từ projection query (trùng tên field của DTO nếu có)
+public class ListItemColumns {
+    private ListItemColumns() {}
+
+    public static final String ID = "id";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String STUDENT_CODE = "studentCode";
+    public static final String ENROLLMENT_YEAR = "enrollmentYear";
+    public static final String FULL_NAME = "fullName";
+    public static final String CONTACT_EMAIL = "contactEmail";
+    public static final String IS_ADULT = "isAdult";
+
+    // Cột phụ: không có trong DTO nhưng cần để tính isAdult / ETag
+    public static final String DOB = "dob";
+    public static final String PERSON_UPDATED_AT = "personUpdatedAt";
+}
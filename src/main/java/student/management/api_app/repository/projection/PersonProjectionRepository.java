@@ -0,0 +1,17 @@
+package student.management.api_app.repository.projection;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import student.management.api_app.model.Person;
+
+import java.util.List;
+import java.util.Set;
+
+public interface PersonProjectionRepository {
+    // Chỉ SELECT các cột cần cho {@code fields} (luôn kèm id, updated_at cho ETag)
+    List<Tuple> findListItemTuples(Specification<Person> spec, Pageable pageable, Set<String> fields);
+
+    // Chỉ lấy nội dung 1 page (không COUNT) -> count được tính/cache riêng ở service
+    List<Person> findPageContent(Specification<Person> spec, Pageable pageable);
+}
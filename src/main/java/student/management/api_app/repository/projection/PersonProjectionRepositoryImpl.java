@@ -0,0 +1,66 @@
+package student.management.api_app.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import student.management.api_app.model.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static student.management.api_app.repository.projection.ListItemColumns.*;
+
+public class PersonProjectionRepositoryImpl implements PersonProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findListItemTuples(
+            Specification<Person> spec, Pageable pageable, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Person> root = cq.from(Person.class);
+
+        Predicate where = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (where != null) cq.where(where);
+        cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias(ID));
+        selections.add(root.get("updatedAt").alias(UPDATED_AT));
+        if (fields.contains(FULL_NAME)) selections.add(root.get("fullName").alias(FULL_NAME));
+        if (fields.contains(CONTACT_EMAIL)) selections.add(root.get("contactEmail").alias(CONTACT_EMAIL));
+        if (fields.contains(IS_ADULT)) selections.add(root.get("dob").alias(DOB));
+        cq.multiselect(selections);
+
+        return paged(entityManager.createQuery(cq), pageable).getResultList();
+    }
+
+    @Override
+    public List<Person> findPageContent(Specification<Person> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Person> cq = cb.createQuery(Person.class);
+        Root<Person> root = cq.from(Person.class);
+
+        Predicate where = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (where != null) cq.where(where);
+        cq.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return paged(entityManager.createQuery(cq), pageable).getResultList();
+    }
+
+    private static <R> TypedQuery<R> paged(TypedQuery<R> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+}
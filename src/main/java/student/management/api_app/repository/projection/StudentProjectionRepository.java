@@ -0,0 +1,20 @@
+package student.management.api_app.repository.projection;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import student.management.api_app.model.Student;
+
+import java.util.List;
+import java.util.Set;
+
+public interface StudentProjectionRepository {
+    /**
+     * Chỉ SELECT các cột cần cho {@code fields} (luôn kèm id, updated_at cho ETag).
+     * Không join people nếu không có field/filter/sort nào của person.
+     */
+    List<Tuple> findListItemTuples(Specification<Student> spec, Pageable pageable, Set<String> fields);
+
+    // Chỉ lấy nội dung 1 page (không COUNT) -> count được tính/cache riêng ở service
+    List<Student> findPageContent(Specification<Student> spec, Pageable pageable);
+}
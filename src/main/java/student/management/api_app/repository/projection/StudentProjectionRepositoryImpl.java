@@ -0,0 +1,77 @@
+package student.management.api_app.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import student.management.api_app.model.Person;
+import student.management.api_app.model.Student;
+import student.management.api_app.repository.specification.StudentSpecifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static student.management.api_app.repository.projection.ListItemColumns.*;
+
+public class StudentProjectionRepositoryImpl implements StudentProjectionRepository {
+    private static final Set<String> PERSON_FIELDS = Set.of(FULL_NAME, CONTACT_EMAIL, IS_ADULT);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findListItemTuples(
+            Specification<Student> spec, Pageable pageable, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Student> root = cq.from(Student.class);
+
+        Predicate where = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (where != null) cq.where(where);
+        // Sort theo person.* sẽ tự join (QueryUtils dùng lại join đã có)
+        cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias(ID));
+        selections.add(root.get("updatedAt").alias(UPDATED_AT));
+        if (fields.contains(STUDENT_CODE)) selections.add(root.get("studentCode").alias(STUDENT_CODE));
+        if (fields.contains(ENROLLMENT_YEAR)) selections.add(root.get("enrollmentYear").alias(ENROLLMENT_YEAR));
+
+        if (fields.stream().anyMatch(PERSON_FIELDS::contains)) {
+            Join<Student, Person> person = StudentSpecifications.personJoin(root);
+            selections.add(person.get("updatedAt").alias(PERSON_UPDATED_AT));
+            if (fields.contains(FULL_NAME)) selections.add(person.get("fullName").alias(FULL_NAME));
+            if (fields.contains(CONTACT_EMAIL)) selections.add(person.get("contactEmail").alias(CONTACT_EMAIL));
+            if (fields.contains(IS_ADULT)) selections.add(person.get("dob").alias(DOB));
+        }
+        cq.multiselect(selections);
+
+        return paged(entityManager.createQuery(cq), pageable).getResultList();
+    }
+
+    @Override
+    public List<Student> findPageContent(Specification<Student> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> cq = cb.createQuery(Student.class);
+        Root<Student> root = cq.from(Student.class);
+
+        Predicate where = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (where != null) cq.where(where);
+        cq.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return paged(entityManager.createQuery(cq), pageable).getResultList();
+    }
+
+    private static <R> TypedQuery<R> paged(TypedQuery<R> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+}
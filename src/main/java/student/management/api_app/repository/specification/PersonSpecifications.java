@@ -2,15 +2,23 @@ package student.management.api_app.repository.specification;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import student.management.api_app.model.Person;
+import student.management.api_app.util.DobRange;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
 
 public class PersonSpecifications {
 
+    public static Specification<Person> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
     public static Specification<Person> fullNameContains(String keyword) {
         return (root, query, cb) -> {
             if (!StringUtils.hasText(keyword)) return null;
@@ -88,4 +96,25 @@ public class PersonSpecifications {
         if (to == null) return null;
         return cb.lessThanOrEqualTo(personJoin.get("dob"), to);
     }
+
+    // dob range đã gộp filter tuổi (adult/minAge/maxAge) -> dùng được index trên dob
+    public static Specification<Person> dobIn(DobRange range) {
+        return (root, query, cb) -> {
+            if (range == null || range.equals(DobRange.ANY)) return null;
+            return dobRange(root.get("dob"), cb, range);
+        };
+    }
+
+    public static Predicate dobIn(
+            Join<?, Person> personJoin, CriteriaBuilder cb, DobRange range) {
+        if (range == null || range.equals(DobRange.ANY)) return null;
+        return dobRange(personJoin.get("dob"), cb, range);
+    }
+
+    private static Predicate dobRange(Path<LocalDate> dob, CriteriaBuilder cb, DobRange range) {
+        Predicate p = cb.conjunction();
+        if (range.from() != null) p = cb.and(p, cb.greaterThanOrEqualTo(dob, range.from()));
+        if (range.to() != null) p = cb.and(p, cb.lessThanOrEqualTo(dob, range.to()));
+        return range.includeUnknown() ? cb.or(cb.isNull(dob), p) : p;
+    }
 }
@@ -2,10 +2,12 @@ package student.management.api_app.repository.specification;
 
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import student.management.api_app.model.Person;
 import student.management.api_app.model.Student;
+import student.management.api_app.util.DobRange;
 
 import java.time.LocalDate;
 
@@ -15,38 +17,57 @@ public class StudentSpecifications {
         return "%" + input.toLowerCase().trim() + "%";
     }
 
+    // Dùng lại join tới person nếu đã có (nhiều filter / sort theo person chỉ tạo 1 JOIN)
+    @SuppressWarnings("unchecked")
+    public static Join<Student, Person> personJoin(Root<Student> root) {
+        for (Join<Student, ?> join : root.getJoins()) {
+            if ("person".equals(join.getAttribute().getName())) {
+                return (Join<Student, Person>) join;
+            }
+        }
+        return root.join("person", JoinType.INNER);
+    }
+
+    // Các filter theo person chỉ join khi thực sự có giá trị lọc
     public static Specification<Student> personNameContains(String keyword) {
         return (root, query, cb) -> {
-            Join<Student, Person> personJoin = root.join("person", JoinType.INNER);
-            return PersonSpecifications.fullNameContains(personJoin, cb, keyword);
+            if (!StringUtils.hasText(keyword)) return null;
+            return PersonSpecifications.fullNameContains(personJoin(root), cb, keyword);
         };
     }
 
     public static Specification<Student> personPhoneEquals(String phone) {
         return (root, query, cb) -> {
-            Join<Student, Person> person = root.join("person", JoinType.INNER);
-            return PersonSpecifications.phoneEquals(person, cb, phone);
+            if (!StringUtils.hasText(phone)) return null;
+            return PersonSpecifications.phoneEquals(personJoin(root), cb, phone);
         };
     }
 
     public static Specification<Student> personEmailContains(String email) {
         return (root, query, cb) -> {
-            Join<Student, Person> person = root.join("person", JoinType.INNER);
-            return PersonSpecifications.emailContains(person, cb, email);
+            if (!StringUtils.hasText(email)) return null;
+            return PersonSpecifications.emailContains(personJoin(root), cb, email);
         };
     }
 
     public static Specification<Student> personDobGte(LocalDate from) {
         return (root, query, cb) -> {
-            Join<Student, Person> person = root.join("person", JoinType.INNER);
-            return PersonSpecifications.dobGte(person, cb, from);
+            if (from == null) return null;
+            return PersonSpecifications.dobGte(personJoin(root), cb, from);
         };
     }
 
     public static Specification<Student> personDobLte(LocalDate to) {
         return (root, query, cb) -> {
-            Join<Student, Person> person = root.join("person", JoinType.INNER);
-            return PersonSpecifications.dobLte(person, cb, to);
+            if (to == null) return null;
+            return PersonSpecifications.dobLte(personJoin(root), cb, to);
+        };
+    }
+
+    public static Specification<Student> personDobIn(DobRange range) {
+        return (root, query, cb) -> {
+            if (range == null || range.equals(DobRange.ANY)) return null;
+            return PersonSpecifications.dobIn(personJoin(root), cb, range);
         };
     }
 
@@ -57,6 +78,13 @@ public class StudentSpecifications {
         };
     }
 
+    public static Specification<Student> enrollmentYearEquals(Integer year) {
+        return (root, query, cb) -> {
+            if (year == null) return null;
+            return cb.equal(root.get("enrollmentYear"), year);
+        };
+    }
+
     public static Specification<Student> enrollmentYearGte(Integer from) {
         return (root, query, cb) -> {
             if (from == null) return null;
@@ -1,23 +1,39 @@
 package student.management.api_app.service;
 
 import org.springframework.data.domain.Pageable;
+import student.management.api_app.coalesce.WriteOutcome;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
 import student.management.api_app.dto.person.*;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface IPersonService {
-    PageResponse<PersonListItemResponse> getAll(Pageable pageable);
-    PageResponse<PersonListItemResponse> search(PersonSearchRequest req, Pageable pageable);
+    // fields: null = đủ field, ngược lại chỉ SELECT các cột cần thiết
+    PageResponse<PersonListItemResponse> getAll(Pageable pageable, Set<String> fields);
+    PageResponse<PersonListItemResponse> search(
+            PersonSearchRequest req, Pageable pageable, Set<String> fields);
 
-    PageResponse<PersonListItemResponse> listByIds(Collection<UUID> ids, Pageable pageable);
+    PageResponse<PersonListItemResponse> listByIds(
+            Collection<UUID> ids, Pageable pageable, Set<String> fields);
 
     PersonDetailResponse getById(UUID id);
     PersonDetailResponse getByPhone(String phone);
 
+    // ETag lấy từ query hẹp (id, updated_at), dùng cho conditional GET
+    Optional<String> findETagById(UUID id);
+    Optional<String> findETagByPhone(String phone);
+
+    // Thay đổi sau cursor (keyset theo updated_at, id), gồm cả tombstone của dòng đã xóa
+    ChangeFeedResponse<PersonDetailResponse> changes(String since, int size);
+
     PersonDetailResponse create(PersonCreateRequest req);
+    // Tạo cả lô trong 1 transaction, kết quả theo đúng thứ tự reqs (lỗi của từng request nằm trong outcome)
+    List<WriteOutcome<PersonDetailResponse>> createAll(List<PersonCreateRequest> reqs);
     PersonDetailResponse patch(UUID id, PersonPatchRequest req);
     void deleteById(UUID id);
 }
@@ -1,24 +1,42 @@
 package student.management.api_app.service;
 
 import org.springframework.data.domain.Pageable;
+import student.management.api_app.coalesce.WriteOutcome;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
 import student.management.api_app.dto.student.*;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface IStudentService {
-    PageResponse<StudentListItemResponse> getAll(Pageable pageable);
-    PageResponse<StudentListItemResponse> search(StudentSearchRequest req, Pageable pageable);
+    // fields: null = đủ field, ngược lại chỉ SELECT các cột cần thiết
+    PageResponse<StudentListItemResponse> getAll(Pageable pageable, Set<String> fields);
+    PageResponse<StudentListItemResponse> search(
+            StudentSearchRequest req, Pageable pageable, Set<String> fields);
 
-    PageResponse<StudentListItemResponse> listByEnrollmentYear(Integer year, Pageable pageable);
+    PageResponse<StudentListItemResponse> listByEnrollmentYear(
+            Integer year, Pageable pageable, Set<String> fields);
     List<EnrollmentStatDTO> countStudentsGroupedByYear();
 
     StudentDetailResponse getById(UUID id);
     StudentDetailResponse getByStudentCode(String studentCode);
     StudentDetailResponse getByPhone(String phone);
 
+    // ETag lấy từ query hẹp (id, updated_at), dùng cho conditional GET
+    Optional<String> findETagById(UUID id);
+    Optional<String> findETagByStudentCode(String studentCode);
+    Optional<String> findETagByPhone(String phone);
+
+    // Thay đổi sau cursor (keyset theo updated_at, id), gồm cả tombstone của dòng đã xóa.
+    // Sửa person của student cũng tính là thay đổi của student (trigger chạm students.updated_at)
+    ChangeFeedResponse<StudentDetailResponse> changes(String since, int size);
+
     StudentDetailResponse create(StudentCreateRequest req);
+    // Tạo cả lô trong 1 transaction, kết quả theo đúng thứ tự reqs (lỗi của từng request nằm trong outcome)
+    List<WriteOutcome<StudentDetailResponse>> createAll(List<StudentCreateRequest> reqs);
     StudentDetailResponse createFromExistingPerson(StudentCreateFromPersonRequest req);
     StudentDetailResponse patch(UUID id, StudentPatchRequest req);
     void deleteById(UUID id);
@@ -0,0 +1,59 @@
+package student.management.api_app.service.impl;
+
+import student.management.api_app.dto.changes.ChangeFeedResponse;
+import student.management.api_app.dto.changes.ChangeItem;
+import student.management.api_app.dto.changes.ChangeType;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.repository.ChangeFeedRepository.ChangeRow;
+import student.management.api_app.util.ChangeCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Dùng chung cho PersonService.changes / StudentService.changes
+final class ChangeFeeds {
+    private ChangeFeeds() {}
+
+    static void checkSize(int size, int maxSize) {
+        if (size < 1 || size > maxSize) {
+            throw new BadRequestException("size must be between 1 and " + maxSize);
+        }
+    }
+
+    /**
+     * @param feed   đọc tối đa n dòng sau cursor (gọi với size + 1 để biết hasMore)
+     * @param loader load bản ghi hiện tại cho các id UPSERT (1 query IN)
+     */
+    static <T> ChangeFeedResponse<T> load(String since, int size,
+                                          BiFunction<ChangeCursor, Integer, List<ChangeRow>> feed,
+                                          Function<Collection<UUID>, Map<UUID, T>> loader) {
+        ChangeCursor after = ChangeCursor.parse(since);
+        List<ChangeRow> rows = feed.apply(after, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        List<UUID> upserts = rows.stream().filter(r -> !r.deleted()).map(ChangeRow::id).toList();
+        Map<UUID, T> current = upserts.isEmpty() ? Map.of() : loader.apply(upserts);
+
+        List<ChangeItem<T>> items = new ArrayList<>(rows.size());
+        for (ChangeRow r : rows) {
+            if (r.deleted()) {
+                items.add(new ChangeItem<>(r.id(), ChangeType.DELETE, r.changedAt(), null));
+                continue;
+            }
+            T data = current.get(r.id());
+            // Bị xóa sau khi đọc feed: tombstone sẽ có ở lần gọi sau
+            if (data != null) items.add(new ChangeItem<>(r.id(), ChangeType.UPSERT, r.changedAt(), data));
+        }
+
+        String next = rows.isEmpty()
+                ? (since == null || since.isBlank() ? ChangeCursor.START.encode() : since)
+                : new ChangeCursor(rows.getLast().changedAt(), rows.getLast().id()).encode();
+        return new ChangeFeedResponse<>(items, next, hasMore);
+    }
+}
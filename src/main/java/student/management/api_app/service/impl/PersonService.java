@@ -2,71 +2,122 @@ package student.management.api_app.service.impl;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
+import student.management.api_app.cache.CacheInvalidationBus;
+import student.management.api_app.cache.EntityType;
+import student.management.api_app.cache.SearchResultCache;
+import student.management.api_app.cache.TableVersions;
+import student.management.api_app.coalesce.WriteOutcome;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
 import student.management.api_app.dto.person.*;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.exception.ConflictException;
+import student.management.api_app.exception.NotFoundException;
+import student.management.api_app.guard.SearchCostGuard;
+import student.management.api_app.guard.SearchMode;
 import student.management.api_app.mapper.PersonMapper;
 import student.management.api_app.model.Person;
 import student.management.api_app.model.Student;
+import student.management.api_app.outbox.OutboxEventType;
+import student.management.api_app.outbox.OutboxWriter;
+import student.management.api_app.repository.BulkInsertRepository;
+import student.management.api_app.repository.BulkInsertRepository.NewPerson;
+import student.management.api_app.repository.ChangeFeedRepository;
 import student.management.api_app.repository.PersonRepository;
+import student.management.api_app.repository.projection.ListItemColumns;
 import student.management.api_app.repository.specification.PersonSpecifications;
 import student.management.api_app.service.IPersonService;
+import student.management.api_app.util.AgeCalculator;
+import student.management.api_app.util.DobRange;
+import student.management.api_app.util.ETagUtil;
 import student.management.api_app.util.NormalizerUtil;
+import student.management.api_app.util.OffsetPageable;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PersonService implements IPersonService {
+    private static final String[] TABLES = {TableVersions.PEOPLE};
+    private static final String SCOPE_ALL = "persons.all";
+    private static final String SCOPE_SEARCH = "persons.search";
+    // Message cố định -> dùng lại 1 instance (exception không có stack trace)
+    private static final BadRequestException PHONE_REQUIRED = new BadRequestException("Phone is required");
+
     private final PersonRepository repo;
     private final PersonMapper mapper;
+    private final SearchResultCache searchCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchCostGuard costGuard;
+    private final ChangeFeedRepository changeFeed;
+    private final OutboxWriter outbox;
+    private final BulkInsertRepository bulkInsert;
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${app.changes.max-size:5000}")
+    private int changesMaxSize;
+
     @Transactional(readOnly = true)
     @Override
-    public PageResponse<PersonListItemResponse> getAll(Pageable pageable) {
-        Page<Person> pageData = repo.findAll(pageable);
-        Page<PersonListItemResponse> mappedPageData = pageData.map(mapper::toListItemResponse);
-        return new PageResponse<>(mappedPageData);
+    public PageResponse<PersonListItemResponse> getAll(Pageable pageable, Set<String> fields) {
+        return searchCache.page(SCOPE_ALL, TABLES, null, pageable, fields,
+                () -> loadPage(SCOPE_ALL, null, Specification.unrestricted(), pageable, fields));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public PageResponse<PersonListItemResponse> search(PersonSearchRequest req, Pageable pageable) {
+    public PageResponse<PersonListItemResponse> search(
+            PersonSearchRequest req, Pageable pageable, Set<String> fields) {
         String name = NormalizerUtil.trimToNull(req.name());
         String phone = NormalizerUtil.normalizePhone(req.phone());
         String email = NormalizerUtil.normalizeEmail(req.email());
         String address = NormalizerUtil.trimToNull(req.address());
+        // Filter tuổi -> range trên dob, "hôm nay" lấy 1 lần cho cả request
+        DobRange dob = DobRange.of(req.dobFrom(), req.dobTo(),
+                req.adult(), req.minAge(), req.maxAge(), LocalDate.now());
 
         Specification<Person> spec = Specification.<Person>unrestricted()
                 .and(PersonSpecifications.fullNameContains(name))
                 .and(PersonSpecifications.phoneEquals(phone))
                 .and(PersonSpecifications.emailContains(email))
                 .and(PersonSpecifications.addressContains(address))
-                .and(PersonSpecifications.dobGte(req.dobFrom()))
-                .and(PersonSpecifications.dobLte(req.dobTo()));
+                .and(PersonSpecifications.dobIn(dob));
 
-        Page<Person> pageData = repo.findAll(spec, pageable);
-        Page<PersonListItemResponse> mappedPageData =
-                pageData.map(mapper::toListItemResponse);
+        // Key cache: request sau khi normalize, dob đã quy đổi nên key tự đổi khi sang ngày mới
+        PersonSearchRequest criteria = new PersonSearchRequest(
+                name, phone, email, address, dob.from(), dob.to(),
+                dob.includeUnknown() ? Boolean.FALSE : null, null, null);
 
-        return new PageResponse<>(mappedPageData);
+        SearchMode mode = costGuard.check(SCOPE_SEARCH,
+                activeFilters(name, phone, email, address, dob), pageable);
+
+        return searchCache.page(SCOPE_SEARCH, TABLES, criteria, pageable, fields,
+                () -> costGuard.withStatementTimeout(SCOPE_SEARCH, () -> mode == SearchMode.COUNT_FREE
+                        ? countFreePage(spec, pageable, fields)
+                        : loadPage(SCOPE_SEARCH, criteria, spec, pageable, fields)));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public PageResponse<PersonListItemResponse> listByIds(Collection<UUID> ids, Pageable pageable) {
+    public PageResponse<PersonListItemResponse> listByIds(
+            Collection<UUID> ids, Pageable pageable, Set<String> fields) {
         if (ids == null || ids.isEmpty()) {
             return new PageResponse<>(Page.empty(pageable));
         }
@@ -75,11 +126,17 @@ public class PersonService implements IPersonService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
+        if (fields != null) {
+            Specification<Person> spec = PersonSpecifications.idIn(distinctIds);
+            return projectedPage(spec, pageable, fields, () -> repo.count(spec));
+        }
+
         Page<Person> pageData = repo.findByIdIn(distinctIds, pageable);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
         Page<PersonListItemResponse> mappedPageData =
-                pageData.map(mapper::toListItemResponse);
+                pageData.map(p -> mapper.toListItemResponse(p, adultCutoff));
 
-        return new PageResponse<>(mappedPageData);
+        return new PageResponse<>(mappedPageData, pageETag(pageData));
     }
 
     @Transactional(readOnly = true)
@@ -87,9 +144,7 @@ public class PersonService implements IPersonService {
     public PersonDetailResponse getById(UUID id) {
         return repo.findById(id)
                 .map(mapper::toDetailResponse)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Person not found with id: " + id
-                ));
+                .orElseThrow(() -> new NotFoundException("Person not found with id: " + id));
     }
 
     @Transactional(readOnly = true)
@@ -97,14 +152,36 @@ public class PersonService implements IPersonService {
     public PersonDetailResponse getByPhone(String phone) {
         String normalized = NormalizerUtil.normalizePhone(phone);
         if (normalized == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Phone is required");
+            throw PHONE_REQUIRED;
         }
 
         return repo.findByPhone(normalized)
                 .map(mapper::toDetailResponse)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Person not found with phone: " + phone
-                ));
+                .orElseThrow(() -> new NotFoundException("Person not found with phone: " + phone));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETagById(UUID id) {
+        return repo.findVersionById(id)
+                .map(v -> ETagUtil.of(v.id(), v.updatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETagByPhone(String phone) {
+        String normalized = NormalizerUtil.normalizePhone(phone);
+        if (normalized == null) return Optional.empty();
+        return repo.findVersionByPhone(normalized)
+                .map(v -> ETagUtil.of(v.id(), v.updatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ChangeFeedResponse<PersonDetailResponse> changes(String since, int size) {
+        ChangeFeeds.checkSize(size, changesMaxSize);
+        return ChangeFeeds.load(since, size, changeFeed::people, ids -> repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(Person::getId, mapper::toDetailResponse)));
     }
 
     @Transactional
@@ -116,12 +193,11 @@ public class PersonService implements IPersonService {
         String address = NormalizerUtil.trimToNull(req.address());
 
         if (fullName == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "FullName is required");
+            throw new BadRequestException("FullName is required");
         }
         if (phone != null) {
             if (repo.existsByPhone(phone)) {
-                throw new ResponseStatusException(
-                        HttpStatus.CONFLICT, "Phone " + phone + " is existed");
+                throw new ConflictException("Phone " + phone + " is existed");
             }
         }
 
@@ -139,29 +215,73 @@ public class PersonService implements IPersonService {
         } catch (DataIntegrityViolationException e) {
             // Bắt race condition từ ràng buộc UNIQUE ở DB
             // khoảng giữa repo.existsByPhone() và save() vẫn có thể bị request khác làm thay đổi data
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Unique constraint violated in DB", e);
+            throw new ConflictException("Unique constraint violated in DB", e);
         }
 
-        return mapper.toDetailResponse(p);
+        PersonDetailResponse created = mapper.toDetailResponse(p);
+        outbox.append(EntityType.PERSON, p.getId(), OutboxEventType.CREATED, created);
+        invalidationBus.publish(EntityType.PERSON, p.getId());
+        return created;
+    }
+
+    @Transactional
+    @Override
+    public List<WriteOutcome<PersonDetailResponse>> createAll(List<PersonCreateRequest> reqs) {
+        List<WriteOutcome<PersonDetailResponse>> outcomes = new ArrayList<>(Collections.nCopies(reqs.size(), null));
+        List<NewPerson> rows = new ArrayList<>(reqs.size());
+        List<Integer> rowIndexes = new ArrayList<>(reqs.size());
+        for (int i = 0; i < reqs.size(); i++) {
+            PersonCreateRequest req = reqs.get(i);
+            String fullName = NormalizerUtil.trimToNull(req.fullName());
+            if (fullName == null) {
+                outcomes.set(i, WriteOutcome.failed(new BadRequestException("FullName is required")));
+                continue;
+            }
+            rows.add(new NewPerson(UUID.randomUUID(), fullName, req.dob(),
+                    NormalizerUtil.normalizePhone(req.phone()),
+                    NormalizerUtil.normalizeEmail(req.contactEmail()),
+                    NormalizerUtil.trimToNull(req.address())));
+            rowIndexes.add(i);
+        }
+
+        // Trùng phone (với DB hoặc trong cùng lô) -> dòng đó bị bỏ qua, các dòng khác vẫn commit
+        Set<UUID> inserted = bulkInsert.insertPeopleIgnoringConflicts(rows);
+        Map<UUID, Person> loaded = repo.findAllById(inserted).stream()
+                .collect(Collectors.toMap(Person::getId, p -> p));
+
+        Map<UUID, PersonDetailResponse> created = new LinkedHashMap<>();
+        for (int r = 0; r < rows.size(); r++) {
+            NewPerson row = rows.get(r);
+            int i = rowIndexes.get(r);
+            if (!inserted.contains(row.id())) {
+                outcomes.set(i, WriteOutcome.failed(new ConflictException("Phone " + row.phone() + " is existed")));
+                continue;
+            }
+            PersonDetailResponse dto = mapper.toDetailResponse(loaded.get(row.id()));
+            created.put(row.id(), dto);
+            outcomes.set(i, WriteOutcome.ok(dto));
+        }
+
+        outbox.appendAll(EntityType.PERSON, OutboxEventType.CREATED, created);
+        invalidationBus.publishAll(EntityType.PERSON, created.keySet());
+        return outcomes;
     }
 
     @Transactional
     @Override
     public PersonDetailResponse patch(UUID id, PersonPatchRequest req) {
         Person p = repo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Person not found with id: " + id
-                ));
+                .orElseThrow(() -> new NotFoundException("Person not found with id: " + id));
 
         if (req.fullName().isPresent()) { // field "fullName" xuất hiện trong request JSON
             String raw = req.fullName()
                     .orElse(null); // request JSON {"fullName": null} thì .orElse(null) trả về null
             if (raw == null) { // Cấm xóa fullName (vì DB có ràng buộc NOT NULL)
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "FullName cannot be null");
+                throw new BadRequestException("FullName cannot be null");
             }
             String newValue = NormalizerUtil.trimToNull(raw);
             if (newValue == null) { // Field "fullName" của request JSON có value nhưng không hợp lệ (chỉ có space)
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "FullName is required");
+                throw new BadRequestException("FullName is required");
             }
             p.setFullName(newValue);
         }
@@ -177,8 +297,7 @@ public class PersonService implements IPersonService {
             String newPhone = raw != null ? NormalizerUtil.normalizePhone(raw) : null;
             if (newPhone != null && !newPhone.equals(p.getPhone())) {
                 if (repo.existsByPhone(newPhone)) {
-                    throw new ResponseStatusException(
-                            HttpStatus.CONFLICT, "Phone " + newPhone + " is existed");
+                    throw new ConflictException("Phone " + newPhone + " is existed");
                 }
             }
             p.setPhone(newPhone); // null => xóa phone
@@ -201,20 +320,84 @@ public class PersonService implements IPersonService {
             repo.saveAndFlush(p);
             entityManager.refresh(p);
         } catch (DataIntegrityViolationException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Unique constraint violated in DB", e);
+            throw new ConflictException("Unique constraint violated in DB", e);
         }
 
-        return mapper.toDetailResponse(p);
+        PersonDetailResponse updated = mapper.toDetailResponse(p);
+        outbox.append(EntityType.PERSON, p.getId(), OutboxEventType.UPDATED, updated);
+        invalidationBus.publish(EntityType.PERSON, p.getId());
+        return updated;
     }
 
     @Transactional
     @Override
     public void deleteById(UUID id) {
         Person p = repo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Person not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Person not found with id: " + id));
 
         repo.delete(p);
+        outbox.append(EntityType.PERSON, id, OutboxEventType.DELETED, null);
+        invalidationBus.publish(EntityType.PERSON, id);
+    }
+
+    // ===== Helpers =====
+    // Page content và count đi 2 đường riêng để count được cache dùng chung cho mọi trang
+    private PageResponse<PersonListItemResponse> loadPage(
+            String scope, Object criteria, Specification<Person> spec,
+            Pageable pageable, Set<String> fields) {
+        LongSupplier total = () -> searchCache.count(scope, TABLES, criteria, () -> repo.count(spec));
+        if (fields != null) return projectedPage(spec, pageable, fields, total);
+
+        Page<Person> pageData = PageableExecutionUtils.getPage(
+                repo.findPageContent(spec, pageable), pageable, total);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        return new PageResponse<>(
+                pageData.map(p -> mapper.toListItemResponse(p, adultCutoff)), pageETag(pageData));
+    }
+
+    // COUNT quá đắt: đọc dư 1 dòng để biết còn trang sau, không trả totalItems/totalPages
+    private PageResponse<PersonListItemResponse> countFreePage(
+            Specification<Person> spec, Pageable pageable, Set<String> fields) {
+        Pageable lookahead = OffsetPageable.lookahead(pageable);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        if (fields != null) {
+            Slice<Tuple> rows = OffsetPageable.toSlice(
+                    repo.findListItemTuples(spec, lookahead, fields), pageable);
+            String etag = ETagUtil.ofPage(rows,
+                    t -> t.get(ListItemColumns.ID, UUID.class),
+                    t -> t.get(ListItemColumns.UPDATED_AT, Instant.class));
+            return new PageResponse<>(rows.map(t -> mapper.toListItemResponse(t, fields, adultCutoff)), etag);
+        }
+
+        Slice<Person> sliceData = OffsetPageable.toSlice(repo.findPageContent(spec, lookahead), pageable);
+        return new PageResponse<>(
+                sliceData.map(p -> mapper.toListItemResponse(p, adultCutoff)),
+                pageETag(sliceData));
+    }
+
+    private static Set<String> activeFilters(
+            String name, String phone, String email, String address, DobRange dob) {
+        Set<String> filters = new HashSet<>();
+        if (name != null) filters.add(SearchCostGuard.NAME);
+        if (phone != null) filters.add(SearchCostGuard.PHONE);
+        if (email != null) filters.add(SearchCostGuard.EMAIL);
+        if (address != null) filters.add(SearchCostGuard.ADDRESS);
+        if (dob.from() != null || dob.to() != null) filters.add(SearchCostGuard.DOB);
+        return filters;
+    }
+
+    private PageResponse<PersonListItemResponse> projectedPage(
+            Specification<Person> spec, Pageable pageable, Set<String> fields, LongSupplier total) {
+        Page<Tuple> rows = PageableExecutionUtils.getPage(
+                repo.findListItemTuples(spec, pageable, fields), pageable, total);
+        String etag = ETagUtil.ofPage(rows,
+                t -> t.get(ListItemColumns.ID, UUID.class),
+                t -> t.get(ListItemColumns.UPDATED_AT, Instant.class));
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        return new PageResponse<>(rows.map(t -> mapper.toListItemResponse(t, fields, adultCutoff)), etag);
+    }
+
+    private String pageETag(Slice<Person> pageData) {
+        return ETagUtil.ofPage(pageData, Person::getId, Person::getUpdatedAt);
     }
 }
@@ -2,30 +2,66 @@ package student.management.api_app.service.impl;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
+import student.management.api_app.cache.CacheInvalidationBus;
+import student.management.api_app.cache.EntityType;
+import student.management.api_app.cache.SearchResultCache;
+import student.management.api_app.cache.TableVersions;
+import student.management.api_app.coalesce.WriteOutcome;
+import student.management.api_app.codegen.StudentCodeAllocator;
+import student.management.api_app.dto.changes.ChangeFeedResponse;
 import student.management.api_app.dto.page.PageResponse;
 import student.management.api_app.dto.person.PersonCreateRequest;
 import student.management.api_app.dto.person.PersonSearchRequest;
 import student.management.api_app.dto.student.*;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.exception.ConflictException;
+import student.management.api_app.exception.NotFoundException;
+import student.management.api_app.guard.SearchCostGuard;
+import student.management.api_app.guard.SearchMode;
 import student.management.api_app.mapper.StudentMapper;
 import student.management.api_app.model.Person;
 import student.management.api_app.model.Student;
+import student.management.api_app.outbox.OutboxEventType;
+import student.management.api_app.outbox.OutboxWriter;
+import student.management.api_app.repository.BulkInsertRepository;
+import student.management.api_app.repository.BulkInsertRepository.NewPerson;
+import student.management.api_app.repository.BulkInsertRepository.NewStudent;
+import student.management.api_app.repository.ChangeFeedRepository;
 import student.management.api_app.repository.PersonRepository;
 import student.management.api_app.repository.StudentRepository;
+import student.management.api_app.repository.projection.ListItemColumns;
 import student.management.api_app.service.IStudentService;
-
+import student.management.api_app.util.AgeCalculator;
+import student.management.api_app.util.DobRange;
+import student.management.api_app.util.ETagUtil;
+import student.management.api_app.util.OffsetPageable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 import static student.management.api_app.repository.specification.StudentSpecifications.*;
 import static student.management.api_app.util.NormalizerUtil.*;
@@ -33,28 +69,41 @@ import static student.management.api_app.util.NormalizerUtil.*;
 @Service
 @RequiredArgsConstructor
 public class StudentService implements IStudentService {
+    // Student list chứa cả dữ liệu của people -> phụ thuộc version của 2 bảng
+    private static final String[] TABLES = {TableVersions.STUDENTS, TableVersions.PEOPLE};
+    private static final String SCOPE_ALL = "students.all";
+    private static final String SCOPE_SEARCH = "students.search";
+    // Message cố định -> dùng lại 1 instance (exception không có stack trace)
+    private static final BadRequestException PHONE_REQUIRED = new BadRequestException("Phone is required");
+
     private final StudentRepository studentRepo;
     private final PersonRepository personRepo;
     private final StudentMapper studentMapper;
+    private final SearchResultCache searchCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchCostGuard costGuard;
+    private final ChangeFeedRepository changeFeed;
+    private final OutboxWriter outbox;
+    private final BulkInsertRepository bulkInsert;
+    private final StudentCodeAllocator codeAllocator;
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${app.changes.max-size:5000}")
+    private int changesMaxSize;
+
     @Transactional(readOnly = true)
     @Override
-    public PageResponse<StudentListItemResponse> getAll(Pageable pageable) {
-        // Dùng findAll(Pageable pageable) của PagingAndSortingRepository
-        Page<Student> pageData = studentRepo.findAll(pageable);
-
-        Page<StudentListItemResponse> mappedPageData =
-                pageData.map(studentMapper::toListItemResponse);
-        return new PageResponse<>(mappedPageData);
+    public PageResponse<StudentListItemResponse> getAll(Pageable pageable, Set<String> fields) {
+        return searchCache.page(SCOPE_ALL, TABLES, null, pageable, fields,
+                () -> loadPage(SCOPE_ALL, null, Specification.unrestricted(), pageable, fields));
     }
 
     @Transactional(readOnly = true)
     @Override
     public PageResponse<StudentListItemResponse> search(
-            StudentSearchRequest req, Pageable pageable) {
+            StudentSearchRequest req, Pageable pageable, Set<String> fields) {
 
         PersonSearchRequest pReq = req.person(); // Lưu ý có thể là null
 
@@ -62,37 +111,59 @@ public class StudentService implements IStudentService {
         String phone = normalizePhone(pReq != null ? pReq.phone() : null);
         String email = normalizeEmail(pReq != null ? pReq.email() : null);
         String code = normalizeCode(req.studentCode());
+        // Filter tuổi -> range trên dob, "hôm nay" lấy 1 lần cho cả request
+        DobRange dob = pReq == null ? DobRange.ANY : DobRange.of(pReq.dobFrom(), pReq.dobTo(),
+                pReq.adult(), pReq.minAge(), pReq.maxAge(), LocalDate.now());
 
         Specification<Student> spec = Specification.<Student>unrestricted()
                 .and(personNameContains(name))
                 .and(personPhoneEquals(phone))
                 .and(personEmailContains(email))
-                .and(personDobGte(pReq != null ? pReq.dobFrom() : null))
-                .and(personDobLte(pReq != null ? pReq.dobTo() : null))
+                .and(personDobIn(dob))
                 .and(studentCodeContains(code))
                 .and(enrollmentYearGte(req.enrollmentYearFrom()))
                 .and(enrollmentYearLte(req.enrollmentYearTo()));
 
-        Page<Student> pageData = studentRepo.findAll(spec, pageable);
-
-        Page<StudentListItemResponse> mappedPageData =
-                pageData.map(studentMapper::toListItemResponse);
+        // Key cache: request sau khi normalize, dob đã quy đổi nên key tự đổi khi sang ngày mới
+        StudentSearchRequest criteria = new StudentSearchRequest(
+                new PersonSearchRequest(name, phone, email, null, dob.from(), dob.to(),
+                        dob.includeUnknown() ? Boolean.FALSE : null, null, null),
+                code, req.enrollmentYearFrom(), req.enrollmentYearTo());
+
+        Set<String> filters = new HashSet<>();
+        if (name != null) filters.add(SearchCostGuard.NAME);
+        if (phone != null) filters.add(SearchCostGuard.PHONE);
+        if (email != null) filters.add(SearchCostGuard.EMAIL);
+        if (dob.from() != null || dob.to() != null) filters.add(SearchCostGuard.DOB);
+        if (code != null) filters.add(SearchCostGuard.STUDENT_CODE);
+        if (req.enrollmentYearFrom() != null || req.enrollmentYearTo() != null) {
+            filters.add(SearchCostGuard.ENROLLMENT_YEAR);
+        }
+        SearchMode mode = costGuard.check(SCOPE_SEARCH, filters, pageable);
 
-        return new PageResponse<>(mappedPageData);
+        return searchCache.page(SCOPE_SEARCH, TABLES, criteria, pageable, fields,
+                () -> costGuard.withStatementTimeout(SCOPE_SEARCH, () -> mode == SearchMode.COUNT_FREE
+                        ? countFreePage(spec, pageable, fields)
+                        : loadPage(SCOPE_SEARCH, criteria, spec, pageable, fields)));
     }
 
     @Transactional(readOnly = true)
     @Override
     public PageResponse<StudentListItemResponse> listByEnrollmentYear(
-            Integer year, Pageable pageable) {
+            Integer year, Pageable pageable, Set<String> fields) {
         Page<StudentListItemResponse> emptyPage = Page.empty(pageable);
         if (year == null) return new PageResponse<>(emptyPage);
+        if (fields != null) {
+            Specification<Student> spec = enrollmentYearEquals(year);
+            return projectedPage(spec, pageable, fields, () -> studentRepo.count(spec));
+        }
 
         Page<Student> pageData = studentRepo.findByEnrollmentYear(year, pageable);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
         Page<StudentListItemResponse> mappedPageData =
-                pageData.map(studentMapper::toListItemResponse);
+                pageData.map(s -> studentMapper.toListItemResponse(s, adultCutoff));
 
-        return new PageResponse<>(mappedPageData);
+        return new PageResponse<>(mappedPageData, pageETag(pageData));
     }
 
     @Transactional(readOnly = true)
@@ -106,8 +177,7 @@ public class StudentService implements IStudentService {
     public StudentDetailResponse getById(UUID id) {
         return studentRepo.findById(id)
                 .map(studentMapper::toDetailResponse)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Student not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Student not found with id: " + id));
     }
 
     @Transactional(readOnly = true)
@@ -117,27 +187,57 @@ public class StudentService implements IStudentService {
         validateStudentCode(code);
         return studentRepo.findByStudentCode(code)
                 .map(studentMapper::toDetailResponse)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Student not found: " + studentCode));
+                .orElseThrow(() -> new NotFoundException("Student not found: " + studentCode));
     }
 
     @Transactional(readOnly = true)
     @Override
     public StudentDetailResponse getByPhone(String phone) {
         String normalized = normalizePhone(phone);
-        if (normalized == null) throw new ResponseStatusException(
-                HttpStatus.BAD_REQUEST, "Phone is required");
+        if (normalized == null) throw PHONE_REQUIRED;
         return studentRepo.findByPhone(normalized)
                 .map(studentMapper::toDetailResponse)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Student not found with phone: " + phone));
+                .orElseThrow(() -> new NotFoundException("Student not found with phone: " + phone));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETagById(UUID id) {
+        return studentRepo.findVersionById(id)
+                .map(v -> ETagUtil.of(v.id(), v.updatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETagByStudentCode(String studentCode) {
+        String code = normalizeCode(studentCode);
+        if (code == null) return Optional.empty();
+        return studentRepo.findVersionByStudentCode(code)
+                .map(v -> ETagUtil.of(v.id(), v.updatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETagByPhone(String phone) {
+        String normalized = normalizePhone(phone);
+        if (normalized == null) return Optional.empty();
+        return studentRepo.findVersionByPhone(normalized)
+                .map(v -> ETagUtil.of(v.id(), v.updatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ChangeFeedResponse<StudentDetailResponse> changes(String since, int size) {
+        ChangeFeeds.checkSize(size, changesMaxSize);
+        return ChangeFeeds.load(since, size, changeFeed::students, ids -> studentRepo.findWithPersonByIdIn(ids).stream()
+                .collect(Collectors.toMap(Student::getId, studentMapper::toDetailResponse)));
     }
 
     @Transactional
     @Override
     public StudentDetailResponse create(StudentCreateRequest req) {
         if (req.person() == null || req.student() == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "person and student are required");
+            throw new BadRequestException("person and student are required");
         }
 
         // Tạo person trước
@@ -162,16 +262,12 @@ public class StudentService implements IStudentService {
             personRepo.saveAndFlush(p);
             entityManager.refresh(p);
         } catch (DataIntegrityViolationException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Unique constraint violated in DB (Person)", e);
+            throw new ConflictException("Unique constraint violated in DB (Person)", e);
         }
 
         // Tạo student từ person vừa tạo này
         StudentCreateOnlyRequest sReq = req.student();
-        String studentCode = normalizeCode(sReq.studentCode());
-
-        validateStudentCode(studentCode);
-        checkExistedStudentCode(studentCode);
+        String studentCode = resolveStudentCode(sReq.studentCode(), sReq.enrollmentYear());
 
         Student s = Student.builder()
                 .person(p)
@@ -183,30 +279,123 @@ public class StudentService implements IStudentService {
             studentRepo.saveAndFlush(s);
             entityManager.refresh(s);
         } catch (DataIntegrityViolationException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Unique/FK constraint violated in DB (Student)", e);
+            throw new ConflictException("Unique/FK constraint violated in DB (Student)", e);
+        }
+
+        // Tạo cả person lẫn student: 2 event, consumer của persons không phải đọc event student
+        StudentDetailResponse created = studentMapper.toDetailResponse(s);
+        outbox.append(EntityType.PERSON, p.getId(), OutboxEventType.CREATED, created.personDetail());
+        outbox.append(EntityType.STUDENT, s.getId(), OutboxEventType.CREATED, created);
+        invalidationBus.publish(EntityType.PERSON, p.getId());
+        invalidationBus.publish(EntityType.STUDENT, s.getId());
+        return created;
+    }
+
+    /**
+     * Như {@link #create} cho cả lô: 1 INSERT people + 1 INSERT students + 1 commit.
+     * Trùng phone / student code (với DB hoặc trong lô) chỉ làm hỏng request đó. Trùng student code
+     * do request song song chen vào giữa pre-check và INSERT làm lỗi cả statement -> WriteCoalescer ghi lẻ lại.
+     */
+    @Transactional
+    @Override
+    public List<WriteOutcome<StudentDetailResponse>> createAll(List<StudentCreateRequest> reqs) {
+        List<WriteOutcome<StudentDetailResponse>> outcomes = new ArrayList<>(Collections.nCopies(reqs.size(), null));
+        List<NewPerson> personRows = new ArrayList<>(reqs.size());
+        List<String> codes = new ArrayList<>(reqs.size());
+        List<Integer> rowIndexes = new ArrayList<>(reqs.size());
+        Set<String> batchCodes = new HashSet<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            StudentCreateRequest req = reqs.get(i);
+            if (req.person() == null || req.student() == null) {
+                outcomes.set(i, WriteOutcome.failed(new BadRequestException("person and student are required")));
+                continue;
+            }
+            PersonCreateRequest pReq = req.person();
+            String fullName = trimToNull(pReq.fullName());
+            String studentCode = normalizeCode(req.student().studentCode());
+            if (studentCode == null && codeAllocator.isEnabled()) {
+                // Code do server cấp: duy nhất theo sequence, vẫn qua pre-check chung bên dưới
+                studentCode = codeAllocator.next(req.student().enrollmentYear());
+            }
+            if (fullName == null) {
+                outcomes.set(i, WriteOutcome.failed(new BadRequestException("Full name is required")));
+                continue;
+            }
+            if (studentCode == null) {
+                outcomes.set(i, WriteOutcome.failed(new BadRequestException("Student code is required")));
+                continue;
+            }
+            if (!batchCodes.add(studentCode)) {
+                outcomes.set(i, WriteOutcome.failed(studentCodeExisted(studentCode)));
+                continue;
+            }
+            personRows.add(new NewPerson(UUID.randomUUID(), fullName, pReq.dob(),
+                    normalizePhone(pReq.phone()), normalizeEmail(pReq.contactEmail()), trimToNull(pReq.address())));
+            codes.add(studentCode);
+            rowIndexes.add(i);
+        }
+
+        // Loại code đã có trong DB trước khi insert person (không tạo person mồ côi)
+        Set<String> existingCodes = bulkInsert.existingStudentCodes(batchCodes);
+        List<NewPerson> candidates = new ArrayList<>(personRows.size());
+        for (int r = 0; r < personRows.size(); r++) {
+            if (existingCodes.contains(codes.get(r))) {
+                outcomes.set(rowIndexes.get(r), WriteOutcome.failed(studentCodeExisted(codes.get(r))));
+            } else {
+                candidates.add(personRows.get(r));
+            }
         }
 
-        return studentMapper.toDetailResponse(s);
+        Set<UUID> insertedPeople = bulkInsert.insertPeopleIgnoringConflicts(candidates);
+        List<NewStudent> studentRows = new ArrayList<>(insertedPeople.size());
+        for (int r = 0; r < personRows.size(); r++) {
+            NewPerson row = personRows.get(r);
+            int i = rowIndexes.get(r);
+            if (outcomes.get(i) != null) continue;
+            if (!insertedPeople.contains(row.id())) {
+                outcomes.set(i, WriteOutcome.failed(new ConflictException("Phone " + row.phone() + " is existed")));
+                continue;
+            }
+            studentRows.add(new NewStudent(row.id(), codes.get(r), reqs.get(i).student().enrollmentYear()));
+        }
+        bulkInsert.insertStudents(studentRows);
+
+        Map<UUID, Student> loaded = studentRepo.findWithPersonByIdIn(insertedPeople).stream()
+                .collect(Collectors.toMap(Student::getId, st -> st));
+        Map<UUID, StudentDetailResponse> created = new LinkedHashMap<>();
+        for (int r = 0; r < personRows.size(); r++) {
+            int i = rowIndexes.get(r);
+            Student st = loaded.get(personRows.get(r).id());
+            if (outcomes.get(i) != null || st == null) continue;
+            StudentDetailResponse dto = studentMapper.toDetailResponse(st);
+            created.put(st.getId(), dto);
+            outcomes.set(i, WriteOutcome.ok(dto));
+        }
+
+        Map<UUID, Object> createdPeople = new LinkedHashMap<>();
+        created.forEach((id, dto) -> createdPeople.put(id, dto.personDetail()));
+        outbox.appendAll(EntityType.PERSON, OutboxEventType.CREATED, createdPeople);
+        outbox.appendAll(EntityType.STUDENT, OutboxEventType.CREATED, created);
+        invalidationBus.publishAll(EntityType.PERSON, created.keySet());
+        invalidationBus.publishAll(EntityType.STUDENT, created.keySet());
+        return outcomes;
     }
 
     @Transactional
     @Override
     public StudentDetailResponse createFromExistingPerson(StudentCreateFromPersonRequest req) {
         String studentCode = normalizeCode(req.studentCode());
-        if (req.personId() == null || studentCode == null) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Person ID and student code are required");
+        if (req.personId() == null || (studentCode == null && !codeAllocator.isEnabled())) {
+            throw new BadRequestException("Person ID and student code are required");
         }
 
         Person p = personRepo.findById(req.personId())
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Person not found with id: " + req.personId()));
+                .orElseThrow(() -> new NotFoundException("Person not found with id: " + req.personId()));
 
         // Kiểm tra student này đã là student thì chặn (vì 1-1) -> ném 409
         checkExistedIdInStudent(req.personId());
 
-        checkExistedStudentCode(studentCode);
+        studentCode = resolveStudentCode(studentCode, req.enrollmentYear());
 
         Student s = Student.builder()
                 .person(p)
@@ -218,27 +407,27 @@ public class StudentService implements IStudentService {
             studentRepo.saveAndFlush(s);
             entityManager.refresh(s);
         } catch (DataIntegrityViolationException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Unique/FK constraint violated in DB (Student)", e);
+            throw new ConflictException("Unique/FK constraint violated in DB (Student)", e);
         }
 
-        return studentMapper.toDetailResponse(s);
+        StudentDetailResponse created = studentMapper.toDetailResponse(s);
+        outbox.append(EntityType.STUDENT, s.getId(), OutboxEventType.CREATED, created);
+        invalidationBus.publish(EntityType.STUDENT, s.getId());
+        return created;
     }
 
     @Transactional
     @Override
     public StudentDetailResponse patch(UUID id, StudentPatchRequest req) {
-        Student s = studentRepo.findById(id).orElseThrow(() -> new ResponseStatusException(
-                HttpStatus.NOT_FOUND, "Student not found with id: " + id));
+        Student s = studentRepo.findById(id).orElseThrow(() -> new NotFoundException(
+                "Student not found with id: " + id));
 
         // PATCH studentCode (không được phép null)
         if (req.studentCode().isPresent()) {
             String raw = req.studentCode().orElse(null);
-            if (raw == null) throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Student code cannot be null");
+            if (raw == null) throw new BadRequestException("Student code cannot be null");
             String newCode = normalizeCode(raw);
-            if (newCode == null) throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Student code is required");
+            if (newCode == null) throw new BadRequestException("Student code is required");
             if (!newCode.equals(s.getStudentCode())) {
                 checkExistedStudentCode(newCode);
                 s.setStudentCode(newCode);
@@ -254,44 +443,123 @@ public class StudentService implements IStudentService {
             studentRepo.saveAndFlush(s);
             entityManager.refresh(s);
         } catch (DataIntegrityViolationException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Unique constraint violated in DB", e);
+            throw new ConflictException("Unique constraint violated in DB", e);
         }
 
-        return studentMapper.toDetailResponse(s);
+        StudentDetailResponse updated = studentMapper.toDetailResponse(s);
+        outbox.append(EntityType.STUDENT, s.getId(), OutboxEventType.UPDATED, updated);
+        invalidationBus.publish(EntityType.STUDENT, s.getId());
+        return updated;
     }
 
     @Transactional
     @Override
     public void deleteById(UUID id) {
-        Student s = studentRepo.findById(id).orElseThrow(() -> new ResponseStatusException(
-                HttpStatus.NOT_FOUND, "Student not found with id: " + id));
+        Student s = studentRepo.findById(id).orElseThrow(() -> new NotFoundException(
+                "Student not found with id: " + id));
         studentRepo.delete(s);
+        outbox.append(EntityType.STUDENT, id, OutboxEventType.DELETED, null);
+        invalidationBus.publish(EntityType.STUDENT, id);
     }
 
     // ===== Helpers =====
+    // Page content và count đi 2 đường riêng để count được cache dùng chung cho mọi trang
+    private PageResponse<StudentListItemResponse> loadPage(
+            String scope, Object criteria, Specification<Student> spec,
+            Pageable pageable, Set<String> fields) {
+        LongSupplier total = () -> searchCache.count(
+                scope, TABLES, criteria, () -> studentRepo.count(spec));
+        if (fields != null) return projectedPage(spec, pageable, fields, total);
+
+        Page<Student> pageData = PageableExecutionUtils.getPage(
+                studentRepo.findPageContent(spec, pageable), pageable, total);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        return new PageResponse<>(
+                pageData.map(s -> studentMapper.toListItemResponse(s, adultCutoff)), pageETag(pageData));
+    }
+
+    private PageResponse<StudentListItemResponse> projectedPage(
+            Specification<Student> spec, Pageable pageable, Set<String> fields, LongSupplier total) {
+        Page<Tuple> rows = PageableExecutionUtils.getPage(
+                studentRepo.findListItemTuples(spec, pageable, fields), pageable, total);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        return new PageResponse<>(
+                rows.map(t -> studentMapper.toListItemResponse(t, fields, adultCutoff)), tupleETag(rows));
+    }
+
+    // COUNT quá đắt: đọc dư 1 dòng để biết còn trang sau, không trả totalItems/totalPages
+    private PageResponse<StudentListItemResponse> countFreePage(
+            Specification<Student> spec, Pageable pageable, Set<String> fields) {
+        Pageable lookahead = OffsetPageable.lookahead(pageable);
+        LocalDate adultCutoff = AgeCalculator.adultCutoff();
+        if (fields != null) {
+            Slice<Tuple> rows = OffsetPageable.toSlice(
+                    studentRepo.findListItemTuples(spec, lookahead, fields), pageable);
+            return new PageResponse<>(
+                    rows.map(t -> studentMapper.toListItemResponse(t, fields, adultCutoff)), tupleETag(rows));
+        }
+
+        Slice<Student> sliceData = OffsetPageable.toSlice(studentRepo.findPageContent(spec, lookahead), pageable);
+        return new PageResponse<>(
+                sliceData.map(s -> studentMapper.toListItemResponse(s, adultCutoff)), pageETag(sliceData));
+    }
+
+    private static String tupleETag(Slice<Tuple> rows) {
+        return ETagUtil.ofPage(rows,
+                t -> t.get(ListItemColumns.ID, UUID.class),
+                t -> ETagUtil.latest(
+                        t.get(ListItemColumns.UPDATED_AT, Instant.class),
+                        // Không join people thì không có cột này
+                        hasAlias(t, ListItemColumns.PERSON_UPDATED_AT)
+                                ? t.get(ListItemColumns.PERSON_UPDATED_AT, Instant.class) : null));
+    }
+
+    private static boolean hasAlias(Tuple t, String alias) {
+        return t.getElements().stream().anyMatch(e -> alias.equals(e.getAlias()));
+    }
+
+    private String pageETag(Slice<Student> pageData) {
+        return ETagUtil.ofPage(pageData, Student::getId,
+                s -> ETagUtil.latest(s.getUpdatedAt(), s.getPerson().getUpdatedAt()));
+    }
+
     private void validateFullName(String fullName) {
-        if (fullName == null) throw new ResponseStatusException(
-                HttpStatus.BAD_REQUEST, "Full name is required");
+        if (fullName == null) throw new BadRequestException("Full name is required");
     }
 
     private void validateStudentCode(String studentCode) {
-        if (studentCode == null) throw new ResponseStatusException(
-                HttpStatus.BAD_REQUEST, "Student code is required");
+        if (studentCode == null) throw new BadRequestException("Student code is required");
+    }
+
+    /**
+     * Code client gửi: normalize + kiểm tra trùng như cũ.
+     * Không gửi và bật sinh code: lấy từ StudentCodeAllocator (trong bộ nhớ, duy nhất) -> không query kiểm tra trùng.
+     */
+    private String resolveStudentCode(String requested, Integer enrollmentYear) {
+        String studentCode = normalizeCode(requested);
+        if (studentCode == null && codeAllocator.isEnabled()) {
+            return codeAllocator.next(enrollmentYear);
+        }
+        validateStudentCode(studentCode);
+        checkExistedStudentCode(studentCode);
+        return studentCode;
     }
 
     private void checkExistedIdInStudent(UUID id) {
-        if (studentRepo.existsById(id)) throw new ResponseStatusException(
-                HttpStatus.CONFLICT, "This person is already a student: " + id);
+        if (studentRepo.existsById(id)) throw new ConflictException(
+                "This person is already a student: " + id);
     }
 
     private void checkExistedPhone(String phone) {
-        if (phone != null && personRepo.existsByPhone(phone)) throw new ResponseStatusException(
-                HttpStatus.CONFLICT, "Phone " + phone + " is existed");
+        if (phone != null && personRepo.existsByPhone(phone)) throw new ConflictException(
+                "Phone " + phone + " is existed");
     }
 
     private void checkExistedStudentCode(String studentCode) {
-        if (studentRepo.existsByStudentCode(studentCode)) throw new ResponseStatusException(
-                HttpStatus.CONFLICT, "Student code " + studentCode + " is existed");
+        if (studentRepo.existsByStudentCode(studentCode)) throw studentCodeExisted(studentCode);
+    }
+
+    private static ConflictException studentCodeExisted(String studentCode) {
+        return new ConflictException("Student code " + studentCode + " is existed");
     }
 }
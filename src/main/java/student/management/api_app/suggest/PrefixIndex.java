@@ -0,0 +1,102 @@
+package student.management.api_app.suggest;
+
+import student.management.api_app.dto.suggest.SuggestionResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index typeahead in-memory: base (segment lớn, dựng lúc start) + delta (các entry thay đổi sau đó).
+ * <ul>
+ *   <li>Đọc: không lock, đọc 1 snapshot; id đã có trong delta (sửa/xóa) bị bỏ qua ở base</li>
+ *   <li>Ghi: 1 writer (synchronized), dựng lại delta (nhỏ) mỗi lần; delta vượt {@code compactThreshold}
+ *       thì gộp vào base</li>
+ * </ul>
+ */
+public class PrefixIndex {
+    public record Entry(UUID id, String label, String detail) {}
+
+    private record Snapshot(PrefixSegment base, PrefixSegment delta,
+                            Map<UUID, Entry> deltaEntries, Set<UUID> shadowed) {}
+
+    private final int compactThreshold;
+    private final int maxScan;
+    private volatile Snapshot snapshot =
+            new Snapshot(PrefixSegment.EMPTY, PrefixSegment.EMPTY, Map.of(), Set.of());
+
+    /**
+     * @param maxScan số posting tối đa duyệt / segment / query (chặn query 1 ký tự khớp cả nửa index)
+     */
+    public PrefixIndex(int compactThreshold, int maxScan) {
+        this.compactThreshold = compactThreshold;
+        this.maxScan = maxScan;
+    }
+
+    public List<SuggestionResponse> search(String q, int limit) {
+        List<String> terms = SuggestText.queryTokens(q);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        Snapshot s = snapshot;
+        List<PrefixSegment.Hit> hits = new ArrayList<>(limit * 2);
+        s.delta().scan(terms, limit, maxScan, Set.of(), hits);
+        s.base().scan(terms, limit, maxScan, s.shadowed(), hits);
+        hits.sort(PrefixSegment.HIT_ORDER);
+
+        List<SuggestionResponse> out = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && out.size() < limit; i++) {
+            PrefixSegment.Hit h = hits.get(i);
+            out.add(new SuggestionResponse(h.id(), h.label(), h.detail()));
+        }
+        return out;
+    }
+
+    public synchronized void replaceAll(List<Entry> entries) {
+        snapshot = new Snapshot(PrefixSegment.build(entries), PrefixSegment.EMPTY, Map.of(), Set.of());
+    }
+
+    /**
+     * @param upserts entry mới / đã đổi label
+     * @param removed id đã xóa (hoặc không còn thuộc index, vd: student bị xóa nhưng person còn)
+     */
+    public synchronized void apply(Collection<Entry> upserts, Collection<UUID> removed) {
+        if (upserts.isEmpty() && removed.isEmpty()) return;
+        Snapshot s = snapshot;
+        Map<UUID, Entry> deltaEntries = new LinkedHashMap<>(s.deltaEntries());
+        Set<UUID> shadowed = new HashSet<>(s.shadowed());
+        for (UUID id : removed) {
+            deltaEntries.remove(id);
+            shadowed.add(id);
+        }
+        for (Entry e : upserts) {
+            deltaEntries.put(e.id(), e);
+            shadowed.add(e.id());
+        }
+
+        if (shadowed.size() > compactThreshold) {
+            List<Entry> merged = new ArrayList<>(s.base().size() + deltaEntries.size());
+            s.base().forEachEntry(shadowed, merged);
+            merged.addAll(deltaEntries.values());
+            snapshot = new Snapshot(PrefixSegment.build(merged), PrefixSegment.EMPTY, Map.of(), Set.of());
+            return;
+        }
+        snapshot = new Snapshot(s.base(), PrefixSegment.build(List.copyOf(deltaEntries.values())),
+                deltaEntries, shadowed);
+    }
+
+    // Xấp xỉ: entry đã xóa vẫn còn trong base tới lần compact
+    public int size() {
+        Snapshot s = snapshot;
+        return s.base().size() + s.delta().size();
+    }
+
+    public long estimatedBytes() {
+        Snapshot s = snapshot;
+        return s.base().estimatedBytes() + s.delta().estimatedBytes();
+    }
+}
@@ -0,0 +1,174 @@
+package student.management.api_app.suggest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Phần bất biến của {@link PrefixIndex}: mảng token đã sort + mảng posting song song (token i thuộc entry postings[i]).
+ * Tìm theo prefix = binary search lấy cận dưới rồi duyệt tiếp tới khi hết prefix -> O(log n + k).
+ * Entry lưu thành mảng cột (không 1 object / entry), token trùng dùng chung 1 String.
+ */
+final class PrefixSegment {
+    static final PrefixSegment EMPTY = build(List.of());
+
+    // Thứ tự kết quả: token khớp ngắn/gần prefix nhất trước, cùng token thì theo label
+    static final Comparator<Hit> HIT_ORDER = Comparator.comparing(Hit::token).thenComparing(Hit::label);
+
+    record Hit(String token, String label, String detail, UUID id) {}
+
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final String[] labels;
+    private final String[] details;
+    private final String[] tokens;
+    private final int[] postings;
+    // Token của entry i: entryTokens[entryTokenStart[i] .. entryTokenStart[i + 1]) (dùng chung String với tokens)
+    private final String[] entryTokens;
+    private final int[] entryTokenStart;
+    private final long estimatedBytes;
+
+    private PrefixSegment(long[] idHigh, long[] idLow, String[] labels, String[] details,
+                          String[] tokens, int[] postings, String[] entryTokens, int[] entryTokenStart,
+                          long estimatedBytes) {
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.labels = labels;
+        this.details = details;
+        this.tokens = tokens;
+        this.postings = postings;
+        this.entryTokens = entryTokens;
+        this.entryTokenStart = entryTokenStart;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    static PrefixSegment build(List<PrefixIndex.Entry> entries) {
+        int n = entries.size();
+        long[] idHigh = new long[n];
+        long[] idLow = new long[n];
+        String[] labels = new String[n];
+        String[] details = new String[n];
+
+        record Posting(String token, int entry) {}
+        List<Posting> list = new ArrayList<>(n * 3);
+        int[] entryTokenStart = new int[n + 1];
+        Map<String, String> pool = new HashMap<>();
+        long bytes = 0;
+        for (int i = 0; i < n; i++) {
+            PrefixIndex.Entry e = entries.get(i);
+            idHigh[i] = e.id().getMostSignificantBits();
+            idLow[i] = e.id().getLeastSignificantBits();
+            labels[i] = e.label();
+            details[i] = e.detail();
+            bytes += stringBytes(e.label()) + stringBytes(e.detail());
+            for (String t : SuggestText.tokens(e.label(), e.detail())) {
+                list.add(new Posting(pool.computeIfAbsent(t, k -> k), i));
+            }
+            entryTokenStart[i + 1] = list.size();
+        }
+        // Trước khi sort, list đang theo thứ tự entry
+        String[] entryTokens = new String[list.size()];
+        for (int i = 0; i < entryTokens.length; i++) entryTokens[i] = list.get(i).token();
+        list.sort(Comparator.comparing(Posting::token)
+                .thenComparing(p -> labels[p.entry()], Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        String[] tokens = new String[list.size()];
+        int[] postings = new int[list.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = list.get(i).token();
+            postings[i] = list.get(i).entry();
+        }
+        for (String t : pool.keySet()) bytes += stringBytes(t);
+        // Header mảng 16 byte, reference 4 byte (compressed oops)
+        bytes += 2 * (16 + 8L * n) + 2 * (16 + 4L * n) + (16 + 4L * (n + 1))
+                + 3 * (16 + 4L * tokens.length);
+        return new PrefixSegment(idHigh, idLow, labels, details, tokens, postings,
+                entryTokens, entryTokenStart, bytes);
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    // Dựng lại entry khi gộp delta vào base
+    void forEachEntry(Set<UUID> skip, List<PrefixIndex.Entry> out) {
+        for (int i = 0; i < labels.length; i++) {
+            UUID id = new UUID(idHigh[i], idLow[i]);
+            if (!skip.contains(id)) out.add(new PrefixIndex.Entry(id, labels[i], details[i]));
+        }
+    }
+
+    /**
+     * Thêm tối đa {@code limit} hit mà mỗi term là prefix của 1 token nào đó của entry.
+     * Duyệt theo term có ít posting nhất (đếm bằng 2 lần binary search), tối đa {@code maxScan} posting.
+     */
+    void scan(List<String> terms, int limit, int maxScan, Set<UUID> skip, List<Hit> out) {
+        String driving = null;
+        int from = 0;
+        int to = 0;
+        for (String term : terms) {
+            int lo = lowerBound(term);
+            int hi = lowerBound(term + Character.MAX_VALUE);
+            if (driving == null || hi - lo < to - from) {
+                driving = term;
+                from = lo;
+                to = hi;
+            }
+        }
+        if (driving == null || from == to) return;
+
+        int end = Math.min(to, from + maxScan);
+        int added = 0;
+        Set<Integer> seen = new HashSet<>();
+        for (int i = from; i < end && added < limit; i++) {
+            int e = postings[i];
+            // 1 entry có thể có nhiều token cùng prefix ("van", "vanan")
+            if (!seen.add(e)) continue;
+            if (terms.size() > 1 && !matchesAll(e, terms)) continue;
+            UUID id = new UUID(idHigh[e], idLow[e]);
+            if (skip.contains(id)) continue;
+            out.add(new Hit(tokens[i], labels[e], details[e], id));
+            added++;
+        }
+    }
+
+    private boolean matchesAll(int e, List<String> terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (int j = entryTokenStart[e]; j < entryTokenStart[e + 1] && !found; j++) {
+                found = entryTokens[j].startsWith(term);
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    // Vị trí đầu tiên có token >= prefix (token trùng nhiều lần nên không dùng Arrays.binarySearch)
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = tokens.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Ước lượng: header String + mảng byte (Latin-1 1 byte/ký tự, có dấu tiếng Việt -> UTF-16)
+    private static long stringBytes(String s) {
+        if (s == null) return 0;
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) latin1 = s.charAt(i) < 0x100;
+        return 24 + 16 + (long) s.length() * (latin1 ? 1 : 2);
+    }
+}
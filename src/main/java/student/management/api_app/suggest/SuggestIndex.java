@@ -0,0 +1,191 @@
+package student.management.api_app.suggest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import student.management.api_app.cache.EntityType;
+import student.management.api_app.cache.InvalidationEvent;
+import student.management.api_app.cache.LocalCacheEvictor;
+import student.management.api_app.dto.suggest.SuggestionResponse;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.exception.ServiceUnavailableException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GET /persons/suggest, /students/suggest: gợi ý theo prefix từ {@link PrefixIndex} in-memory thay vì LIKE '%x%'.
+ * <ul>
+ *   <li>Dựng từ DB lúc start (bước "app.suggest.build" trong /startup)</li>
+ *   <li>Ghi qua service -> CacheInvalidationBus (local sau commit + node khác qua NOTIFY) đánh dấu id,
+ *       mỗi {@code refresh-interval-ms} load lại các id đó theo lô rồi cập nhật index</li>
+ *   <li>flushAll (mất LISTEN, có thể lỡ event) -> dựng lại toàn bộ</li>
+ * </ul>
+ * Kích thước: gauge app.suggest.index.entries / app.suggest.index.bytes (tag index=persons|students).
+ */
+@Slf4j
+@Component
+public class SuggestIndex implements LocalCacheEvictor {
+    private static final int ID_CHUNK = 1_000;
+
+    private static final RowMapper<PrefixIndex.Entry> PERSON_ROW = (rs, i) -> new PrefixIndex.Entry(
+            rs.getObject("id", UUID.class), rs.getString("full_name"), null);
+    private static final RowMapper<PrefixIndex.Entry> STUDENT_ROW = (rs, i) -> new PrefixIndex.Entry(
+            rs.getObject("person_id", UUID.class), rs.getString("student_code"), rs.getString("full_name"));
+
+    private static final String PERSONS_SQL = "SELECT id, full_name FROM app.people";
+    private static final String STUDENTS_SQL = """
+            SELECT s.person_id, s.student_code, p.full_name
+            FROM app.students s JOIN app.people p ON p.id = s.person_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ApplicationStartup startup;
+    private final boolean enabled;
+    private final int maxLimit;
+    private final PrefixIndex persons;
+    private final PrefixIndex students;
+
+    private final Set<UUID> dirtyPersons = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirtyStudents = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public SuggestIndex(
+            NamedParameterJdbcTemplate jdbc,
+            ApplicationStartup startup,
+            MeterRegistry meterRegistry,
+            @Value("${app.suggest.enabled:true}") boolean enabled,
+            @Value("${app.suggest.max-limit:20}") int maxLimit,
+            @Value("${app.suggest.compact-threshold:5000}") int compactThreshold,
+            @Value("${app.suggest.max-scan:2000}") int maxScan) {
+        this.jdbc = jdbc;
+        this.startup = startup;
+        this.enabled = enabled;
+        this.maxLimit = maxLimit;
+        this.persons = new PrefixIndex(compactThreshold, maxScan);
+        this.students = new PrefixIndex(compactThreshold, maxScan);
+        registerGauges(meterRegistry, "persons", persons);
+        registerGauges(meterRegistry, "students", students);
+    }
+
+    public List<SuggestionResponse> suggestPersons(String q, int limit) {
+        return search(persons, q, limit);
+    }
+
+    public List<SuggestionResponse> suggestStudents(String q, int limit) {
+        return search(students, q, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) return;
+        StartupStep step = startup.start("app.suggest.build");
+        try {
+            rebuild();
+            step.tag("persons", String.valueOf(persons.size()));
+            step.tag("students", String.valueOf(students.size()));
+        } catch (RuntimeException e) {
+            // Không chặn app: endpoint trả 503, lần refresh sau dựng lại
+            log.warn("Could not build suggest index", e);
+            rebuildRequested.set(true);
+        } finally {
+            step.end();
+        }
+    }
+
+    @Override
+    public void evict(InvalidationEvent event) {
+        if (!enabled) return;
+        if (event.isFlushAll()) {
+            rebuildRequested.set(true);
+        } else if (event.type() == EntityType.PERSON) {
+            dirtyPersons.add(event.id());
+            dirtyStudents.add(event.id()); // student hiển thị full_name của person (cùng id)
+        } else if (event.type() == EntityType.STUDENT) {
+            dirtyStudents.add(event.id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval-ms:500}")
+    public synchronized void refresh() {
+        if (!enabled) return;
+        try {
+            if (rebuildRequested.getAndSet(false)) {
+                rebuild();
+                return;
+            }
+            if (!ready) return;
+            refresh(persons, dirtyPersons, "SELECT id, full_name FROM app.people WHERE id IN (:ids)", PERSON_ROW);
+            refresh(students, dirtyStudents, STUDENTS_SQL + " WHERE s.person_id IN (:ids)", STUDENT_ROW);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh suggest index, rebuilding on next run", e);
+            rebuildRequested.set(true);
+        }
+    }
+
+    private synchronized void rebuild() {
+        // Xóa dirty trước khi đọc: thay đổi commit trong lúc đọc vẫn được đánh dấu lại và áp dụng ở lần refresh sau
+        dirtyPersons.clear();
+        dirtyStudents.clear();
+        long start = System.nanoTime();
+        persons.replaceAll(jdbc.getJdbcTemplate().query(PERSONS_SQL, PERSON_ROW));
+        students.replaceAll(jdbc.getJdbcTemplate().query(STUDENTS_SQL, STUDENT_ROW));
+        ready = true;
+        log.info("Suggest index built in {} ms: persons={} (~{} KB), students={} (~{} KB)",
+                (System.nanoTime() - start) / 1_000_000,
+                persons.size(), persons.estimatedBytes() / 1024,
+                students.size(), students.estimatedBytes() / 1024);
+    }
+
+    private void refresh(PrefixIndex index, Set<UUID> dirty, String sql, RowMapper<PrefixIndex.Entry> mapper) {
+        if (dirty.isEmpty()) return;
+        List<UUID> ids = new ArrayList<>(dirty);
+        ids.forEach(dirty::remove);
+
+        List<PrefixIndex.Entry> found = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK));
+            found.addAll(jdbc.query(sql, Map.of("ids", chunk), mapper));
+        }
+        // Không còn trong DB (hoặc không còn là student) -> xóa khỏi index
+        Set<UUID> removed = new HashSet<>(ids);
+        found.forEach(e -> removed.remove(e.id()));
+        index.apply(found, removed);
+    }
+
+    private List<SuggestionResponse> search(PrefixIndex index, String q, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+        if (!enabled || !ready) {
+            throw new ServiceUnavailableException("Suggest index is not ready, retry later");
+        }
+        return index.search(q, limit);
+    }
+
+    private static void registerGauges(MeterRegistry registry, String name, PrefixIndex index) {
+        Gauge.builder("app.suggest.index.entries", index, PrefixIndex::size)
+                .tag("index", name)
+                .register(registry);
+        Gauge.builder("app.suggest.index.bytes", index, PrefixIndex::estimatedBytes)
+                .tag("index", name)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
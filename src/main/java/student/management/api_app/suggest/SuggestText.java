@@ -0,0 +1,85 @@
+package student.management.api_app.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Chuẩn hóa text cho typeahead: lowercase, bỏ dấu tiếng Việt (đ -> d), tách theo ký tự không phải chữ/số.
+ * "Nguyễn Văn-An" -> [nguyen, van, an, vanan]; "STU-2024-001" -> [stu, 2024, 001, stu2024001].
+ */
+public final class SuggestText {
+    private SuggestText() {}
+
+    public static String normalize(String s) {
+        if (s == null) return "";
+        if (isPlainAscii(s)) return s.toLowerCase(Locale.ROOT);
+
+        String decomposed = Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (c == 'đ' || c == 'Đ') c = 'd';
+            out.append(Character.toLowerCase(c));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Token (không trùng, giữ thứ tự) của các text. Cụm liền nhau có dấu ngăn cách ("van-an", "stu-2024")
+     * có thêm token ghép để gõ liền ("stu2024") vẫn khớp.
+     */
+    public static List<String> tokens(String... texts) {
+        return split(false, texts);
+    }
+
+    /**
+     * Token của chuỗi đang gõ: cụm có dấu ngăn cách chỉ lấy token ghép ("stu-2024" -> [stu2024]),
+     * khớp với token ghép của cả "STU-2024-001" lẫn "STU2024001".
+     */
+    public static List<String> queryTokens(String q) {
+        return split(true, q);
+    }
+
+    private static List<String> split(boolean joinedOnly, String... texts) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) continue;
+            String norm = normalize(text);
+            int i = 0;
+            int len = norm.length();
+            while (i < len) {
+                while (i < len && Character.isWhitespace(norm.charAt(i))) i++;
+                int chunkStart = i;
+                while (i < len && !Character.isWhitespace(norm.charAt(i))) i++;
+                addChunk(norm, chunkStart, i, joinedOnly, out);
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    private static void addChunk(String norm, int start, int end, boolean joinedOnly, Set<String> out) {
+        List<String> words = new ArrayList<>(4);
+        int i = start;
+        while (i < end) {
+            while (i < end && !Character.isLetterOrDigit(norm.charAt(i))) i++;
+            int wordStart = i;
+            while (i < end && Character.isLetterOrDigit(norm.charAt(i))) i++;
+            if (wordStart == i) continue;
+            words.add(norm.substring(wordStart, i));
+        }
+        if (words.size() == 1 || !joinedOnly) out.addAll(words);
+        if (words.size() > 1) out.add(String.join("", words));
+    }
+
+    private static boolean isPlainAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+}
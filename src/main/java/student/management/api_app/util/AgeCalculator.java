@@ -1,13 +1,44 @@
 package student.management.api_app.util;
 
 import java.time.LocalDate;
-import java.time.Period;
 
 public class AgeCalculator {
     private AgeCalculator() {}
 
+    public static final int ADULT_AGE = 18;
+
+    // Cutoff chỉ đổi khi sang ngày mới -> tính 1 lần/ngày, dùng chung mọi request
+    private record DailyCutoff(LocalDate today, LocalDate adult) {}
+
+    private static volatile DailyCutoff cached = new DailyCutoff(LocalDate.MIN, LocalDate.MIN);
+
     public static boolean isAdult(LocalDate dob) {
-        if (dob == null) return false;
-        return Period.between(dob, LocalDate.now()).getYears() >= 18;
+        return isAdult(dob, adultCutoff());
+    }
+
+    /**
+     * Đủ tuổi trưởng thành nếu sinh vào hoặc trước {@code adultCutoff} (= hôm nay - 18 năm).
+     * Tương đương {@code Period.between(dob, today).getYears() >= 18}, kể cả người sinh 29/02.
+     */
+    public static boolean isAdult(LocalDate dob, LocalDate adultCutoff) {
+        return dob != null && !dob.isAfter(adultCutoff);
+    }
+
+    public static LocalDate adultCutoff() {
+        return adultCutoff(LocalDate.now());
+    }
+
+    public static LocalDate adultCutoff(LocalDate today) {
+        DailyCutoff c = cached;
+        if (!c.today().equals(today)) {
+            c = new DailyCutoff(today, bornOnOrBefore(today, ADULT_AGE));
+            cached = c;
+        }
+        return c.adult();
+    }
+
+    // Ngày sinh muộn nhất để tròn {@code age} tuổi tính đến {@code today}
+    public static LocalDate bornOnOrBefore(LocalDate today, int age) {
+        return today.minusYears(age);
     }
 }
@@ -0,0 +1,39 @@
+package student.management.api_app.util;
+
+import student.management.api_app.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Watermark của change feed: (changedAt, id) của dòng cuối cùng đã trả về.
+ * Client coi như chuỗi opaque, gửi lại nguyên vẹn qua {@code ?since=}.
+ */
+public record ChangeCursor(Instant changedAt, UUID id) {
+
+    // Trước mọi dòng: since rỗng = đồng bộ từ đầu
+    public static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, new UUID(0, 0));
+
+    public static ChangeCursor parse(String since) {
+        if (since == null || since.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('_');
+            long micros = Long.parseLong(raw.substring(0, sep));
+            return new ChangeCursor(
+                    Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L),
+                    UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid change cursor: " + since, e);
+        }
+    }
+
+    // Postgres timestamptz chính xác tới micro giây
+    public String encode() {
+        long micros = Math.addExact(Math.multiplyExact(changedAt.getEpochSecond(), 1_000_000L), changedAt.getNano() / 1_000L);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((micros + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package student.management.api_app.util;
+
+import student.management.api_app.exception.BadRequestException;
+
+import java.time.LocalDate;
+
+/**
+ * Khoảng dob sau khi gộp dobFrom/dobTo với adult/minAge/maxAge (tính theo {@code today}).
+ * Dịch filter tuổi thành range trên cột dob để dùng được index, thay vì lọc sau khi phân trang.
+ *
+ * @param from           dob >= from (null = không giới hạn)
+ * @param to             dob <= to (null = không giới hạn)
+ * @param includeUnknown có lấy cả dòng dob IS NULL hay không (chỉ khi adult=false và không có điều kiện khác)
+ */
+public record DobRange(LocalDate from, LocalDate to, boolean includeUnknown) {
+
+    public static final DobRange ANY = new DobRange(null, null, false);
+
+    // Chặn trên cho minAge/maxAge: tránh tràn max + 1 và năm ngoài phạm vi LocalDate (-> 500)
+    public static final int MAX_AGE = 150;
+
+    public static DobRange of(LocalDate dobFrom, LocalDate dobTo,
+                              Boolean adult, Integer minAge, Integer maxAge, LocalDate today) {
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)) {
+            throw new BadRequestException("minAge/maxAge must not be negative");
+        }
+        if ((minAge != null && minAge > MAX_AGE) || (maxAge != null && maxAge > MAX_AGE)) {
+            throw new BadRequestException("minAge/maxAge must be <= " + MAX_AGE);
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new BadRequestException("minAge must be <= maxAge");
+        }
+
+        Integer min = minAge;
+        Integer max = maxAge;
+        if (Boolean.TRUE.equals(adult)) {
+            min = (min == null) ? AgeCalculator.ADULT_AGE : Math.max(min, AgeCalculator.ADULT_AGE);
+        } else if (Boolean.FALSE.equals(adult)) {
+            max = (max == null) ? AgeCalculator.ADULT_AGE - 1 : Math.min(max, AgeCalculator.ADULT_AGE - 1);
+        }
+
+        LocalDate from = dobFrom;
+        LocalDate to = dobTo;
+        // age >= min  <=>  dob <= today - min năm
+        if (min != null) to = earliest(to, AgeCalculator.bornOnOrBefore(today, min));
+        // age <= max  <=>  age < max + 1  <=>  dob > today - (max + 1) năm
+        if (max != null) from = latest(from, AgeCalculator.bornOnOrBefore(today, max + 1).plusDays(1));
+
+        // isAdult(null) = false nên "chưa trưởng thành" gồm cả dob không rõ, trừ khi đã lọc theo dob/tuổi cụ thể
+        boolean includeUnknown = Boolean.FALSE.equals(adult)
+                && dobFrom == null && dobTo == null && minAge == null && maxAge == null;
+        return new DobRange(from, to, includeUnknown);
+    }
+
+    private static LocalDate earliest(LocalDate a, LocalDate b) {
+        return (a == null || b.isBefore(a)) ? b : a;
+    }
+
+    private static LocalDate latest(LocalDate a, LocalDate b) {
+        return (a == null || b.isAfter(a)) ? b : a;
+    }
+}
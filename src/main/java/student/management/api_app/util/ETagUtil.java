@@ -0,0 +1,113 @@
+package student.management.api_app.util;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ETag yếu (W/"..."): JSON / Smile / CBOR của cùng dữ liệu tương đương về ngữ nghĩa nên dùng chung 1 tag,
+ * response kèm {@code Vary: Accept} để cache tách bản theo định dạng.
+ * {@code ?fields=} đổi nội dung -> trộn vào tag bằng {@link #withFields}.
+ */
+public class ETagUtil {
+    private ETagUtil() {}
+
+    private static final String WEAK_PREFIX = "W/\"";
+
+    // ETag cho 1 record: W/"<id>-<updated_at dạng micro giây hex>"
+    public static String of(UUID id, Instant updatedAt) {
+        return WEAK_PREFIX + id + "-" + Long.toHexString(toMicros(updatedAt)) + "\"";
+    }
+
+    // ETag cho 1 page: digest trên metadata của page + (id, updated_at) của từng item.
+    // Slice (không COUNT) dùng hasNext thay cho tổng số dòng
+    public static <E> String ofPage(Slice<E> page,
+                                    Function<E, UUID> idFn,
+                                    Function<E, Instant> updatedAtFn) {
+        StringBuilder sb = new StringBuilder(64 + page.getNumberOfElements() * 56)
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|')
+                .append(page instanceof Page<E> p ? String.valueOf(p.getTotalElements())
+                        : page.hasNext() ? "next" : "last").append('|')
+                .append(page.getSort());
+        for (E e : page.getContent()) {
+            sb.append('|').append(idFn.apply(e))
+                    .append(':').append(toMicros(updatedAtFn.apply(e)));
+        }
+        return WEAK_PREFIX + md5(sb.toString()) + "\"";
+    }
+
+    /**
+     * Gắn danh sách field của {@code ?fields=} (tách, bỏ trùng, sắp xếp) vào ETag:
+     * "id,fullName" và "fullName, id" cùng 1 tag, khác "id" hoặc không có param.
+     */
+    public static String withFields(String etag, String fields) {
+        Set<String> selected = FieldSelection.split(fields);
+        if (etag == null || selected == null) return etag;
+        String opaque = etag.substring(WEAK_PREFIX.length(), etag.length() - 1);
+        return WEAK_PREFIX + opaque + "-" + md5(String.join(",", new TreeSet<>(selected))).substring(0, 12) + "\"";
+    }
+
+    // Student detail/list phụ thuộc cả students và people -> lấy mốc mới nhất
+    public static Instant latest(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Chỉ khi client gửi If-None-Match mới gọi lookup (query hẹp lấy updated_at).
+     * Tag so sánh đã gắn {@code ?fields=} của request, giống tag controller trả ở response 200.
+     * Trả về true nếu ETag khớp: response đã được set 304, controller chỉ cần return null.
+     */
+    public static boolean isNotModified(WebRequest request, Supplier<Optional<String>> etagLookup) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) return false;
+        // Không khớp thì không đụng vào response, để ResponseEntity tự set ETag mới
+        boolean notModified = etagLookup.get()
+                .map(etag -> withFields(etag, request.getParameter(FieldSelection.PARAM)))
+                .filter(etag -> matches(ifNoneMatch, etag))
+                .map(request::checkNotModified)
+                .orElse(false);
+        if (notModified && request instanceof ServletWebRequest servletRequest
+                && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return notModified;
+    }
+
+    // So sánh yếu (RFC 9110 If-None-Match): bỏ W/ ở cả 2 phía
+    private static boolean matches(String ifNoneMatch, String etag) {
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || opaque(c).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String md5(String s) {
+        return DigestUtils.md5DigestAsHex(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long toMicros(Instant t) {
+        if (t == null) return 0L;
+        return t.getEpochSecond() * 1_000_000L + t.getNano() / 1_000;
+    }
+}
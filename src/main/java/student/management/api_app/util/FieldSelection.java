@@ -0,0 +1,82 @@
+package student.management.api_app.util;
+
+import student.management.api_app.exception.BadRequestException;
+
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parse query param {@code ?fields=id,studentCode} thành tập field của DTO.
+ * Trả về null nghĩa là lấy đủ field (hành vi mặc định).
+ */
+public class FieldSelection {
+    private FieldSelection() {}
+
+    public static final String PARAM = "fields";
+
+    // Filter id gắn trên DTO bằng @JsonFilter
+    public static final String FILTER_ID = "fieldSelection";
+    // PersonDetailResponse vừa là response độc lập, vừa nằm trong StudentDetailResponse.personDetail
+    public static final String PERSON_DETAIL_FILTER_ID = "personDetailFieldSelection";
+
+    public static Set<String> parse(String fields, Class<? extends Record> type) {
+        Set<String> result = split(fields);
+        if (result == null) return null;
+
+        Set<String> allowed = allowedFields(type);
+        for (String name : result) {
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name);
+            }
+        }
+        return result;
+    }
+
+    // Tách danh sách field, không validate
+    public static Set<String> split(String fields) {
+        String v = NormalizerUtil.trimToNull(fields);
+        if (v == null) return null;
+
+        Set<String> result = new LinkedHashSet<>();
+        for (String raw : v.split(",")) {
+            String name = raw.trim();
+            if (!name.isEmpty()) result.add(name);
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    // Field cấp 1 (bỏ phần sau dấu chấm): "personDetail.fullName" -> "personDetail"
+    public static Set<String> topLevel(Set<String> fields) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String f : fields) {
+            int dot = f.indexOf('.');
+            result.add(dot < 0 ? f : f.substring(0, dot));
+        }
+        return result;
+    }
+
+    // Field lồng bên trong prefix: prefix = "personDetail" -> {"fullName", ...}; rỗng = lấy hết
+    public static Set<String> nested(Set<String> fields, String prefix) {
+        Set<String> result = new LinkedHashSet<>();
+        String p = prefix + ".";
+        for (String f : fields) {
+            if (f.startsWith(p)) result.add(f.substring(p.length()));
+        }
+        return result;
+    }
+
+    // Hỗ trợ 1 cấp lồng cho component là record (vd: StudentDetailResponse.personDetail)
+    private static Set<String> allowedFields(Class<? extends Record> type) {
+        Set<String> result = new LinkedHashSet<>();
+        for (RecordComponent c : type.getRecordComponents()) {
+            result.add(c.getName());
+            if (c.getType().isRecord()) {
+                for (RecordComponent nc : c.getType().getRecordComponents()) {
+                    result.add(c.getName() + "." + nc.getName());
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -1,27 +1,147 @@
 package student.management.api_app.util;
 
+import java.util.Locale;
+
+/**
+ * Chuẩn hóa input một lượt duyệt, không regex, không phụ thuộc locale mặc định.
+ * Nếu input đã ở dạng chuẩn thì trả lại chính String đó (không cấp phát).
+ * Email / code chỉ tự đổi hoa-thường cho ASCII; gặp ký tự ngoài ASCII thì dùng
+ * {@code String.toLowerCase/toUpperCase(Locale.ROOT)} (vd 'ß' -> "SS", 'İ' -> "i" + U+0307) để key giống dữ liệu đã lưu.
+ */
 public class NormalizerUtil {
     private NormalizerUtil() {}
 
+    // Mã quốc gia mặc định khi số điện thoại bắt đầu bằng trunk prefix '0'
+    static final String DEFAULT_COUNTRY_CODE = "84";
+
     public static String trimToNull(String s) {
-        return (s == null || s.isBlank()) ? null : s.trim();
+        if (s == null) return null;
+        int start = start(s);
+        int end = end(s, start);
+        if (start == end) return null;
+        return slice(s, start, end);
+    }
+
+    private static String slice(String s, int start, int end) {
+        return (start == 0 && end == s.length()) ? s : s.substring(start, end);
     }
 
     public static String normalizeEmail(String s) {
-        String v = trimToNull(s);
-        return (v == null) ? null : v.toLowerCase();
+        if (s == null) return null;
+        int start = start(s);
+        int end = end(s, start);
+        if (start == end) return null;
+
+        int i = start;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) return slice(s, start, end).toLowerCase(Locale.ROOT);
+            if (c >= 'A' && c <= 'Z') break;
+        }
+        if (i == end) return slice(s, start, end);
+
+        char[] out = new char[end - start];
+        s.getChars(start, end, out, 0);
+        for (int j = i - start; j < out.length; j++) {
+            char c = out[j];
+            if (c >= 0x80) return slice(s, start, end).toLowerCase(Locale.ROOT);
+            if (c >= 'A' && c <= 'Z') out[j] = (char) (c | 0x20);
+        }
+        return new String(out);
+    }
+
+    public static String normalizeCode(String s) {
+        if (s == null) return null;
+        int start = start(s);
+        int end = end(s, start);
+        if (start == end) return null;
+
+        int i = start;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) return slice(s, start, end).toUpperCase(Locale.ROOT);
+            if (c >= 'a' && c <= 'z') break;
+        }
+        if (i == end) return slice(s, start, end);
+
+        char[] out = new char[end - start];
+        s.getChars(start, end, out, 0);
+        for (int j = i - start; j < out.length; j++) {
+            char c = out[j];
+            if (c >= 0x80) return slice(s, start, end).toUpperCase(Locale.ROOT);
+            if (c >= 'a' && c <= 'z') out[j] = (char) (c & ~0x20);
+        }
+        return new String(out);
     }
 
+    /**
+     * Chuẩn hóa về E.164: bỏ khoảng trắng và . - ( ), rồi
+     * <ul>
+     *   <li>{@code 0905 000 001} → {@code +84905000001} (trunk prefix 0 → mã quốc gia mặc định)</li>
+     *   <li>{@code 0084905000001} → {@code +84905000001}</li>
+     *   <li>{@code +84 905 000 001} → {@code +84905000001}</li>
+     * </ul>
+     * Chuỗi không bắt đầu bằng + hoặc 0 được giữ nguyên (chỉ bỏ dấu ngăn cách).
+     * Lookup và unique index trên people.phone đều dùng dạng này.
+     */
     public static String normalizePhone(String s) {
-        String v = trimToNull(s);
-        return (v == null)
-                ? null
-                // Loại bỏ khoảng trắng và dấu ngăn cách
-                : v.replaceAll("[\\s.\\-]", "");
+        if (s == null) return null;
+        if (isCanonicalPhone(s)) return s;
+        int start = start(s);
+        int end = end(s, start);
+        if (start == end) return null;
+
+        // Tối đa "+84" + (số ký tự - 1) nên buffer end - start + 2 là đủ
+        char[] out = new char[end - start + 2];
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (isPhoneSeparator(c)) continue;
+            if (n == 0 && c == '0') {
+                if (i + 1 < end && s.charAt(i + 1) == '0') {
+                    out[n++] = '+'; // 00 = international prefix
+                    i++;
+                } else {
+                    out[n++] = '+';
+                    out[n++] = DEFAULT_COUNTRY_CODE.charAt(0);
+                    out[n++] = DEFAULT_COUNTRY_CODE.charAt(1);
+                }
+                continue;
+            }
+            out[n++] = c;
+        }
+        return n == 0 ? null : new String(out, 0, n);
     }
 
-    public static String normalizeCode(String s) {
-        String v = trimToNull(s);
-        return v == null ? null : v.toUpperCase();
+    // Đã là E.164 (đường nhanh cho dữ liệu đọc từ DB / client gửi đúng chuẩn)
+    private static boolean isCanonicalPhone(String s) {
+        int len = s.length();
+        if (len < 2 || s.charAt(0) != '+') return false;
+        for (int i = 1; i < len; i++) {
+            if (isPhoneSeparator(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static int start(String s) {
+        int i = 0;
+        int len = s.length();
+        while (i < len && isSpace(s.charAt(i))) i++;
+        return i;
+    }
+
+    private static int end(String s, int start) {
+        int i = s.length();
+        while (i > start && isSpace(s.charAt(i - 1))) i--;
+        return i;
+    }
+
+    // Giống String.trim() + isBlank(): ký tự điều khiển ASCII và whitespace Unicode
+    private static boolean isSpace(char c) {
+        return c <= ' ' || (c >= 0x80 && Character.isWhitespace(c));
+    }
+
+    private static boolean isPhoneSeparator(char c) {
+        return isSpace(c) || c == '.' || c == '-' || c == '(' || c == ')';
     }
 }
@@ -0,0 +1,71 @@
+package student.management.api_app.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Pageable theo offset/limit tùy ý (PageRequest luôn có offset = page * size).
+ * Dùng để đọc thêm 1 dòng "nhìn trước" ở chế độ không COUNT: {@code lookahead(pageable)}.
+ */
+public record OffsetPageable(long offset, int limit, Sort sort) implements Pageable {
+
+    public static OffsetPageable lookahead(Pageable pageable) {
+        return new OffsetPageable(pageable.getOffset(), pageable.getPageSize() + 1, pageable.getSort());
+    }
+
+    // rows đọc bằng lookahead(pageable): dư 1 dòng nghĩa là còn trang sau
+    public static <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageable(offset + limit, limit, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageable(Math.max(0, offset - limit), limit, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageable(0, limit, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return PageRequest.of(pageNumber, limit, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,30 @@
+package student.management.api_app.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import student.management.api_app.exception.BadRequestException;
+
+import java.util.Set;
+
+/**
+ * Chỉ cho sort theo property có index tương ứng (V1.0.5), tránh top-N sort trên cả bảng.
+ * Thêm property mới vào đây thì phải thêm index và case trong SortIndexPlanTests.
+ */
+public class SortAllowlist {
+    private SortAllowlist() {}
+
+    public static final Set<String> PERSON = Set.of(
+            "createdAt", "updatedAt", "fullName", "dob");
+
+    public static final Set<String> STUDENT = Set.of(
+            "createdAt", "updatedAt", "studentCode", "enrollmentYear", "person.fullName");
+
+    public static void check(Pageable pageable, Set<String> allowed) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new BadRequestException("Unsupported sort property: " + order.getProperty()
+                        + " (allowed: " + String.join(", ", allowed.stream().sorted().toList()) + ")");
+            }
+        }
+    }
+}
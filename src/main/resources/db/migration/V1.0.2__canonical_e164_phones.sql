@@ -0,0 +1,56 @@
+SET search_path TO app;
+
+-- Đưa phone về dạng E.164 giống hệt NormalizerUtil.normalizePhone:
+--   ký tự ngăn cách = ký tự điều khiển ASCII / khoảng trắng (Character.isWhitespace) và . - ( )
+--   bỏ ngăn cách ở đầu; '00' (2 ký tự liền nhau, vd '0 0...' KHÔNG tính) -> '+', '0' -> '+84'
+--   rồi bỏ mọi ngăn cách còn lại; không còn gì -> NULL
+-- để lookup (đã normalize) và unique index trên people.phone so sánh cùng một dạng.
+CREATE TEMP TABLE phone_canonical ON COMMIT DROP AS
+WITH trimmed AS (
+    SELECT id, phone,
+           regexp_replace(phone, '^[\x01-\x20\u1680\u2000-\u2006\u2008-\u200A\u2028\u2029\u205F\u3000.()-]+', '') AS t
+    FROM people
+    WHERE phone IS NOT NULL
+), stripped AS (
+    SELECT id, phone, t,
+           regexp_replace(t, '[\x01-\x20\u1680\u2000-\u2006\u2008-\u200A\u2028\u2029\u205F\u3000.()-]', '', 'g') AS p
+    FROM trimmed
+)
+SELECT id,
+       phone,
+       NULLIF(CASE
+                  WHEN t LIKE '00%' THEN '+' || substr(p, 3)
+                  WHEN t LIKE '0%'  THEN '+84' || substr(p, 2)
+                  ELSE p
+              END, '') AS canonical
+FROM stripped;
+
+-- 2 dòng cùng về 1 số (vd '0912...' và '+84912...') sẽ vi phạm unique giữa chừng UPDATE.
+-- Không tự gộp (person có thể đang gắn với student / user khác nhau): dừng migration, liệt kê để xử lý tay.
+DO $$
+DECLARE
+    report TEXT;
+BEGIN
+    SELECT string_agg(format('%s <- %s', canonical, rows), E'\n' ORDER BY canonical)
+    INTO report
+    FROM (
+        SELECT canonical, string_agg(format('%s (%s)', id, phone), ', ' ORDER BY phone) AS rows
+        FROM phone_canonical
+        WHERE canonical IS NOT NULL
+        GROUP BY canonical
+        HAVING count(*) > 1
+    ) dup;
+
+    IF report IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot canonicalize people.phone: several people map to the same E.164 number'
+            USING DETAIL = report,
+                  HINT = 'Merge or clear the duplicated phones (people id listed), then re-run the migration.';
+    END IF;
+END
+$$;
+
+UPDATE people AS t
+SET phone = c.canonical
+FROM phone_canonical c
+WHERE t.id = c.id
+  AND t.phone IS DISTINCT FROM c.canonical;
@@ -0,0 +1,4 @@
+SET search_path TO app;
+
+-- Filter adult/minAge/maxAge/dobFrom/dobTo đều quy về range trên dob
+CREATE INDEX IF NOT EXISTS idx_people_dob ON people (dob);
@@ -0,0 +1,148 @@
+SET search_path TO app;
+
+-- =====================================================================
+-- students -> partitioned table theo enrollment_year (RANGE, mỗi năm 1 partition)
+--
+-- Postgres không cho UNIQUE/PK trên bảng partitioned nếu không chứa partition key,
+-- và enrollment_year nullable nên không thể đưa vào PK. Tính duy nhất toàn cục
+-- của person_id và student_code vì vậy được giữ bằng bảng student_keys
+-- (PK person_id, UNIQUE student_code) do trigger đồng bộ trong cùng transaction.
+-- =====================================================================
+
+ALTER TABLE students RENAME TO students_old;
+ALTER INDEX students_pkey RENAME TO students_old_pkey;
+ALTER INDEX students_student_code_key RENAME TO students_old_student_code_key;
+DROP TRIGGER IF EXISTS trg_students_updated_at ON students_old;
+
+CREATE TABLE students (
+    person_id UUID NOT NULL,
+    student_code VARCHAR(50) NOT NULL,
+    enrollment_year INT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_students_person FOREIGN KEY (person_id) REFERENCES people(id)
+) PARTITION BY RANGE (enrollment_year);
+
+-- NULL và năm chưa có partition rơi vào default
+CREATE TABLE students_default PARTITION OF students DEFAULT;
+
+-- Index local (tự tạo trên mọi partition, kể cả partition tạo sau)
+CREATE INDEX idx_students_person_id ON students (person_id);
+CREATE INDEX idx_students_student_code ON students (student_code);
+
+CREATE TRIGGER trg_students_updated_at
+BEFORE UPDATE ON students
+FOR EACH ROW
+EXECUTE FUNCTION set_updated_at();
+
+-- ---------- Unique toàn cục ----------
+CREATE TABLE student_keys (
+    person_id UUID PRIMARY KEY,
+    student_code VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE OR REPLACE FUNCTION sync_student_keys()
+RETURNS trigger AS $$
+BEGIN
+    -- Đang chuyển dòng giữa các partition (ensure_student_partition): key không đổi
+    IF current_setting('app.moving_student_partition', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO app.student_keys (person_id, student_code) VALUES (NEW.person_id, NEW.student_code);
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Chỉ UPDATE trong cùng 1 partition tới nhánh này. UPDATE đổi enrollment_year sang partition khác
+        -- được Postgres chạy thành DELETE ở partition nguồn rồi INSERT ở partition đích (AFTER DELETE rồi
+        -- AFTER INSERT, không có AFTER UPDATE): nhánh DELETE xóa key, nhánh INSERT thêm lại key của dòng mới
+        -- (kể cả khi đổi student_code cùng lúc), nên student_keys vẫn đúng.
+        IF NEW.person_id IS DISTINCT FROM OLD.person_id OR NEW.student_code IS DISTINCT FROM OLD.student_code THEN
+            UPDATE app.student_keys
+            SET person_id = NEW.person_id, student_code = NEW.student_code
+            WHERE person_id = OLD.person_id;
+        END IF;
+    ELSE
+        DELETE FROM app.student_keys WHERE person_id = OLD.person_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_students_sync_keys
+AFTER INSERT OR UPDATE OR DELETE ON students
+FOR EACH ROW
+EXECUTE FUNCTION sync_student_keys();
+
+-- ---------- Tạo partition tự động ----------
+-- SECURITY DEFINER: app_user không có quyền DDL, hàm chạy với quyền owner (flyway_user).
+-- Nếu default đang giữ dòng của năm đó thì chuyển sang partition mới trước khi ATTACH.
+CREATE OR REPLACE FUNCTION ensure_student_partition(p_year INT)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = app
+AS $$
+DECLARE
+    part_name TEXT := format('students_y%s', p_year);
+BEGIN
+    -- Nhiều node gọi cùng lúc: tuần tự hóa, node sau thấy partition đã có thì bỏ qua
+    PERFORM pg_advisory_xact_lock(hashtext('app.students.partitions'));
+
+    IF to_regclass(format('app.%I', part_name)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Chặn insert/update song song vào default trong lúc chuyển
+    LOCK TABLE students_default IN SHARE ROW EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE app.%I (LIKE app.students INCLUDING DEFAULTS)', part_name);
+
+    PERFORM set_config('app.moving_student_partition', 'on', true);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM app.students_default WHERE enrollment_year = %s RETURNING *) '
+            || 'INSERT INTO app.%I SELECT * FROM moved', p_year, part_name);
+    PERFORM set_config('app.moving_student_partition', 'off', true);
+
+    EXECUTE format('ALTER TABLE app.students ATTACH PARTITION app.%I FOR VALUES FROM (%s) TO (%s)',
+                   part_name, p_year, p_year + 1);
+    RETURN TRUE;
+END;
+$$;
+
+-- Tạo partition cho khoảng năm [p_from, p_to] + mọi năm đang nằm trong default. Trả về số partition mới.
+CREATE OR REPLACE FUNCTION ensure_student_partitions(p_from INT, p_to INT)
+RETURNS INT
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = app
+AS $$
+DECLARE
+    y INT;
+    created INT := 0;
+BEGIN
+    FOR y IN
+        SELECT g FROM generate_series(p_from, p_to) AS g
+        UNION
+        SELECT DISTINCT enrollment_year FROM students_default WHERE enrollment_year IS NOT NULL
+    LOOP
+        IF ensure_student_partition(y) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- ---------- Chuyển dữ liệu ----------
+INSERT INTO students (person_id, student_code, enrollment_year, created_at, updated_at)
+SELECT person_id, student_code, enrollment_year, created_at, updated_at
+FROM students_old;
+
+DROP TABLE students_old;
+
+-- Partition cho các năm đã có + vài năm tới; phần còn lại do app gọi định kỳ (StudentPartitionMaintainer)
+SELECT ensure_student_partitions(
+    LEAST(COALESCE((SELECT MIN(enrollment_year) FROM students), EXTRACT(YEAR FROM NOW())::INT),
+          EXTRACT(YEAR FROM NOW())::INT),
+    EXTRACT(YEAR FROM NOW())::INT + 1
+);
@@ -0,0 +1,19 @@
+SET search_path TO app;
+
+-- Index cho sort mặc định và các sort được phép (SortAllowlist).
+-- Trang đầu/giữa chỉ cần đọc index theo thứ tự + LIMIT thay vì top-N sort cả bảng.
+
+-- /persons: createdAt DESC; /persons/search, /persons/list-by-ids: createdAt DESC, fullName DESC
+CREATE INDEX IF NOT EXISTS idx_people_created_at_full_name ON people (created_at DESC, full_name DESC);
+CREATE INDEX IF NOT EXISTS idx_people_full_name ON people (full_name);
+CREATE INDEX IF NOT EXISTS idx_people_updated_at ON people (updated_at);
+-- dob: idx_people_dob (V1.0.3)
+
+-- students là partitioned table: index khai báo trên bảng cha được tạo trên từng partition
+-- (Merge Append các partition vẫn giữ thứ tự)
+-- /students/search: createdAt DESC (+ person.fullName DESC qua incremental sort sau join)
+CREATE INDEX IF NOT EXISTS idx_students_created_at ON students (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_students_updated_at ON students (updated_at);
+-- /students/by-year: enrollmentYear DESC (trong 1 partition thì created_at quyết định thứ tự)
+CREATE INDEX IF NOT EXISTS idx_students_enrollment_year_created_at ON students (enrollment_year DESC, created_at DESC);
+-- studentCode: idx_students_student_code (V1.0.4)
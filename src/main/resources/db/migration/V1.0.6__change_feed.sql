@@ -0,0 +1,86 @@
+SET search_path TO app;
+
+-- =====================================================================
+-- Change feed: GET /persons/changes, /students/changes
+-- Đọc theo keyset (updated_at, id) > (:ts, :id) ORDER BY updated_at, id.
+-- Dòng bị xóa để lại tombstone (bảng *_tombstones, ghi bằng trigger) -> downstream biết mà xóa.
+-- =====================================================================
+
+-- Index (updated_at, id) thay cho index chỉ có updated_at (V1.0.5): vẫn phục vụ sort updatedAt,
+-- đồng thời row comparison của keyset đi thẳng index, không cần sort
+CREATE INDEX IF NOT EXISTS idx_people_updated_at_id ON people (updated_at, id);
+DROP INDEX IF EXISTS idx_people_updated_at;
+
+CREATE INDEX IF NOT EXISTS idx_students_updated_at_person_id ON students (updated_at, person_id);
+DROP INDEX IF EXISTS idx_students_updated_at;
+
+-- ---------- Tombstones ----------
+CREATE TABLE people_tombstones (
+    id UUID PRIMARY KEY,
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+CREATE INDEX idx_people_tombstones_deleted_at_id ON people_tombstones (deleted_at, id);
+
+CREATE TABLE students_tombstones (
+    person_id UUID PRIMARY KEY,
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+CREATE INDEX idx_students_tombstones_deleted_at_person_id ON students_tombstones (deleted_at, person_id);
+
+CREATE OR REPLACE FUNCTION record_people_tombstone()
+RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO app.people_tombstones (id) VALUES (OLD.id)
+        ON CONFLICT (id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    ELSE
+        -- Tạo lại với cùng id: bản ghi sống thay cho tombstone
+        DELETE FROM app.people_tombstones WHERE id = NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_people_tombstone
+AFTER INSERT OR DELETE ON people
+FOR EACH ROW
+EXECUTE FUNCTION record_people_tombstone();
+
+CREATE OR REPLACE FUNCTION record_students_tombstone()
+RETURNS trigger AS $$
+BEGIN
+    -- Chuyển dòng giữa các partition (ensure_student_partition) không phải là xóa
+    IF current_setting('app.moving_student_partition', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO app.students_tombstones (person_id) VALUES (OLD.person_id)
+        ON CONFLICT (person_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    ELSE
+        DELETE FROM app.students_tombstones WHERE person_id = NEW.person_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_students_tombstone
+AFTER INSERT OR DELETE ON students
+FOR EACH ROW
+EXECUTE FUNCTION record_students_tombstone();
+
+-- ---------- Student "đổi" khi person của nó đổi ----------
+-- StudentDetailResponse chứa personDetail nên sửa person cũng là 1 thay đổi của student.
+-- Chạm students.updated_at (trg_students_updated_at đặt NOW()) để feed students chỉ cần keyset trên 1 bảng.
+CREATE OR REPLACE FUNCTION touch_student_of_person()
+RETURNS trigger AS $$
+BEGIN
+    UPDATE app.students SET updated_at = NOW() WHERE person_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_people_touch_student
+AFTER UPDATE ON people
+FOR EACH ROW
+EXECUTE FUNCTION touch_student_of_person();
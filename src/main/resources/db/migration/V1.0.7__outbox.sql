@@ -0,0 +1,25 @@
+SET search_path TO app;
+
+-- =====================================================================
+-- Transactional outbox: service ghi event trong cùng transaction với thay đổi dữ liệu.
+-- OutboxRelay gán stream_offset theo lô (FOR UPDATE SKIP LOCKED), SSE đọc theo stream_offset.
+--   id            : thứ tự ghi (cấp lúc INSERT, không phải thứ tự commit)
+--   stream_offset : thứ tự phát (cấp lúc relay, tăng đúng theo thứ tự commit) -> dùng để resume
+-- =====================================================================
+CREATE SEQUENCE outbox_stream_offset_seq;
+
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload JSONB,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    stream_offset BIGINT UNIQUE,
+    published_at TIMESTAMPTZ
+);
+
+-- Relay chỉ quét phần chưa phát (nhỏ), không phải cả lịch sử
+CREATE INDEX idx_outbox_pending ON outbox (id) WHERE stream_offset IS NULL;
+-- Dọn event đã phát quá hạn giữ lại
+CREATE INDEX idx_outbox_published_at ON outbox (published_at) WHERE published_at IS NOT NULL;
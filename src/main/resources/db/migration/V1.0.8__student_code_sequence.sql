@@ -0,0 +1,10 @@
+SET search_path TO app;
+
+-- =====================================================================
+-- Sequence cấp block cho student code do server sinh (StudentCodeAllocator):
+-- mỗi nextval giữ trước INCREMENT BY số liên tiếp [v, v + increment) cho 1 node,
+-- node cấp code từ bộ nhớ tới khi hết block. Nhiều node không bao giờ trùng block;
+-- block dở dang khi restart/rollback bị bỏ (code có lỗ, không trùng).
+-- Đổi kích thước block: ALTER SEQUENCE ... INCREMENT BY n (app đọc lại lúc start).
+-- =====================================================================
+CREATE SEQUENCE student_code_block_seq START WITH 1 INCREMENT BY 1000;
@@ -0,0 +1,19 @@
+package student.management.api_app.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Read API non-blocking (WebFlux + R2DBC) cho list/search, chạy tách khỏi app MVC.
+ * Chỉ scan package {@code reactive}; DTO, normalize, DobRange... dùng chung từ main.
+ * Cấu hình đọc từ {@code reactive.properties} (không lẫn datasource/JPA của app chính).
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
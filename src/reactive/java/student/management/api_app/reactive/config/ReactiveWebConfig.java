@@ -0,0 +1,33 @@
+package student.management.api_app.reactive.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Value("${app.reactive.max-stream-size:10000}")
+    private int maxStreamSize;
+
+    // Pageable/Sort + @PageableDefault giống app MVC.
+    // Resolver mặc định tự cắt size về 2000 -> nâng lên để ReadLimits trả 400 thay vì cắt ngầm
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactivePageableHandlerMethodArgumentResolver pageable = new ReactivePageableHandlerMethodArgumentResolver();
+        pageable.setMaxPageSize(maxStreamSize + 1);
+        configurer.addCustomResolver(pageable, new ReactiveSortHandlerMethodArgumentResolver());
+    }
+
+    // List item DTO có @JsonFilter (cho ?fields= bên MVC): ở đây luôn serialize đủ field
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,81 @@
+package student.management.api_app.reactive.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.person.PersonListItemResponse;
+import student.management.api_app.dto.person.PersonSearchRequest;
+import student.management.api_app.reactive.repository.PersonReadRepository;
+import student.management.api_app.reactive.repository.ReadFilters;
+import student.management.api_app.reactive.repository.SqlWhere;
+import student.management.api_app.util.FieldSelection;
+import student.management.api_app.util.SortAllowlist;
+
+import java.time.LocalDate;
+
+/**
+ * Cùng contract với PersonController (getAll/search):
+ * <ul>
+ *   <li>{@code Accept: application/json} -> {@code AppResponse<PageResponse<PersonListItemResponse>>}</li>
+ *   <li>{@code Accept: application/x-ndjson} -> mỗi dòng 1 PersonListItemResponse, stream theo back-pressure</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("${api.prefix}/persons")
+@RequiredArgsConstructor
+public class PersonReadController {
+    private final PersonReadRepository repo;
+    private final ReadLimits limits;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AppResponse<PageResponse<PersonListItemResponse>>> getAll(
+            @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        limits.checkPage(pageable, fields);
+        return page(new SqlWhere(), pageable);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonListItemResponse> streamAll(
+            @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        limits.checkStream(pageable);
+        return repo.find(new SqlWhere(), pageable);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AppResponse<PageResponse<PersonListItemResponse>>> search(
+            PersonSearchRequest req,
+            @PageableDefault(size = 5, sort = {"createdAt", "fullName"}, direction = Sort.Direction.DESC)
+            Pageable pageable,
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        limits.checkPage(pageable, fields);
+        return page(ReadFilters.person(req, LocalDate.now()), pageable);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonListItemResponse> streamSearch(
+            PersonSearchRequest req,
+            @PageableDefault(size = 5, sort = {"createdAt", "fullName"}, direction = Sort.Direction.DESC)
+            Pageable pageable) {
+        SortAllowlist.check(pageable, SortAllowlist.PERSON);
+        limits.checkStream(pageable);
+        return repo.find(ReadFilters.person(req, LocalDate.now()), pageable);
+    }
+
+    // Trang + tổng số dòng chạy song song trên 2 connection của pool
+    private Mono<AppResponse<PageResponse<PersonListItemResponse>>> page(SqlWhere where, Pageable pageable) {
+        return Mono.zip(repo.find(where, pageable).collectList(), repo.count(where))
+                .map(t -> AppResponse.success(new PageResponse<>(new PageImpl<>(t.getT1(), pageable, t.getT2()))));
+    }
+}
@@ -0,0 +1,30 @@
+package student.management.api_app.reactive.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.exception.AppException;
+
+// Cùng format lỗi với ApiExceptionHandler của app MVC
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(AppException.class)
+    public ResponseEntity<AppResponse<Void>> handleApp(AppException e, ServerHttpRequest request) {
+        return ResponseEntity.status(e.getStatus())
+                .body(AppResponse.error(e.getCode(), e.getMessage(), request.getPath().value()));
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<AppResponse<Void>> handleStatus(ResponseStatusException e, ServerHttpRequest request) {
+        HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+        String code = status != null ? status.name() : String.valueOf(e.getStatusCode().value());
+        return ResponseEntity.status(e.getStatusCode())
+                .headers(e.getHeaders())
+                .body(AppResponse.error(code, e.getReason(), request.getPath().value()));
+    }
+}
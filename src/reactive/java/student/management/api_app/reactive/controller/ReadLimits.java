@@ -0,0 +1,40 @@
+package student.management.api_app.reactive.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import student.management.api_app.exception.BadRequestException;
+import student.management.api_app.util.FieldSelection;
+
+/**
+ * Giới hạn size: JSON page gom cả trang trong bộ nhớ nên chặn như app MVC,
+ * NDJSON stream theo demand của client nên cho phép lớn hơn nhiều.
+ */
+@Component
+public class ReadLimits {
+    private final int maxPageSize;
+    private final int maxStreamSize;
+
+    public ReadLimits(@Value("${app.reactive.max-page-size:100}") int maxPageSize,
+                      @Value("${app.reactive.max-stream-size:10000}") int maxStreamSize) {
+        this.maxPageSize = maxPageSize;
+        this.maxStreamSize = maxStreamSize;
+    }
+
+    public void checkPage(Pageable pageable, String fields) {
+        check(pageable, maxPageSize);
+        if (fields != null) {
+            throw new BadRequestException("Parameter '" + FieldSelection.PARAM + "' is not supported by the reactive read API");
+        }
+    }
+
+    public void checkStream(Pageable pageable) {
+        check(pageable, maxStreamSize);
+    }
+
+    private static void check(Pageable pageable, int max) {
+        if (pageable.isPaged() && pageable.getPageSize() > max) {
+            throw new BadRequestException("Page size must be <= " + max);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package student.management.api_app.reactive.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import student.management.api_app.dto.AppResponse;
+import student.management.api_app.dto.page.PageResponse;
+import student.management.api_app.dto.student.StudentListItemResponse;
+import student.management.api_app.dto.student.StudentSearchRequest;
+import student.management.api_app.reactive.repository.StudentReadRepository;
+import student.management.api_app.reactive.repository.ReadFilters;
+import student.management.api_app.reactive.repository.SqlWhere;
+import student.management.api_app.util.FieldSelection;
+import student.management.api_app.util.SortAllowlist;
+
+import java.time.LocalDate;
+
+/**
+ * Cùng contract với StudentController (getAll/search):
+ * <ul>
+ *   <li>{@code Accept: application/json} -> {@code AppResponse<PageResponse<StudentListItemResponse>>}</li>
+ *   <li>{@code Accept: application/x-ndjson} -> mỗi dòng 1 StudentListItemResponse, stream theo back-pressure</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("${api.prefix}/students")
+@RequiredArgsConstructor
+public class StudentReadController {
+    private final StudentReadRepository repo;
+    private final ReadLimits limits;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AppResponse<PageResponse<StudentListItemResponse>>> getAll(
+            @PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        limits.checkPage(pageable, fields);
+        return page(new SqlWhere(), pageable);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentListItemResponse> streamAll(
+            @PageableDefault(size = 5) Pageable pageable) {
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        limits.checkStream(pageable);
+        return repo.find(new SqlWhere(), pageable);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AppResponse<PageResponse<StudentListItemResponse>>> search(
+            StudentSearchRequest req,
+            @PageableDefault(size = 5, sort = {"createdAt", "person.fullName"}, direction = Sort.Direction.DESC)
+            Pageable pageable,
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        limits.checkPage(pageable, fields);
+        return page(ReadFilters.student(req, LocalDate.now()), pageable);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentListItemResponse> streamSearch(
+            StudentSearchRequest req,
+            @PageableDefault(size = 5, sort = {"createdAt", "person.fullName"}, direction = Sort.Direction.DESC)
+            Pageable pageable) {
+        SortAllowlist.check(pageable, SortAllowlist.STUDENT);
+        limits.checkStream(pageable);
+        return repo.find(ReadFilters.student(req, LocalDate.now()), pageable);
+    }
+
+    // Xem PersonReadController#page
+    private Mono<AppResponse<PageResponse<StudentListItemResponse>>> page(SqlWhere where, Pageable pageable) {
+        return Mono.zip(repo.find(where, pageable).collectList(), repo.count(where))
+                .map(t -> AppResponse.success(new PageResponse<>(new PageImpl<>(t.getT1(), pageable, t.getT2()))));
+    }
+}
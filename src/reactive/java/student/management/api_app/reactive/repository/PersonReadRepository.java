@@ -0,0 +1,51 @@
+package student.management.api_app.reactive.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import student.management.api_app.dto.person.PersonListItemResponse;
+import student.management.api_app.util.AgeCalculator;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public class PersonReadRepository {
+    private static final String SELECT = "SELECT p.id, p.full_name, p.contact_email, p.dob FROM app.people p";
+    private static final String COUNT = "SELECT count(*) FROM app.people p";
+
+    private final DatabaseClient db;
+    private final int fetchSize;
+
+    public PersonReadRepository(DatabaseClient db, @Value("${app.reactive.fetch-size:256}") int fetchSize) {
+        this.db = db;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Dòng được đọc dần theo demand của subscriber (fetchSize dòng / lần),
+     * client chậm không làm server giữ cả kết quả trong bộ nhớ.
+     */
+    public Flux<PersonListItemResponse> find(SqlWhere where, Pageable pageable) {
+        String sql = SELECT + where.sql() + ReadFilters.orderBy(pageable.getSort(), ReadFilters.PERSON_SORT)
+                + (pageable.isPaged() ? " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset() : "");
+        LocalDate cutoff = AgeCalculator.adultCutoff();
+        return where.bindTo(db.sql(sql))
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, meta) -> new PersonListItemResponse(
+                        row.get("id", UUID.class),
+                        row.get("full_name", String.class),
+                        row.get("contact_email", String.class),
+                        AgeCalculator.isAdult(row.get("dob", LocalDate.class), cutoff)))
+                .all();
+    }
+
+    public Mono<Long> count(SqlWhere where) {
+        return where.bindTo(db.sql(COUNT + where.sql()))
+                .map((row, meta) -> row.get(0, Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,105 @@
+package student.management.api_app.reactive.repository;
+
+import org.springframework.data.domain.Sort;
+import student.management.api_app.dto.person.PersonSearchRequest;
+import student.management.api_app.dto.student.StudentSearchRequest;
+import student.management.api_app.repository.specification.SpecUtils;
+import student.management.api_app.util.DobRange;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static student.management.api_app.util.NormalizerUtil.*;
+
+/**
+ * Dịch search request sang SQL với đúng ngữ nghĩa của
+ * {@code PersonSpecifications} / {@code StudentSpecifications} (và normalize như PersonService / StudentService):
+ * <ul>
+ *   <li>name, address: {@code lower(col) LIKE %x%}</li>
+ *   <li>phone: bằng đúng dạng E.164</li>
+ *   <li>email: {@code contact_email LIKE %x%} (email lưu lowercase)</li>
+ *   <li>dob/adult/minAge/maxAge: gộp thành {@link DobRange}</li>
+ *   <li>studentCode: {@code lower(student_code) LIKE %x%}; enrollmentYearFrom/To: {@code >=} / {@code <=}</li>
+ * </ul>
+ * Alias cố định: {@code p} = app.people, {@code s} = app.students.
+ */
+public final class ReadFilters {
+    private ReadFilters() {}
+
+    // Property sort (đã qua SortAllowlist) -> cột, giống SearchCostGuard
+    static final Map<String, String> PERSON_SORT = Map.of(
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at",
+            "fullName", "p.full_name",
+            "dob", "p.dob");
+
+    static final Map<String, String> STUDENT_SORT = Map.of(
+            "createdAt", "s.created_at",
+            "updatedAt", "s.updated_at",
+            "studentCode", "s.student_code",
+            "enrollmentYear", "s.enrollment_year",
+            "person.fullName", "p.full_name");
+
+    public static SqlWhere person(PersonSearchRequest req, LocalDate today) {
+        SqlWhere where = new SqlWhere();
+        if (req != null) personPredicates(where, req, true, today);
+        return where;
+    }
+
+    public static SqlWhere student(StudentSearchRequest req, LocalDate today) {
+        SqlWhere where = new SqlWhere();
+        if (req == null) return where;
+        // StudentService không lọc theo address
+        if (req.person() != null) personPredicates(where, req.person(), false, today);
+
+        String code = normalizeCode(req.studentCode());
+        if (code != null) where.add("lower(s.student_code) LIKE :code", "code", SpecUtils.likePattern(code));
+        if (req.enrollmentYearFrom() != null) {
+            where.add("s.enrollment_year >= :yearFrom", "yearFrom", req.enrollmentYearFrom());
+        }
+        if (req.enrollmentYearTo() != null) {
+            where.add("s.enrollment_year <= :yearTo", "yearTo", req.enrollmentYearTo());
+        }
+        return where;
+    }
+
+    private static void personPredicates(SqlWhere where, PersonSearchRequest req,
+                                         boolean withAddress, LocalDate today) {
+        String name = trimToNull(req.name());
+        String phone = normalizePhone(req.phone());
+        String email = normalizeEmail(req.email());
+        String address = withAddress ? trimToNull(req.address()) : null;
+
+        if (name != null) where.add("lower(p.full_name) LIKE :name", "name", SpecUtils.likePattern(name));
+        if (phone != null) where.add("p.phone = :phone", "phone", phone);
+        if (email != null) where.add("p.contact_email LIKE :email", "email", SpecUtils.likePattern(email));
+        if (address != null) where.add("lower(p.address) LIKE :address", "address", SpecUtils.likePattern(address));
+
+        DobRange dob = DobRange.of(req.dobFrom(), req.dobTo(),
+                req.adult(), req.minAge(), req.maxAge(), today);
+        if (!dob.equals(DobRange.ANY)) where.add(dobPredicate(where, dob));
+    }
+
+    private static String dobPredicate(SqlWhere where, DobRange range) {
+        StringJoiner p = new StringJoiner(" AND ", "(", ")").setEmptyValue("TRUE");
+        if (range.from() != null) {
+            p.add("p.dob >= :dobFrom");
+            where.bind("dobFrom", range.from());
+        }
+        if (range.to() != null) {
+            p.add("p.dob <= :dobTo");
+            where.bind("dobTo", range.to());
+        }
+        return range.includeUnknown() ? "(p.dob IS NULL OR " + p + ")" : p.toString();
+    }
+
+    static String orderBy(Sort sort, Map<String, String> columns) {
+        if (sort.isUnsorted()) return "";
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order o : sort) {
+            orderBy.add(columns.get(o.getProperty()) + (o.isAscending() ? " ASC" : " DESC"));
+        }
+        return orderBy.toString();
+    }
+}
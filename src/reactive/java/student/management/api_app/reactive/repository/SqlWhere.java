@@ -0,0 +1,42 @@
+package student.management.api_app.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Mệnh đề WHERE + tham số bind có tên, dựng từ filter đã normalize.
+ * Không bao giờ nối giá trị vào SQL -> cùng shape filter thì cùng câu SQL (prepared statement cache của driver).
+ */
+public final class SqlWhere {
+    private final StringJoiner predicates = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+    private final Map<String, Object> binds = new LinkedHashMap<>();
+
+    public SqlWhere add(String predicate) {
+        predicates.add(predicate);
+        return this;
+    }
+
+    public SqlWhere add(String predicate, String name, Object value) {
+        return add(predicate).bind(name, value);
+    }
+
+    // Tham số cho predicate thêm sau bằng add(String) (vd: dob range nhiều tham số)
+    public SqlWhere bind(String name, Object value) {
+        binds.put(name, value);
+        return this;
+    }
+
+    public String sql() {
+        return predicates.toString();
+    }
+
+    public DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+        for (Map.Entry<String, Object> e : binds.entrySet()) {
+            spec = spec.bind(e.getKey(), e.getValue());
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,52 @@
+package student.management.api_app.reactive.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import student.management.api_app.dto.student.StudentListItemResponse;
+import student.management.api_app.util.AgeCalculator;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public class StudentReadRepository {
+    private static final String FROM = " FROM app.students s JOIN app.people p ON p.id = s.person_id";
+    private static final String SELECT = "SELECT s.person_id, s.student_code, s.enrollment_year, "
+            + "p.full_name, p.contact_email, p.dob" + FROM;
+    private static final String COUNT = "SELECT count(*)" + FROM;
+
+    private final DatabaseClient db;
+    private final int fetchSize;
+
+    public StudentReadRepository(DatabaseClient db, @Value("${app.reactive.fetch-size:256}") int fetchSize) {
+        this.db = db;
+        this.fetchSize = fetchSize;
+    }
+
+    // Xem PersonReadRepository#find
+    public Flux<StudentListItemResponse> find(SqlWhere where, Pageable pageable) {
+        String sql = SELECT + where.sql() + ReadFilters.orderBy(pageable.getSort(), ReadFilters.STUDENT_SORT)
+                + (pageable.isPaged() ? " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset() : "");
+        LocalDate cutoff = AgeCalculator.adultCutoff();
+        return where.bindTo(db.sql(sql))
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, meta) -> new StudentListItemResponse(
+                        row.get("person_id", UUID.class),
+                        row.get("student_code", String.class),
+                        row.get("enrollment_year", Integer.class),
+                        row.get("full_name", String.class),
+                        row.get("contact_email", String.class),
+                        AgeCalculator.isAdult(row.get("dob", LocalDate.class), cutoff)))
+                .all();
+    }
+
+    public Mono<Long> count(SqlWhere where) {
+        return where.bindTo(db.sql(COUNT + where.sql()))
+                .map((row, meta) -> row.get(0, Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,195 @@
+package student.management.api_app.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import student.management.api_app.dto.batch.BatchItemRequest;
+import student.management.api_app.dto.batch.BatchItemResponse;
+import student.management.api_app.exception.BadRequestException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sub-request gửi tới 1 HttpServer giả trên loopback (không cần Spring context / DB)
+class BatchExecutorTests {
+    static final String PREFIX = "/api/v1";
+
+    HttpServer server;
+    final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    final AtomicInteger concurrent = new AtomicInteger();
+    final AtomicInteger maxConcurrent = new AtomicInteger();
+    final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    // /api/v1/block/*: gửi header ngay (HttpClient hết tính timeout), báo entered rồi giữ body tới khi release
+    final Semaphore entered = new Semaphore(0);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        // /api/v1/sleep/{ms}: chờ ms rồi trả {"path": ...}
+        server.createContext(PREFIX + "/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        hits.computeIfAbsent(exchange.getRequestMethod() + " " + path, k -> new AtomicInteger()).incrementAndGet();
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            if (path.startsWith(PREFIX + "/sleep/")) {
+                Thread.sleep(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+            }
+            byte[] body = ("{\"path\":\"" + path + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            if (path.startsWith(PREFIX + "/block/")) {
+                entered.release();
+                release.await(30, TimeUnit.SECONDS);
+            }
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrent.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private BatchExecutor executor(Duration itemTimeout, int maxConcurrency, int maxInFlight) {
+        return new BatchExecutor(objectMapper, PREFIX, 50, maxConcurrency, itemTimeout, maxInFlight);
+    }
+
+    private List<BatchItemResponse> run(BatchExecutor executor, BatchItemRequest... items) {
+        return executor.execute(List.of(items), server.getAddress().getPort());
+    }
+
+    private static BatchItemRequest get(String path) {
+        return new BatchItemRequest("GET", path, null, null);
+    }
+
+    @Test
+    void resultsKeepRequestOrderWhenItemsFinishOutOfOrder() {
+        List<BatchItemResponse> results = run(executor(Duration.ofSeconds(5), 8, 64),
+                get(PREFIX + "/sleep/300"), get(PREFIX + "/sleep/10"), get(PREFIX + "/sleep/150"));
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+            assertEquals(200, results.get(i).status());
+        }
+        assertEquals(PREFIX + "/sleep/300", results.get(0).body().get("path").asText());
+        assertEquals(PREFIX + "/sleep/10", results.get(1).body().get("path").asText());
+        assertEquals(PREFIX + "/sleep/150", results.get(2).body().get("path").asText());
+    }
+
+    @Test
+    void identicalGetsRunOnceButEveryIndexGetsAResult() {
+        List<BatchItemResponse> results = run(executor(Duration.ofSeconds(5), 8, 64),
+                get(PREFIX + "/sleep/50"), get(PREFIX + "/other"), get(PREFIX + "/sleep/50"));
+
+        assertEquals(1, hits.get("GET " + PREFIX + "/sleep/50").get());
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchItemResponse::index).toList());
+        assertEquals(results.get(0).body(), results.get(2).body());
+    }
+
+    @Test
+    void getsWithDifferentHeadersAreNotDeduplicated() {
+        run(executor(Duration.ofSeconds(5), 8, 64),
+                new BatchItemRequest("GET", PREFIX + "/x", Map.of("Accept-Language", "vi"), null),
+                new BatchItemRequest("GET", PREFIX + "/x", Map.of("Accept-Language", "en"), null));
+
+        assertEquals(2, hits.get("GET " + PREFIX + "/x").get());
+    }
+
+    @Test
+    void nestedBatchIsRejected() {
+        BatchExecutor executor = executor(Duration.ofSeconds(5), 8, 64);
+
+        assertThrows(BadRequestException.class, () -> run(executor, get(PREFIX + "/batch")));
+        assertThrows(BadRequestException.class, () -> run(executor, get(PREFIX + "/batch?x=1")));
+        assertThrows(BadRequestException.class, () -> run(executor, get("/actuator/health")));
+        assertEquals(0, hits.size());
+    }
+
+    @Test
+    void slowItemTimesOutWith504WithoutFailingOthers() {
+        List<BatchItemResponse> results = run(executor(Duration.ofMillis(200), 8, 64),
+                get(PREFIX + "/sleep/2000"), get(PREFIX + "/fast"));
+
+        assertEquals(504, results.get(0).status());
+        assertEquals(200, results.get(1).status());
+    }
+
+    @Test
+    void processWideLimitCapsSubRequestsAcrossBatches() throws Exception {
+        BatchExecutor executor = executor(Duration.ofSeconds(20), 8, 2);
+        Thread[] batches = new Thread[3];
+        for (int b = 0; b < batches.length; b++) {
+            int batch = b;
+            batches[b] = Thread.ofVirtual().start(() -> run(executor,
+                    get(PREFIX + "/block/" + batch + "-0"), get(PREFIX + "/block/" + batch + "-1"),
+                    get(PREFIX + "/block/" + batch + "-2")));
+        }
+
+        // 2 sub-request giữ chỗ; 7 cái còn lại phải chờ semaphore, không tới được server
+        assertTrue(entered.tryAcquire(2, 10, TimeUnit.SECONDS));
+        assertFalse(entered.tryAcquire(1, 500, TimeUnit.MILLISECONDS));
+        assertEquals(2, hits.size());
+
+        release.countDown();
+        for (Thread t : batches) t.join();
+        assertEquals(9, hits.size());
+        assertEquals(2, maxConcurrent.get());
+    }
+
+    @Test
+    void itemGets503WhenProcessWideLimitStaysFullPastTimeout() throws Exception {
+        BatchExecutor executor = executor(Duration.ofMillis(300), 8, 1);
+        AtomicReference<List<BatchItemResponse>> held = new AtomicReference<>();
+        Thread holder = Thread.ofVirtual().start(() -> held.set(run(executor, get(PREFIX + "/block/holder"))));
+        // Server đã nhận request của holder -> holder đang giữ chỗ duy nhất, tới khi release
+        assertTrue(entered.tryAcquire(10, TimeUnit.SECONDS));
+
+        List<BatchItemResponse> results = run(executor, get(PREFIX + "/a"), get(PREFIX + "/b"));
+
+        assertEquals(List.of(0, 1), results.stream().map(BatchItemResponse::index).toList());
+        assertEquals(List.of(503, 503), results.stream().map(BatchItemResponse::status).toList());
+        assertNull(hits.get("GET " + PREFIX + "/a"));
+        assertNull(hits.get("GET " + PREFIX + "/b"));
+
+        // Holder xong thì chỗ được trả lại
+        release.countDown();
+        holder.join();
+        assertEquals(200, held.get().getFirst().status());
+        assertEquals(200, run(executor, get(PREFIX + "/a")).getFirst().status());
+    }
+}
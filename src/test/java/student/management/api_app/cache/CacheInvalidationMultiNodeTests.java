@@ -0,0 +1,111 @@
+package student.management.api_app.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import student.management.api_app.StudentManagementApiAppApplication;
+import student.management.api_app.dto.person.PersonCreateRequest;
+import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.service.IPersonService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 2 app context (2 "node") dùng chung Postgres local
+class CacheInvalidationMultiNodeTests {
+
+    @Test
+    void writeOnOneNodeInvalidatesCacheOnOtherNode() throws Exception {
+        try (ConfigurableApplicationContext nodeA = startNode();
+             ConfigurableApplicationContext nodeB = startNode()) {
+            IPersonService serviceA = nodeA.getBean(IPersonService.class);
+            TableVersions versionsB = nodeB.getBean(TableVersions.class);
+
+            long createVersion = versionsB.current(TableVersions.PEOPLE);
+            PersonDetailResponse created = serviceA.create(new PersonCreateRequest(
+                    "Multi Node " + UUID.randomUUID(), null, null, null, null));
+            assertTrue(awaitVersionAbove(versionsB, TableVersions.PEOPLE, createVersion),
+                    "node B did not receive the create event");
+
+            long deleteVersion = versionsB.current(TableVersions.PEOPLE);
+            serviceA.deleteById(created.id());
+            assertTrue(awaitVersionAbove(versionsB, TableVersions.PEOPLE, deleteVersion),
+                    "node B did not receive the delete event");
+        }
+    }
+
+    @Test
+    void listenerReconnectsFlushesAndReceivesAgainAfterBackendIsKilled() throws Exception {
+        String appName = "node-b-" + UUID.randomUUID();
+        try (ConfigurableApplicationContext nodeA = startNode();
+             ConfigurableApplicationContext nodeB = startNode(
+                     "--spring.datasource.url=" + nodeA.getEnvironment().getProperty("spring.datasource.url")
+                             + "?ApplicationName=" + appName)) {
+            IPersonService serviceA = nodeA.getBean(IPersonService.class);
+            TableVersions versionsB = nodeB.getBean(TableVersions.class);
+            JdbcTemplate jdbcB = nodeB.getBean(JdbcTemplate.class);
+
+            Integer listenerPid = awaitListenerPid(jdbcB, appName, null);
+            // Tạo sẵn counter cho cả 2 bảng: flushAll chỉ bump counter đã có
+            long people = versionsB.current(TableVersions.PEOPLE);
+            long students = versionsB.current(TableVersions.STUDENTS);
+
+            // Cùng role app_user nên không cần superuser để kill backend
+            assertEquals(Boolean.TRUE, jdbcB.queryForObject(
+                    "SELECT pg_terminate_backend(?)", Boolean.class, listenerPid));
+
+            // Reconnect -> flushAll: mọi bảng đều bump, không chỉ 1 entity type
+            assertTrue(awaitVersionAbove(versionsB, TableVersions.PEOPLE, people),
+                    "node B did not flush people after reconnect");
+            assertTrue(awaitVersionAbove(versionsB, TableVersions.STUDENTS, students),
+                    "node B did not flush students after reconnect");
+            assertNotEquals(listenerPid, awaitListenerPid(jdbcB, appName, listenerPid));
+
+            // Flush chạy sau LISTEN trên connection mới -> event từ node A phải tới được
+            long afterFlush = versionsB.current(TableVersions.PEOPLE);
+            PersonDetailResponse created = serviceA.create(new PersonCreateRequest(
+                    "Multi Node " + UUID.randomUUID(), null, null, null, null));
+            assertTrue(awaitVersionAbove(versionsB, TableVersions.PEOPLE, afterFlush),
+                    "node B did not receive events after reconnect");
+            serviceA.deleteById(created.id());
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String... args) {
+        String[] all = new String[args.length + 1];
+        all[0] = "--server.port=0";
+        System.arraycopy(args, 0, all, 1, args.length);
+        return new SpringApplicationBuilder(StudentManagementApiAppApplication.class).run(all);
+    }
+
+    private static boolean awaitVersionAbove(TableVersions versions, String table, long version)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (versions.current(table) > version) return true;
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    // Backend đang LISTEN của node (nhận diện qua application_name), khác {@code previousPid} nếu có
+    private static Integer awaitListenerPid(JdbcTemplate jdbc, String appName, Integer previousPid)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<Integer> pids = jdbc.queryForList("""
+                    SELECT pid FROM pg_stat_activity
+                    WHERE application_name = ? AND query LIKE 'LISTEN %'
+                    """, Integer.class, appName);
+            pids.remove(previousPid);
+            if (pids.size() == 1) return pids.getFirst();
+            Thread.sleep(50);
+        }
+        throw new AssertionError("no LISTEN backend for " + appName);
+    }
+}
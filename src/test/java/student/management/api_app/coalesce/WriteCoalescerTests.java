@@ -0,0 +1,127 @@
+package student.management.api_app.coalesce;
+
+import org.junit.jupiter.api.Test;
+import student.management.api_app.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Writer giả: request "dup-*" là trùng (409), còn lại ghi được -> kiểm tra kết quả trả đúng caller
+class WriteCoalescerTests {
+    static final int CALLERS = 24;
+
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    final AtomicInteger singleWrites = new AtomicInteger();
+
+    final Function<List<String>, List<WriteOutcome<String>>> batchWriter = reqs -> {
+        batchSizes.add(reqs.size());
+        List<WriteOutcome<String>> out = new ArrayList<>(reqs.size());
+        for (String r : reqs) {
+            out.add(r.startsWith("dup-") ? WriteOutcome.failed(conflict(r)) : WriteOutcome.ok("saved:" + r));
+        }
+        return out;
+    };
+
+    final Function<String, String> singleWriter = r -> {
+        singleWrites.incrementAndGet();
+        if (r.startsWith("dup-")) throw conflict(r);
+        return "single:" + r;
+    };
+
+    static ConflictException conflict(String r) {
+        return new ConflictException("Conflict " + r);
+    }
+
+    static String request(int i) {
+        return (i % 3 == 0 ? "dup-" : "ok-") + i;
+    }
+
+    @Test
+    void mixedBatchReturnsEachCallersOwnResultOrConflict() throws Exception {
+        try (WriteCoalescer<String, String> coalescer =
+                     new WriteCoalescer<>("test", batchWriter, singleWriter, 8, Duration.ofMillis(50), 2)) {
+            ConcurrentHashMap<Integer, Object> results = submitConcurrently(coalescer);
+
+            for (int i = 0; i < CALLERS; i++) {
+                String req = request(i);
+                if (req.startsWith("dup-")) {
+                    ConflictException e = assertInstanceOf(ConflictException.class, results.get(i));
+                    assertEquals("Conflict " + req, e.getMessage());
+                } else {
+                    assertEquals("saved:" + req, results.get(i));
+                }
+            }
+        }
+        assertEquals(CALLERS, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < CALLERS, "requests were not coalesced: " + batchSizes);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 8), "batch over max-batch: " + batchSizes);
+        assertEquals(0, singleWrites.get());
+    }
+
+    @Test
+    void failedBatchFallsBackToSingleWritesPerCaller() throws Exception {
+        Function<List<String>, List<WriteOutcome<String>>> failing = reqs -> {
+            batchSizes.add(reqs.size());
+            throw new IllegalStateException("transaction rolled back");
+        };
+        try (WriteCoalescer<String, String> coalescer =
+                     new WriteCoalescer<>("test", failing, singleWriter, 8, Duration.ofMillis(50), 2)) {
+            ConcurrentHashMap<Integer, Object> results = submitConcurrently(coalescer);
+
+            for (int i = 0; i < CALLERS; i++) {
+                String req = request(i);
+                if (req.startsWith("dup-")) {
+                    assertEquals("Conflict " + req,
+                            assertInstanceOf(ConflictException.class, results.get(i)).getMessage());
+                } else {
+                    assertEquals("single:" + req, results.get(i));
+                }
+            }
+        }
+        assertEquals(CALLERS, singleWrites.get());
+    }
+
+    @Test
+    void singleRequestIsWrittenAfterMaxWait() {
+        try (WriteCoalescer<String, String> coalescer =
+                     new WriteCoalescer<>("test", batchWriter, singleWriter, 8, Duration.ofMillis(5), 1)) {
+            assertEquals("saved:ok-1", coalescer.submit("ok-1"));
+        }
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    // index caller -> giá trị trả về hoặc exception caller đó nhận
+    private static ConcurrentHashMap<Integer, Object> submitConcurrently(WriteCoalescer<String, String> coalescer)
+            throws InterruptedException {
+        ConcurrentHashMap<Integer, Object> results = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            int index = i;
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    results.put(index, coalescer.submit(request(index)));
+                } catch (RuntimeException e) {
+                    results.put(index, e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread t : callers) t.join();
+        assertEquals(CALLERS, results.size());
+        return results;
+    }
+}
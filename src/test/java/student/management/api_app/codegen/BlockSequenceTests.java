@@ -0,0 +1,99 @@
+package student.management.api_app.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlockSequenceTests {
+
+    // Giả lập sequence INCREMENT BY size: mỗi lần reserve trả block kế tiếp
+    static final class FakeSequence {
+        final AtomicLong nextStart = new AtomicLong(1);
+        final AtomicInteger reserves = new AtomicInteger();
+        final long size;
+
+        FakeSequence(long size) {
+            this.size = size;
+        }
+
+        BlockSequence.Range reserve() {
+            reserves.incrementAndGet();
+            return new BlockSequence.Range(nextStart.getAndAdd(size), size);
+        }
+    }
+
+    @Test
+    void valuesAreConsecutiveWithinAndAcrossBlocks() {
+        FakeSequence seq = new FakeSequence(3);
+        BlockSequence sequence = new BlockSequence(seq::reserve);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 7; i++) values.add(sequence.next());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), values);
+        assertEquals(3, seq.reserves.get());
+    }
+
+    @Test
+    void blocksDoNotHaveToBeContiguous() {
+        long[] starts = {100, 500};
+        AtomicInteger call = new AtomicInteger();
+        BlockSequence sequence = new BlockSequence(
+                () -> new BlockSequence.Range(starts[call.getAndIncrement()], 2));
+
+        assertEquals(List.of(100L, 101L, 500L, 501L),
+                List.of(sequence.next(), sequence.next(), sequence.next(), sequence.next()));
+    }
+
+    @Test
+    void concurrentCallersGetUniqueValuesAcrossBlockBoundaries() throws Exception {
+        int threads = 16;
+        int perThread = 5_000;
+        FakeSequence seq = new FakeSequence(7); // block nhỏ -> rất nhiều lần chuyển block khi đang tranh chấp
+        BlockSequence sequence = new BlockSequence(seq::reserve);
+
+        List<long[]> results = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] out = new long[perThread];
+            results.add(out);
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) out[i] = sequence.next();
+            }));
+        }
+        start.countDown();
+        for (Thread w : workers) w.join();
+
+        Set<Long> all = new HashSet<>();
+        for (long[] out : results) {
+            for (long v : out) all.add(v);
+        }
+        int total = threads * perThread;
+        assertEquals(total, all.size(), "duplicate values handed out");
+        // Mỗi block được dùng hết trước khi giữ block mới: không bỏ sót số nào ngoài phần dư của block cuối
+        assertEquals((total + seq.size - 1) / seq.size, seq.reserves.get());
+    }
+
+    @Test
+    void emptyReservedBlockFails() {
+        BlockSequence sequence = new BlockSequence(() -> new BlockSequence.Range(1, 0));
+
+        assertThrows(IllegalStateException.class, sequence::next);
+    }
+}
@@ -0,0 +1,59 @@
+package student.management.api_app.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentCodePatternTests {
+
+    @Test
+    void formatsYearAndPaddedSequence() {
+        StudentCodePattern p = StudentCodePattern.parse("STU{year}{seq:6}");
+
+        assertEquals("STU2024000123", p.format(2024, 123));
+        assertEquals("STU20241234567", p.format(2024, 1_234_567)); // vượt độ rộng: không cắt
+        assertEquals("STU{year}{seq:6}", p.toString());
+    }
+
+    @Test
+    void formatsShortYearAndUnpaddedSequence() {
+        assertEquals("K05-7", StudentCodePattern.parse("K{yy}-{seq}").format(2005, 7));
+        assertEquals("24K42", StudentCodePattern.parse("{yy}K{seq}").format(2024, 42));
+    }
+
+    @Test
+    void patternWithoutSeqIsRejected() {
+        assertMessage("must contain {seq}", () -> StudentCodePattern.parse("STU{year}"));
+    }
+
+    @Test
+    void nonNormalizedLiteralIsRejected() {
+        assertMessage("literals must be upper case without spaces", () -> StudentCodePattern.parse("stu{seq}"));
+        assertMessage("literals must be upper case without spaces", () -> StudentCodePattern.parse(" STU{seq}"));
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertMessage("Unknown token {month}", () -> StudentCodePattern.parse("STU{month}{seq}"));
+        assertMessage("Unknown token {seqs}", () -> StudentCodePattern.parse("STU{seqs}"));
+    }
+
+    @Test
+    void unclosedBraceIsRejected() {
+        assertMessage("Unclosed '{'", () -> StudentCodePattern.parse("STU{seq"));
+    }
+
+    @Test
+    void invalidSequenceWidthIsRejected() {
+        assertMessage("Invalid width in {seq:x}", () -> StudentCodePattern.parse("STU{seq:x}"));
+        assertMessage("Invalid width in {seq:0}", () -> StudentCodePattern.parse("STU{seq:0}"));
+        assertMessage("Invalid width in {seq:19}", () -> StudentCodePattern.parse("STU{seq:19}"));
+    }
+
+    private static void assertMessage(String expected, Runnable parse) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, parse::run);
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+}
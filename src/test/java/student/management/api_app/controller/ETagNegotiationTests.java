@@ -0,0 +1,99 @@
+package student.management.api_app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag phải phân biệt ?fields= và đi kèm Vary: Accept (JSON / Smile / CBOR dùng chung weak ETag)
+@SpringBootTest(properties = "app.cache.search.ttl=0s")
+@AutoConfigureMockMvc
+class ETagNegotiationTests {
+    static final String JSON = "application/json";
+    static final String CBOR = "application/cbor";
+
+    @Value("${api.prefix}")
+    String apiPrefix;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private String personUri() {
+        UUID id = jdbcTemplate.queryForObject("SELECT id FROM app.people ORDER BY id LIMIT 1", UUID.class);
+        return apiPrefix + "/persons/" + id;
+    }
+
+    private MvcResult fetch(String uri, String accept, String ifNoneMatch) throws Exception {
+        var request = get(uri).header(HttpHeaders.ACCEPT, accept);
+        if (ifNoneMatch != null) request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return mockMvc.perform(request).andReturn();
+    }
+
+    @Test
+    void detailETagIsWeakAndVariesByAccept() throws Exception {
+        String uri = personUri();
+        MvcResult json = fetch(uri, JSON, null);
+        MvcResult cbor = fetch(uri, CBOR, null);
+
+        assertEquals(200, json.getResponse().getStatus());
+        assertTrue(cbor.getResponse().getContentType().startsWith(CBOR));
+        String etag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""), etag);
+        assertEquals(etag, cbor.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT, json.getResponse().getHeader(HttpHeaders.VARY));
+
+        MvcResult notModified = fetch(uri, CBOR, etag);
+        assertEquals(304, notModified.getResponse().getStatus());
+        assertEquals(HttpHeaders.ACCEPT, notModified.getResponse().getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void detailETagDependsOnNormalizedFieldSelection() throws Exception {
+        String uri = personUri();
+        String full = fetch(uri, JSON, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String idName = fetch(uri + "?fields=id,fullName", JSON, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String nameId = fetch(uri + "?fields=fullName,id,id", JSON, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String idOnly = fetch(uri + "?fields=id", JSON, null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(full, idName);
+        assertNotEquals(idName, idOnly);
+        assertEquals(idName, nameId);
+
+        // ETag của bản đầy đủ không làm bản ?fields= trả 304 và ngược lại
+        assertEquals(200, fetch(uri + "?fields=id", JSON, full).getResponse().getStatus());
+        assertEquals(200, fetch(uri, JSON, idOnly).getResponse().getStatus());
+        assertEquals(304, fetch(uri + "?fields=id", JSON, idOnly).getResponse().getStatus());
+    }
+
+    @Test
+    void pageETagDependsOnFieldSelectionAndVariesByAccept() throws Exception {
+        String uri = apiPrefix + "/persons?size=5";
+        MvcResult full = fetch(uri, JSON, null);
+        String fullTag = full.getResponse().getHeader(HttpHeaders.ETAG);
+        String projectedTag = fetch(uri + "&fields=id,fullName", JSON, null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(fullTag, projectedTag);
+        assertEquals(fullTag, fetch(uri, CBOR, null).getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, fullTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        assertEquals(200, fetch(uri + "&fields=id,fullName", JSON, fullTag).getResponse().getStatus());
+    }
+}
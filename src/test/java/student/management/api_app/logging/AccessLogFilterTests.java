@@ -0,0 +1,98 @@
+package student.management.api_app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Đếm event thật trên logger app.access (ListAppender gắn tạm), không cần Spring context
+class AccessLogFilterTests {
+    static final int REQUESTS = 20_000;
+
+    Logger access;
+    Level previousLevel;
+    ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void attachAppender() {
+        access = (Logger) LoggerFactory.getLogger(LogKeys.ACCESS_LOGGER);
+        previousLevel = access.getLevel();
+        access.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.setContext(access.getLoggerContext());
+        appender.start();
+        access.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        access.detachAppender(appender);
+        access.setLevel(previousLevel);
+    }
+
+    private int run(AccessLogFilter filter, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/students/123");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/students/{id}");
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        return appender.list.size();
+    }
+
+    @Test
+    void configuredRateIsApplied() throws Exception {
+        int kept = run(new AccessLogFilter(0.1), REQUESTS);
+
+        // Kỳ vọng 2000, độ lệch chuẩn ~42: khoảng ±10 sigma vẫn loại được trường hợp không lấy mẫu
+        assertTrue(kept > 1_600 && kept < 2_400, "kept " + kept + " of " + REQUESTS);
+    }
+
+    @Test
+    void rateOneKeepsEveryRequestAndRateZeroNone() throws Exception {
+        assertEquals(1_000, run(new AccessLogFilter(1.0), 1_000));
+        appender.list.clear();
+        assertEquals(0, run(new AccessLogFilter(0.0), 1_000));
+    }
+
+    @Test
+    void outOfRangeRatesAreClamped() throws Exception {
+        assertEquals(500, run(new AccessLogFilter(5.0), 500));
+        appender.list.clear();
+        assertEquals(0, run(new AccessLogFilter(-1.0), 500));
+    }
+
+    @Test
+    void eventUsesEndpointPatternNotRealUri() throws Exception {
+        run(new AccessLogFilter(1.0), 1);
+
+        ILoggingEvent event = appender.list.getFirst();
+        assertEquals("access", event.getMessage());
+        // Đã lấy mẫu tại nguồn: LogSamplingFilter không lấy mẫu lại
+        assertTrue(event.getMarkerList().contains(LogKeys.SAMPLED));
+        assertTrue(event.getKeyValuePairs().stream()
+                .anyMatch(kv -> kv.key.equals("endpoint") && kv.value.equals("/api/v1/students/{id}")));
+        assertTrue(event.getKeyValuePairs().stream().noneMatch(kv -> String.valueOf(kv.value).contains("123")));
+    }
+
+    @Test
+    void endpointMdcIsClearedEvenWhenRequestIsNotSampled() throws Exception {
+        MDC.put(LogKeys.ENDPOINT, "GET /api/v1/students/{id}");
+
+        run(new AccessLogFilter(0.0), 1);
+
+        assertNull(MDC.get(LogKeys.ENDPOINT));
+    }
+}
@@ -0,0 +1,121 @@
+package student.management.api_app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// LoggerContext riêng (không đụng cấu hình logback của ứng dụng)
+class LogSamplingFilterTests {
+    static final int EVENTS = 20_000;
+
+    LoggerContext context;
+    ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    private int fluent(String loggerName, int times) {
+        org.slf4j.Logger log = context.getLogger(loggerName);
+        for (int i = 0; i < times; i++) {
+            log.atInfo().addKeyValue("i", i).log("event");
+        }
+        return drain();
+    }
+
+    private int classic(String loggerName, int times) {
+        org.slf4j.Logger log = context.getLogger(loggerName);
+        for (int i = 0; i < times; i++) {
+            if (log.isInfoEnabled()) log.info("event {}", i);
+        }
+        return drain();
+    }
+
+    private int drain() {
+        int kept = appender.list.size();
+        appender.list.clear();
+        return kept;
+    }
+
+    @Test
+    void configuredRateIsAppliedToFluentAndClassicCalls() {
+        LogSamplingFilter.install(context, Map.of("org.hibernate.SQL", 0.1));
+
+        // Kỳ vọng 2000, độ lệch chuẩn ~42: ±10 sigma vẫn loại được "không lấy mẫu" và "lấy mẫu 2 lần" (~200)
+        int kept = fluent("org.hibernate.SQL", EVENTS);
+        assertTrue(kept > 1_600 && kept < 2_400, "fluent kept " + kept + " of " + EVENTS);
+        kept = classic("org.hibernate.SQL", EVENTS);
+        assertTrue(kept > 1_600 && kept < 2_400, "classic kept " + kept + " of " + EVENTS);
+    }
+
+    @Test
+    void nearestParentRateAppliesAndOtherLoggersAreUntouched() {
+        LogSamplingFilter.install(context, Map.of("app", 0.0, "app.keep", 1.0));
+
+        assertEquals(0, fluent("app.sql.slow.detail", 1_000));
+        assertEquals(1_000, fluent("app.keep.child", 1_000));
+        assertEquals(1_000, classic("org.springframework.web", 1_000));
+    }
+
+    @Test
+    void warnErrorAndSourceSampledEventsAreAlwaysKept() {
+        LogSamplingFilter.install(context, Map.of("app", 0.0));
+        org.slf4j.Logger log = context.getLogger("app.access");
+
+        for (int i = 0; i < 500; i++) {
+            log.atWarn().log("warn");
+            log.error("error");
+            log.atInfo().addMarker(LogKeys.SAMPLED).log("access");
+        }
+
+        assertEquals(1_500, drain());
+    }
+
+    @Test
+    void installIsIdempotentAndUpdatesRates() {
+        LogSamplingFilter first = LogSamplingFilter.install(context, Map.of("app", 0.0));
+        LogSamplingFilter second = LogSamplingFilter.install(context, Map.of("app", 1.0));
+
+        assertSame(first, second);
+        assertEquals(1, appender.getCopyOfAttachedFiltersList().size());
+        assertEquals(1_000, fluent("app.x", 1_000));
+    }
+
+    @Test
+    void ratesAreClamped() {
+        LogSamplingFilter.install(context, Map.of("a", 5.0, "b", -1.0));
+
+        assertEquals(500, fluent("a", 500));
+        assertEquals(0, fluent("b", 500));
+    }
+
+    @Test
+    void propertyKeysKeepTheFullLoggerName() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.logging.sampling.org.hibernate.SQL", "0.01",
+                "app.logging.sampling.app.access", "0.5",
+                "app.logging.slow-query.enabled", "true")));
+
+        assertEquals(Map.of("org.hibernate.SQL", 0.01, "app.access", 0.5), LoggingConfig.samplingRates(binder));
+        assertEquals(Map.of(), LoggingConfig.samplingRates(new Binder(new MapConfigurationPropertySource(Map.of()))));
+    }
+}
@@ -0,0 +1,104 @@
+package student.management.api_app.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import student.management.api_app.cache.EntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Insert + relay trong cùng 1 transaction rồi rollback: relay nền của các context khác không thấy event của test
+@SpringBootTest
+class OutboxRelayTests {
+    static final int EVENTS = 300;
+
+    @Autowired OutboxRelay relay;
+    @Autowired OutboxWriter writer;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void offsetsFollowIdOrderWithDefaultPlan() {
+        assertOffsetsFollowIds(false);
+    }
+
+    @Test
+    void offsetsFollowIdOrderWhenJoinDoesNotPreserveIdOrder() {
+        // Hash join + seq scan trả dòng theo vị trí vật lý, không theo id
+        assertOffsetsFollowIds(true);
+    }
+
+    private void assertOffsetsFollowIds(boolean hashJoin) {
+        tx.executeWithoutResult(status -> {
+            UUID aggregate = UUID.randomUUID();
+            writer.append(EntityType.PERSON, aggregate, OutboxEventType.CREATED, new Payload(0));
+            for (int i = 1; i < EVENTS - 1; i++) {
+                writer.append(EntityType.PERSON, aggregate, OutboxEventType.UPDATED, new Payload(i));
+            }
+            writer.append(EntityType.PERSON, aggregate, OutboxEventType.DELETED, null);
+
+            // Bản mới của nửa đầu nằm cuối heap -> thứ tự vật lý khác thứ tự id
+            jdbcTemplate.update("""
+                    UPDATE app.outbox SET payload = payload
+                    WHERE aggregate_id = ? AND id < (SELECT min(id) + ? FROM app.outbox WHERE aggregate_id = ?)
+                    """, aggregate, EVENTS / 2, aggregate);
+            if (hashJoin) {
+                jdbcTemplate.execute("SET LOCAL enable_nestloop = off");
+                jdbcTemplate.execute("SET LOCAL enable_mergejoin = off");
+            }
+
+            publishUntilDone(aggregate);
+
+            List<Long> offsets = jdbcTemplate.queryForList(
+                    "SELECT stream_offset FROM app.outbox WHERE aggregate_id = ? ORDER BY id", Long.class, aggregate);
+            assertEquals(EVENTS, offsets.size());
+            List<Long> sorted = new ArrayList<>(offsets);
+            sorted.sort(null);
+            assertEquals(sorted, offsets, "stream_offset must increase with id within a batch");
+            assertEquals("CREATED", eventTypeAt(aggregate, offsets.getFirst()));
+            assertEquals("DELETED", eventTypeAt(aggregate, offsets.getLast()));
+
+            status.setRollbackOnly();
+        });
+    }
+
+    // Relay nền đang giữ advisory lock thì publishBatch trả 0: thử lại
+    private void publishUntilDone(UUID aggregate) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            relay.publishBatch();
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM app.outbox WHERE aggregate_id = ? AND stream_offset IS NULL",
+                    Integer.class, aggregate);
+            assertNotNull(pending);
+            if (pending == 0) return;
+            sleep();
+        }
+        throw new AssertionError("outbox events were not published");
+    }
+
+    private String eventTypeAt(UUID aggregate, long offset) {
+        return jdbcTemplate.queryForObject(
+                "SELECT event_type FROM app.outbox WHERE aggregate_id = ? AND stream_offset = ?",
+                String.class, aggregate, offset);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Payload(int seq) {}
+}
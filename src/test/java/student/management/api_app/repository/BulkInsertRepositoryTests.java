@@ -0,0 +1,159 @@
+package student.management.api_app.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import student.management.api_app.coalesce.WriteOutcome;
+import student.management.api_app.dto.person.PersonCreateRequest;
+import student.management.api_app.dto.person.PersonDetailResponse;
+import student.management.api_app.dto.student.StudentCreateOnlyRequest;
+import student.management.api_app.dto.student.StudentCreateRequest;
+import student.management.api_app.dto.student.StudentDetailResponse;
+import student.management.api_app.exception.ConflictException;
+import student.management.api_app.repository.BulkInsertRepository.NewPerson;
+import student.management.api_app.repository.BulkInsertRepository.NewStudent;
+import student.management.api_app.service.IPersonService;
+import student.management.api_app.service.IStudentService;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+ * Lô create trộn dòng trùng (phone / student code) với dòng hợp lệ: dòng trùng nhận 409 của riêng nó,
+ * các dòng khác vẫn được ghi. Mỗi test rollback nên không để lại dữ liệu.
+ */
+@SpringBootTest
+@Transactional
+class BulkInsertRepositoryTests {
+
+    @Autowired
+    BulkInsertRepository bulkInsert;
+
+    @Autowired
+    IPersonService personService;
+
+    @Autowired
+    IStudentService studentService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // Mã quốc gia +999 không dùng trong dữ liệu seed
+    private static String freshPhone() {
+        return "+999" + ThreadLocalRandom.current().nextLong(100_000_000L, 1_000_000_000L);
+    }
+
+    private static String freshCode() {
+        return "BULK" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    private static NewPerson person(String phone) {
+        return new NewPerson(UUID.randomUUID(), "Bulk Insert", null, phone, null, null);
+    }
+
+    private String existingStudentCode() {
+        return jdbcTemplate.queryForObject("SELECT student_code FROM app.student_keys LIMIT 1", String.class);
+    }
+
+    @Test
+    void insertPeopleSkipsRowsConflictingWithTableOrBatch() {
+        String taken = freshPhone();
+        NewPerson existing = person(taken);
+        assertEquals(Set.of(existing.id()), bulkInsert.insertPeopleIgnoringConflicts(List.of(existing)));
+
+        String shared = freshPhone();
+        NewPerson clash = person(taken);
+        NewPerson first = person(shared);
+        NewPerson second = person(shared);
+        NewPerson noPhone = person(null);
+        NewPerson fresh = person(freshPhone());
+
+        Set<UUID> inserted = bulkInsert.insertPeopleIgnoringConflicts(List.of(clash, first, second, noPhone, fresh));
+
+        assertEquals(Set.of(first.id(), noPhone.id(), fresh.id()), inserted);
+    }
+
+    @Test
+    void existingStudentCodesReturnsOnlyCodesInTable() {
+        String existing = existingStudentCode();
+
+        assertEquals(Set.of(existing), bulkInsert.existingStudentCodes(Set.of(existing, freshCode())));
+        assertEquals(Set.of(), bulkInsert.existingStudentCodes(Set.of()));
+    }
+
+    @Test
+    void duplicateStudentCodeFailsWholeStatement() {
+        NewPerson a = person(freshPhone());
+        NewPerson b = person(freshPhone());
+        bulkInsert.insertPeopleIgnoringConflicts(List.of(a, b));
+        String code = freshCode();
+
+        // Không ON CONFLICT được (unique ở student_keys) -> WriteCoalescer phải ghi lẻ lại cả lô
+        assertThrows(DataIntegrityViolationException.class, () -> bulkInsert.insertStudents(List.of(
+                new NewStudent(a.id(), code, 2024), new NewStudent(b.id(), code, 2024))));
+    }
+
+    @Test
+    void createAllPersonsGivesEachRequestItsOwnOutcome() {
+        String taken = personService.create(new PersonCreateRequest("Taken", null, freshPhone(), null, null)).phone();
+        String shared = freshPhone();
+
+        List<WriteOutcome<PersonDetailResponse>> outcomes = personService.createAll(List.of(
+                new PersonCreateRequest("Ok One", null, freshPhone(), null, null),
+                new PersonCreateRequest("Clash Table", null, taken, null, null),
+                new PersonCreateRequest("Shared First", null, shared, null, null),
+                new PersonCreateRequest("Shared Second", null, shared, null, null),
+                new PersonCreateRequest("Ok Two", null, null, null, null)));
+
+        assertEquals("Ok One", ok(outcomes.get(0)).fullName());
+        assertConflict(outcomes.get(1));
+        assertEquals("Shared First", ok(outcomes.get(2)).fullName());
+        assertConflict(outcomes.get(3));
+        assertEquals("Ok Two", ok(outcomes.get(4)).fullName());
+    }
+
+    @Test
+    void createAllStudentsGivesEachRequestItsOwnOutcome() {
+        String code = freshCode();
+        String sharedPhone = freshPhone();
+
+        List<WriteOutcome<StudentDetailResponse>> outcomes = studentService.createAll(List.of(
+                student(freshPhone(), code),
+                student(freshPhone(), existingStudentCode()),
+                student(freshPhone(), code),
+                student(sharedPhone, freshCode()),
+                student(sharedPhone, freshCode())));
+
+        assertEquals(code, ok(outcomes.get(0)).studentCode());
+        assertConflict(outcomes.get(1));
+        assertConflict(outcomes.get(2));
+        ok(outcomes.get(3));
+        assertConflict(outcomes.get(4));
+    }
+
+    private static StudentCreateRequest student(String phone, String code) {
+        return new StudentCreateRequest(
+                new PersonCreateRequest("Bulk Student", null, phone, null, null),
+                new StudentCreateOnlyRequest(code, 2024));
+    }
+
+    private static <T> T ok(WriteOutcome<T> outcome) {
+        assertNull(outcome.error(), () -> "unexpected error: " + outcome.error());
+        return outcome.value();
+    }
+
+    private static void assertConflict(WriteOutcome<?> outcome) {
+        assertNull(outcome.value());
+        assertInstanceOf(ConflictException.class, outcome.error());
+    }
+}
@@ -0,0 +1,357 @@
+package student.management.api_app.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import student.management.api_app.util.SortAllowlist;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Gọi thật mọi cặp endpoint x sort (sort mặc định + từng property trong SortAllowlist, ASC/DESC),
+ * bắt câu SELECT trang mà Hibernate sinh ra (kèm tham số bind) qua datasource-proxy rồi EXPLAIN lại chính câu đó.
+ * Plan phải là Limit -> (Nested Loop / Merge Append / Incremental Sort ...) -> Index Scan trên index mong đợi,
+ * không có Sort nào trên input cả bảng.
+ *
+ * Dữ liệu seed rất nhỏ nên planner luôn thích seq scan + Sort; tắt enable_seqscan / enable_sort để planner dùng
+ * index khi CÓ index phù hợp. Không có thì vẫn phải Sort -> test fail vì gặp Sort trên nhánh dẫn thứ tự.
+ *
+ * POST /persons/list-by-ids là ngoại lệ: lọc id IN (...) nên đọc đúng các dòng đó qua PK rồi Sort tối đa số id
+ * client gửi, không cần index sort (đi theo index sort rồi lọc id ngược lại phải duyệt cả bảng). Endpoint này được
+ * kiểm tra riêng, trên bảng people được làm lớn tạm trong transaction của test (seed chỉ vài dòng thì đi index sort
+ * rồi lọc cũng rẻ): mọi lần đọc people đều qua people_pkey, với mọi sort được phép.
+ */
+@SpringBootTest(properties = "app.cache.search.ttl=0s") // không cache page: lần gọi nào cũng chạm DB
+@AutoConfigureMockMvc
+class SortIndexPlanTests {
+
+    // Property (như trong Pageable) -> index dẫn thứ tự (partition: index khai báo trên bảng cha)
+    static final Map<String, String> PERSON_INDEXES = Map.of(
+            "createdAt", "idx_people_created_at_full_name",
+            "updatedAt", "idx_people_updated_at_id",
+            "fullName", "idx_people_full_name",
+            "dob", "idx_people_dob");
+
+    static final Map<String, String> STUDENT_INDEXES = Map.of(
+            "createdAt", "idx_students_created_at",
+            "updatedAt", "idx_students_updated_at_person_id",
+            "studentCode", "idx_students_student_code",
+            "enrollmentYear", "idx_students_enrollment_year_created_at",
+            "person.fullName", "idx_people_full_name");
+
+    // defaultIndex: index cho sort mặc định của controller (null = endpoint không có sort mặc định)
+    // overrides: property -> index riêng cho endpoint có filter khớp prefix của index ghép
+    record Endpoint(String name, String uri, String defaultIndex, Map<String, String> overrides) {
+        Endpoint(String name, String uri, String defaultIndex) {
+            this(name, uri, defaultIndex, Map.of());
+        }
+    }
+
+    static final List<Endpoint> PERSON_ENDPOINTS = List.of(
+            new Endpoint("GET /persons", "/persons?", "idx_people_created_at_full_name"),
+            new Endpoint("GET /persons/search", "/persons/search?name=nguyen&", "idx_people_created_at_full_name"));
+
+    static final List<Endpoint> STUDENT_ENDPOINTS = List.of(
+            new Endpoint("GET /students", "/students?", null),
+            // year = ? + ORDER BY created_at: (enrollment_year, created_at) vừa lọc vừa dẫn thứ tự
+            new Endpoint("GET /students/by-year", "/students/by-year?year=2023&",
+                    "idx_students_enrollment_year_created_at",
+                    Map.of("createdAt", "idx_students_enrollment_year_created_at")),
+            new Endpoint("GET /students/search", "/students/search?enrollmentYearFrom=2022&enrollmentYearTo=2024&",
+                    "idx_students_created_at"));
+
+    // Lọc theo danh sách id: people chỉ được đọc qua PK
+    static final List<Endpoint> PERSON_ID_LOOKUP_ENDPOINTS = List.of(
+            new Endpoint("POST /persons/list-by-ids", "/persons/list-by-ids?", "people_pkey"),
+            new Endpoint("POST /persons/list-by-ids (fields)", "/persons/list-by-ids?fields=id,fullName&", "people_pkey"));
+
+    // Node giữ thứ tự của input outer -> đi tiếp xuống nhánh outer
+    static final List<String> ORDER_PRESERVING = List.of(
+            "Limit", "Nested Loop", "Merge Join", "Incremental Sort", "Result", "Gather Merge", "Memoize");
+
+    record CapturedQuery(String sql, List<ParameterSetOperation> params) {}
+
+    @Value("${api.prefix}")
+    String apiPrefix;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    final List<CapturedQuery> captured = new CopyOnWriteArrayList<>();
+
+    final QueryExecutionListener capture = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo q : queryInfoList) {
+                captured.add(new CapturedQuery(q.getQuery(),
+                        q.getParametersList().isEmpty() ? List.of() : List.copyOf(q.getParametersList().get(0))));
+            }
+        }
+    };
+
+    @BeforeEach
+    void startCapture() {
+        // DataSource đã được LoggingConfig bọc bằng datasource-proxy (slow query log)
+        assertInstanceOf(ProxyDataSource.class, dataSource, "slow query proxy must be enabled for this test");
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+    }
+
+    @AfterEach
+    void stopCapture() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    @Test
+    void everyAllowedSortPropertyHasAnIndexMapping() {
+        assertEquals(SortAllowlist.PERSON, PERSON_INDEXES.keySet());
+        assertEquals(SortAllowlist.STUDENT, STUDENT_INDEXES.keySet());
+    }
+
+    @Test
+    void personEndpointsReadPagesInIndexOrder() throws Exception {
+        assertIndexOrdered(PERSON_ENDPOINTS, PERSON_INDEXES);
+    }
+
+    @Test
+    void studentEndpointsReadPagesInIndexOrder() throws Exception {
+        assertIndexOrdered(STUDENT_ENDPOINTS, STUDENT_INDEXES);
+    }
+
+    @Test
+    @Transactional // rollback dòng đệm; MockMvc chạy cùng thread nên request và EXPLAIN thấy cùng transaction
+    void personListByIdsReadsOnlyRequestedRowsThroughPrimaryKey() throws Exception {
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT id::text FROM app.people ORDER BY id LIMIT 30", String.class);
+        String body = objectMapper.writeValueAsString(ids);
+        // Planner ước lượng số dòng theo kích thước vật lý của bảng: 50k dòng đệm (created_at mới nhất)
+        // để đi theo index sort tốn hơn hẳn đọc vài chục id qua PK, như trên dữ liệu thật
+        jdbcTemplate.update("""
+                INSERT INTO app.people (full_name)
+                SELECT 'Plan Filler ' || g FROM generate_series(1, 50000) AS g
+                """);
+
+        List<String> failures = new ArrayList<>();
+        for (Endpoint endpoint : PERSON_ID_LOOKUP_ENDPOINTS) {
+            for (String sort : sortCases(endpoint, PERSON_INDEXES).keySet()) {
+                String label = endpoint.name() + (sort.isEmpty() ? " (default sort)" : " " + sort);
+                CapturedQuery page = pageQuery(post(apiPrefix + endpoint.uri() + "page=1&size=10" + sort)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body));
+                if (page == null) {
+                    failures.add(label + ": no paged SELECT captured");
+                    continue;
+                }
+                // Sort bật: Sort trên vài chục dòng lấy qua PK là plan đúng
+                JsonNode plan = explain(page, false).get(0).get("Plan");
+                String problem = checkPrimaryKeyLookup(plan, endpoint.defaultIndex());
+                if (problem != null) {
+                    failures.add(label + ": " + problem + "\n" + page.sql() + "\n" + plan.toPrettyString());
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "list-by-ids not read through the primary key:\n" + String.join("\n\n", failures));
+    }
+
+    // sort param -> index mong đợi ("" = sort mặc định)
+    private static Map<String, String> sortCases(Endpoint endpoint, Map<String, String> indexes) {
+        Map<String, String> cases = new LinkedHashMap<>();
+        if (endpoint.defaultIndex() != null) cases.put("", endpoint.defaultIndex());
+        Map<String, String> expected = new LinkedHashMap<>(indexes);
+        expected.putAll(endpoint.overrides());
+        expected.forEach((property, index) -> {
+            cases.put("&sort=" + property + ",asc", index);
+            cases.put("&sort=" + property + ",desc", index);
+        });
+        return cases;
+    }
+
+    private void assertIndexOrdered(List<Endpoint> endpoints, Map<String, String> indexes) throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            for (Map.Entry<String, String> c : sortCases(endpoint, indexes).entrySet()) {
+                String label = endpoint.name() + (c.getKey().isEmpty() ? " (default sort)" : " " + c.getKey());
+                CapturedQuery page = pageQuery(get(apiPrefix + endpoint.uri() + "page=2&size=20" + c.getKey()));
+                if (page == null) {
+                    failures.add(label + ": no paged SELECT captured");
+                    continue;
+                }
+                JsonNode plan = explain(page, true).get(0).get("Plan");
+                String problem = checkPlan(plan, c.getValue());
+                if (problem != null) {
+                    failures.add(label + ": " + problem + "\n" + page.sql() + "\n" + plan.toPrettyString());
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Pages not read in index order:\n" + String.join("\n\n", failures));
+    }
+
+    // Câu SELECT có ORDER BY + phân trang mà request sinh ra (bỏ qua COUNT, EXPLAIN của SearchCostGuard, lazy load)
+    private CapturedQuery pageQuery(RequestBuilder request) throws Exception {
+        captured.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        for (CapturedQuery q : captured) {
+            String sql = q.sql().toLowerCase(Locale.ROOT);
+            if (sql.startsWith("select") && sql.contains(" order by ")
+                    && (sql.contains(" offset ") || sql.contains(" fetch ") || sql.contains(" limit "))) {
+                return q;
+            }
+        }
+        return null;
+    }
+
+    // null = đạt; ngược lại mô tả lỗi
+    private String checkPlan(JsonNode root, String expectedIndex) {
+        if (!"Limit".equals(root.path("Node Type").asText())) {
+            return "root is " + root.path("Node Type").asText() + ", expected Limit";
+        }
+        List<String> drivingIndexes = new ArrayList<>();
+        String problem = collectDrivingIndexes(root, drivingIndexes);
+        if (problem != null) return problem;
+        for (String index : drivingIndexes) {
+            String parent = rootIndex(index);
+            if (!expectedIndex.equals(parent)) {
+                return "ordered by " + index + " (" + parent + "), expected " + expectedIndex;
+            }
+        }
+        return null;
+    }
+
+    // null = mọi lần đọc people trong plan đều qua pkIndex (không Seq Scan, không index khác của people)
+    private String checkPrimaryKeyLookup(JsonNode root, String pkIndex) {
+        List<String> peopleIndexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'app' AND tablename = 'people'", String.class);
+        return checkPrimaryKeyLookup(root, pkIndex, peopleIndexes);
+    }
+
+    private static String checkPrimaryKeyLookup(JsonNode node, String pkIndex, List<String> peopleIndexes) {
+        String type = node.path("Node Type").asText();
+        if ("people".equals(node.path("Relation Name").asText())
+                && !List.of("Index Scan", "Index Only Scan", "Bitmap Heap Scan").contains(type)) {
+            return type + " on people";
+        }
+        String index = node.path("Index Name").asText();
+        if (peopleIndexes.contains(index) && !pkIndex.equals(index)) {
+            return type + " on " + index + ", expected " + pkIndex;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            String problem = checkPrimaryKeyLookup(child, pkIndex, peopleIndexes);
+            if (problem != null) return problem;
+        }
+        return null;
+    }
+
+    private static String collectDrivingIndexes(JsonNode node, List<String> out) {
+        String type = node.path("Node Type").asText();
+        if ("Index Scan".equals(type) || "Index Only Scan".equals(type)) {
+            out.add(node.path("Index Name").asText());
+            return null;
+        }
+        if ("Merge Append".equals(type) || "Append".equals(type)) {
+            // Mỗi partition phải tự đọc theo index (Merge Append gộp giữ thứ tự)
+            for (JsonNode child : node.path("Plans")) {
+                String problem = collectDrivingIndexes(child, out);
+                if (problem != null) return problem;
+            }
+            return null;
+        }
+        if (ORDER_PRESERVING.contains(type)) {
+            return collectDrivingIndexes(outer(node), out);
+        }
+        // Sort, Hash Join, Seq Scan, Bitmap Heap Scan, ... trên nhánh dẫn thứ tự
+        return type + " on the ordering path";
+    }
+
+    private static JsonNode outer(JsonNode node) {
+        for (JsonNode child : node.path("Plans")) {
+            if ("Outer".equals(child.path("Parent Relationship").asText())) return child;
+        }
+        return node.path("Plans").get(0);
+    }
+
+    // Index trên partition -> index khai báo trên bảng cha (ATTACH tạo index con có tên tự sinh)
+    private String rootIndex(String index) {
+        String current = index;
+        while (true) {
+            List<String> parent = jdbcTemplate.queryForList("""
+                    SELECT p.relname FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    JOIN pg_class p ON p.oid = i.inhparent
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = 'app' AND c.relname = ?
+                    """, String.class, current);
+            if (parent.isEmpty()) return current;
+            current = parent.get(0);
+        }
+    }
+
+    private JsonNode explain(CapturedQuery query, boolean disableSort) throws Exception {
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+            try (Statement st = con.createStatement()) {
+                st.execute("SET enable_seqscan = off");
+                if (disableSort) st.execute("SET enable_sort = off");
+                try (PreparedStatement ps = con.prepareStatement("EXPLAIN (FORMAT JSON) " + query.sql())) {
+                    // Bind lại đúng tham số Hibernate đã dùng (setString, setInt, ...)
+                    for (ParameterSetOperation op : query.params()) {
+                        op.getMethod().invoke(ps, op.getArgs());
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        return rs.getString(1);
+                    }
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot replay bind parameters", e);
+                } finally {
+                    st.execute("RESET enable_seqscan");
+                    st.execute("RESET enable_sort");
+                }
+            }
+        });
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,106 @@
+package student.management.api_app.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Trigger sync_student_keys / record_students_tombstone khi UPDATE students.
+ * Đổi enrollment_year sang partition khác = DELETE ở partition nguồn + INSERT ở partition đích:
+ * key và tombstone phải giữ nguyên như 1 UPDATE thường. Partition 2022..2027 có sẵn từ seed + V1.0.4.
+ */
+@SpringBootTest
+@Transactional
+class StudentKeysSyncTests {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movingToAnotherYearPartitionKeepsKeysAndLeavesNoTombstone() {
+        UUID personId = studentIn(2023);
+        List<String> keys = studentKeys();
+        List<String> tombstones = tombstones();
+
+        jdbcTemplate.update("UPDATE app.students SET enrollment_year = 2024 WHERE person_id = ?", personId);
+
+        assertEquals("students_y2024", partitionOf(personId));
+        assertEquals(keys, studentKeys());
+        assertEquals(tombstones, tombstones());
+    }
+
+    @Test
+    void movingToDefaultPartitionKeepsKeysAndLeavesNoTombstone() {
+        UUID personId = studentIn(2023);
+        List<String> keys = studentKeys();
+        List<String> tombstones = tombstones();
+
+        jdbcTemplate.update("UPDATE app.students SET enrollment_year = NULL WHERE person_id = ?", personId);
+
+        assertEquals("students_default", partitionOf(personId));
+        assertEquals(keys, studentKeys());
+        assertEquals(tombstones, tombstones());
+    }
+
+    @Test
+    void movingAndChangingCodeAtOnceReplacesTheKey() {
+        UUID personId = studentIn(2023);
+        String oldCode = jdbcTemplate.queryForObject(
+                "SELECT student_code FROM app.students WHERE person_id = ?", String.class, personId);
+        List<String> tombstones = tombstones();
+
+        jdbcTemplate.update("UPDATE app.students SET enrollment_year = 2022, student_code = 'MOVED-KEY-1' WHERE person_id = ?",
+                personId);
+
+        assertEquals("students_y2022", partitionOf(personId));
+        assertEquals("MOVED-KEY-1", jdbcTemplate.queryForObject(
+                "SELECT student_code FROM app.student_keys WHERE person_id = ?", String.class, personId));
+        assertEquals(0, count("SELECT count(*) FROM app.student_keys WHERE student_code = ?", oldCode));
+        assertEquals(tombstones, tombstones());
+    }
+
+    @Test
+    void updateWithinPartitionUpdatesTheKey() {
+        UUID personId = studentIn(2023);
+
+        jdbcTemplate.update("UPDATE app.students SET student_code = 'SAME-PART-1' WHERE person_id = ?", personId);
+
+        assertEquals("students_y2023", partitionOf(personId));
+        assertEquals("SAME-PART-1", jdbcTemplate.queryForObject(
+                "SELECT student_code FROM app.student_keys WHERE person_id = ?", String.class, personId));
+    }
+
+    private UUID studentIn(int year) {
+        return jdbcTemplate.queryForObject(
+                "SELECT person_id FROM app.students WHERE enrollment_year = ? ORDER BY person_id LIMIT 1",
+                UUID.class, year);
+    }
+
+    private String partitionOf(UUID personId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM app.students WHERE person_id = ?", String.class, personId)
+                .replaceFirst("^app\\.", "");
+    }
+
+    private List<String> studentKeys() {
+        return jdbcTemplate.queryForList(
+                "SELECT person_id || ' ' || student_code FROM app.student_keys ORDER BY person_id", String.class);
+    }
+
+    private List<String> tombstones() {
+        return jdbcTemplate.queryForList(
+                "SELECT person_id || ' ' || deleted_at FROM app.students_tombstones ORDER BY person_id", String.class);
+    }
+
+    private int count(String sql, Object... args) {
+        Integer n = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return n == null ? 0 : n;
+    }
+}
@@ -0,0 +1,78 @@
+package student.management.api_app.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * EXPLAIN các câu SQL tương đương query của endpoint lọc theo năm
+ * (findByEnrollmentYear, enrollmentYearGte/Lte) và kiểm tra chỉ partition của năm đó bị scan.
+ * Partition 2022..2024 có sẵn từ dữ liệu seed (V1.0.4 tạo partition cho mọi năm đã có).
+ */
+@SpringBootTest
+class StudentPartitionPruningTests {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void byYearScansOnlyThatYearsPartition() throws Exception {
+        assertEquals(Set.of("students_y2023"), scannedStudentPartitions("""
+                SELECT s.person_id, s.student_code, s.enrollment_year, p.full_name
+                FROM app.students s JOIN app.people p ON p.id = s.person_id
+                WHERE s.enrollment_year = 2023
+                ORDER BY s.enrollment_year DESC
+                LIMIT 5
+                """));
+    }
+
+    @Test
+    void yearRangeSearchScansOnlyPartitionsInRange() throws Exception {
+        assertEquals(Set.of("students_y2022", "students_y2023"), scannedStudentPartitions("""
+                SELECT s.person_id, s.student_code
+                FROM app.students s JOIN app.people p ON p.id = s.person_id
+                WHERE s.enrollment_year >= 2022 AND s.enrollment_year <= 2023
+                ORDER BY s.created_at DESC
+                LIMIT 5
+                """));
+    }
+
+    @Test
+    void countForYearRangeScansOnlyPartitionsInRange() throws Exception {
+        assertEquals(Set.of("students_y2024"), scannedStudentPartitions("""
+                SELECT count(*) FROM app.students s WHERE s.enrollment_year >= 2024 AND s.enrollment_year < 2025
+                """));
+    }
+
+    @Test
+    void unfilteredQueryStillReadsDefaultPartition() throws Exception {
+        Set<String> scanned = scannedStudentPartitions("SELECT count(*) FROM app.students");
+        assertEquals(true, scanned.contains("students_default"), "default partition holds NULL years");
+    }
+
+    private Set<String> scannedStudentPartitions(String sql) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        Set<String> relations = new TreeSet<>();
+        collectRelations(objectMapper.readTree(json), relations);
+        relations.removeIf(name -> !name.startsWith("students"));
+        return relations;
+    }
+
+    private static void collectRelations(JsonNode node, Set<String> out) {
+        if (node.isObject() && node.has("Relation Name")) {
+            out.add(node.get("Relation Name").asText());
+        }
+        node.forEach(child -> collectRelations(child, out));
+    }
+}
@@ -0,0 +1,91 @@
+package student.management.api_app.suggest;
+
+import org.junit.jupiter.api.Test;
+import student.management.api_app.dto.suggest.SuggestionResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixIndexTests {
+    static final UUID AN = UUID.randomUUID();
+    static final UUID BICH = UUID.randomUUID();
+    static final UUID CUONG = UUID.randomUUID();
+
+    private static PrefixIndex index(int compactThreshold) {
+        PrefixIndex index = new PrefixIndex(compactThreshold, 1000);
+        index.replaceAll(List.of(
+                new PrefixIndex.Entry(AN, "Nguyễn Văn An", "STU-2024-001"),
+                new PrefixIndex.Entry(BICH, "Trần Thị Bích", "STU-2024-002"),
+                new PrefixIndex.Entry(CUONG, "Lê Hoàng Cường", "STU-2023-010")));
+        return index;
+    }
+
+    private static List<UUID> ids(PrefixIndex index, String q) {
+        return index.search(q, 10).stream().map(SuggestionResponse::id).toList();
+    }
+
+    @Test
+    void searchMatchesUnaccentedMultiTermAndJoinedQueries() {
+        PrefixIndex index = index(100);
+
+        assertEquals(List.of(AN), ids(index, "nguyễn an"));
+        assertEquals(List.of(AN), ids(index, "NGUYEN va"));
+        assertEquals(List.of(AN, BICH), ids(index, "stu-2024"));
+        assertEquals(List.of(CUONG), ids(index, "stu2023"));
+        assertEquals(List.of(), ids(index, "  "));
+        assertEquals(1, index.search("stu", 1).size());
+    }
+
+    @Test
+    void resultsCarryLabelAndDetail() {
+        SuggestionResponse hit = index(100).search("bich", 5).get(0);
+
+        assertEquals(new SuggestionResponse(BICH, "Trần Thị Bích", "STU-2024-002"), hit);
+    }
+
+    @Test
+    void deltaShadowsUpdatedAndRemovedBaseEntries() {
+        PrefixIndex index = index(100);
+        UUID dung = UUID.randomUUID();
+
+        index.apply(List.of(new PrefixIndex.Entry(AN, "Nguyễn Văn Anh", "STU-2024-001"),
+                        new PrefixIndex.Entry(dung, "Phạm Dũng", "STU-2025-001")),
+                List.of(BICH));
+
+        assertEquals(List.of(AN), ids(index, "anh"));
+        assertEquals(List.of("Nguyễn Văn Anh"), index.search("nguyen", 10).stream().map(SuggestionResponse::label).toList());
+        assertEquals(List.of(), ids(index, "bich"));
+        assertEquals(List.of(dung), ids(index, "dung"));
+        assertEquals(Set.of(AN, CUONG, dung), Set.copyOf(ids(index, "stu")));
+    }
+
+    @Test
+    void removingDeltaEntryHidesIt() {
+        PrefixIndex index = index(100);
+        UUID dung = UUID.randomUUID();
+        index.apply(List.of(new PrefixIndex.Entry(dung, "Phạm Dũng", null)), List.of());
+        index.apply(List.of(), List.of(dung));
+
+        assertEquals(List.of(), ids(index, "dung"));
+    }
+
+    @Test
+    void compactionMergesDeltaIntoBaseWithSameResults() {
+        PrefixIndex index = index(2);
+        UUID dung = UUID.randomUUID();
+        index.apply(List.of(new PrefixIndex.Entry(AN, "Nguyễn Văn Anh", "STU-2024-001")), List.of());
+        assertEquals(4, index.size()); // base 3 + delta 1 (bản cũ của AN còn trong base)
+
+        // shadowed = {AN, BICH, dung} > 2 -> gộp vào base
+        index.apply(List.of(new PrefixIndex.Entry(dung, "Phạm Dũng", "STU-2025-001")), List.of(BICH));
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(AN), ids(index, "anh"));
+        assertEquals(List.of(), ids(index, "bich"));
+        assertEquals(List.of(dung), ids(index, "dung"));
+        assertEquals(List.of(CUONG), ids(index, "cuong"));
+    }
+}
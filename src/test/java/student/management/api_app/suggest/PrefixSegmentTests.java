@@ -0,0 +1,77 @@
+package student.management.api_app.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixSegmentTests {
+    static final UUID AN = UUID.randomUUID();
+    static final UUID BICH = UUID.randomUUID();
+    static final UUID CUONG = UUID.randomUUID();
+    static final UUID VAN = UUID.randomUUID();
+
+    final PrefixSegment segment = PrefixSegment.build(List.of(
+            new PrefixIndex.Entry(AN, "Nguyễn Văn An", "STU-2024-001"),
+            new PrefixIndex.Entry(BICH, "Trần Thị Bích", "STU-2024-002"),
+            new PrefixIndex.Entry(CUONG, "Lê Hoàng Cường", "STU-2023-010"),
+            new PrefixIndex.Entry(VAN, "Văn-An Phạm", null)));
+
+    private List<UUID> scan(List<String> terms, int limit, int maxScan, Set<UUID> skip) {
+        List<PrefixSegment.Hit> hits = new ArrayList<>();
+        segment.scan(terms, limit, maxScan, skip, hits);
+        hits.sort(PrefixSegment.HIT_ORDER);
+        return hits.stream().map(PrefixSegment.Hit::id).toList();
+    }
+
+    @Test
+    void prefixMatchesUnaccentedToken() {
+        assertEquals(List.of(CUONG), scan(List.of("cuo"), 10, 100, Set.of()));
+        assertEquals(List.of(BICH), scan(List.of("bich"), 10, 100, Set.of()));
+        assertEquals(List.of(), scan(List.of("zz"), 10, 100, Set.of()));
+    }
+
+    @Test
+    void entryWithSeveralMatchingTokensIsReturnedOnce() {
+        // "Văn-An": token van + vanan cùng prefix "van"
+        List<UUID> ids = scan(List.of("van"), 10, 100, Set.of());
+        assertEquals(2, ids.size());
+        assertEquals(Set.of(AN, VAN), Set.copyOf(ids));
+    }
+
+    @Test
+    void joinedTokenMatchesCodeTypedWithOrWithoutSeparators() {
+        assertEquals(List.of(AN, BICH), scan(SuggestText.queryTokens("stu-2024"), 10, 100, Set.of()));
+        assertEquals(List.of(AN), scan(SuggestText.queryTokens("STU2024001"), 10, 100, Set.of()));
+    }
+
+    @Test
+    void everyTermMustMatchSomeToken() {
+        assertEquals(List.of(AN), scan(List.of("nguyen", "an"), 10, 100, Set.of()));
+        assertEquals(List.of(VAN), scan(List.of("pham", "van"), 10, 100, Set.of()));
+        assertEquals(List.of(), scan(List.of("nguyen", "bich"), 10, 100, Set.of()));
+    }
+
+    @Test
+    void skippedIdsLimitAndMaxScanAreRespected() {
+        assertEquals(List.of(BICH), scan(List.of("stu2024"), 10, 100, Set.of(AN)));
+        assertEquals(1, scan(List.of("stu"), 1, 100, Set.of()).size());
+        assertTrue(scan(List.of("stu"), 10, 1, Set.of()).size() <= 1);
+    }
+
+    @Test
+    void forEachEntryRebuildsEntriesExceptSkipped() {
+        List<PrefixIndex.Entry> out = new ArrayList<>();
+        segment.forEachEntry(Set.of(BICH), out);
+
+        assertEquals(List.of(AN, CUONG, VAN), out.stream().map(PrefixIndex.Entry::id).toList());
+        assertEquals("Văn-An Phạm", out.get(2).label());
+        assertEquals(4, segment.size());
+        assertEquals(0, PrefixSegment.EMPTY.size());
+    }
+}
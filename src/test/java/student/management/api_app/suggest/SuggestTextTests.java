@@ -0,0 +1,46 @@
+package student.management.api_app.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestTextTests {
+
+    @Test
+    void normalizeStripsVietnameseDiacritics() {
+        assertEquals("nguyen van an", SuggestText.normalize("Nguyễn Văn An"));
+        assertEquals("dang thi duc", SuggestText.normalize("ĐẶNG Thị Đức"));
+        assertEquals("tran thi bich", SuggestText.normalize("Trần Thị Bích"));
+        assertEquals("le hoang cuong", SuggestText.normalize("Lê Hoàng Cường"));
+        assertEquals("", SuggestText.normalize(null));
+    }
+
+    @Test
+    void normalizeAsciiOnlyLowercases() {
+        assertEquals("stu-2024-001", SuggestText.normalize("STU-2024-001"));
+    }
+
+    @Test
+    void tokensSplitWordsAndAddJoinedTokenPerChunk() {
+        assertEquals(List.of("nguyen", "van", "an", "vanan"), SuggestText.tokens("Nguyễn Văn-An"));
+        assertEquals(List.of("stu", "2024", "001", "stu2024001"), SuggestText.tokens("STU-2024-001"));
+        assertEquals(List.of("stu2024001"), SuggestText.tokens("STU2024001"));
+    }
+
+    @Test
+    void tokensOfSeveralTextsAreDeduplicatedInOrder() {
+        assertEquals(List.of("an", "nguyen", "example", "com", "anexamplecom"),
+                SuggestText.tokens("An Nguyễn", "an@example.com"));
+        assertEquals(List.of("an"), SuggestText.tokens(null, "an", "AN"));
+    }
+
+    @Test
+    void queryTokensKeepOnlyJoinedTokenForSeparatedChunks() {
+        assertEquals(List.of("stu2024"), SuggestText.queryTokens("stu-2024"));
+        assertEquals(List.of("stu2024"), SuggestText.queryTokens("STU 2024".replace(' ', '-')));
+        assertEquals(List.of("nguyen", "an"), SuggestText.queryTokens("  nguyễn   an "));
+        assertEquals(List.of(), SuggestText.queryTokens(" - "));
+    }
+}
@@ -0,0 +1,184 @@
+package student.management.api_app.util;
+
+import org.junit.jupiter.api.Test;
+import student.management.api_app.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DobRangeTests {
+    static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    // Điều kiện SQL mà PersonSpecifications.dobIn dựng từ range
+    private static boolean contains(DobRange r, LocalDate dob) {
+        if (dob == null) return r.includeUnknown();
+        return (r.from() == null || !dob.isBefore(r.from())) && (r.to() == null || !dob.isAfter(r.to()));
+    }
+
+    private static int age(LocalDate dob, LocalDate today) {
+        return Period.between(dob, today).getYears();
+    }
+
+    @Test
+    void birthdayTodayCountsAsFullAge() {
+        LocalDate turns18 = LocalDate.of(2008, 10, 19);
+        LocalDate turns18Tomorrow = LocalDate.of(2008, 10, 20);
+
+        DobRange adult = DobRange.of(null, null, true, null, null, TODAY);
+        assertEquals(turns18, adult.to());
+        assertTrue(contains(adult, turns18));
+        assertFalse(contains(adult, turns18Tomorrow));
+
+        // maxAge=17: sinh nhật 18 hôm nay -> đã 18, bị loại; mai mới 18 -> còn 17
+        DobRange upTo17 = DobRange.of(null, null, null, null, 17, TODAY);
+        assertEquals(turns18Tomorrow, upTo17.from());
+        assertFalse(contains(upTo17, turns18));
+        assertTrue(contains(upTo17, turns18Tomorrow));
+
+        // minAge = maxAge = 18: đúng 1 năm sinh, từ sinh nhật 19 ngày mai tới sinh nhật 18 hôm nay
+        DobRange exactly18 = DobRange.of(null, null, null, 18, 18, TODAY);
+        assertEquals(LocalDate.of(2007, 10, 20), exactly18.from());
+        assertEquals(turns18, exactly18.to());
+    }
+
+    @Test
+    void feb29BirthTurnsAYearOlderOnMarch1InCommonYears() {
+        LocalDate leapling = LocalDate.of(2008, 2, 29);
+
+        // Năm thường: 28/02 chưa đủ tuổi, 01/03 mới đủ (giống Period.between)
+        assertFalse(contains(DobRange.of(null, null, true, null, null, LocalDate.of(2026, 2, 28)), leapling));
+        assertTrue(contains(DobRange.of(null, null, true, null, null, LocalDate.of(2026, 3, 1)), leapling));
+        assertTrue(contains(DobRange.of(null, null, false, null, null, LocalDate.of(2026, 2, 28)), leapling));
+        assertFalse(contains(DobRange.of(null, null, false, null, null, LocalDate.of(2026, 3, 1)), leapling));
+
+        // Năm nhuận: đủ tuổi đúng ngày 29/02
+        LocalDate leapToday = LocalDate.of(2028, 2, 29);
+        assertTrue(contains(DobRange.of(null, null, null, 20, 20, leapToday), leapling));
+        assertFalse(contains(DobRange.of(null, null, null, 20, 20, leapToday.minusDays(1)), leapling));
+
+        // Hôm nay 29/02, người sinh 28/02 và 01/03 của 18 năm trước (năm thường)
+        DobRange adultOnLeapDay = DobRange.of(null, null, true, null, null, leapToday);
+        assertTrue(contains(adultOnLeapDay, LocalDate.of(2010, 2, 28)));
+        assertFalse(contains(adultOnLeapDay, LocalDate.of(2010, 3, 1)));
+    }
+
+    @Test
+    void matchesPeriodBetweenForEveryDobAndFilterCombination() {
+        List<LocalDate> todays = List.of(TODAY, LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 1),
+                LocalDate.of(2028, 2, 29), LocalDate.of(2027, 12, 31));
+        LocalDate[] dobBounds = {null, LocalDate.of(2005, 2, 28), LocalDate.of(2008, 2, 29), LocalDate.of(2010, 1, 1)};
+        Boolean[] adults = {null, true, false};
+        Integer[] ages = {null, 0, 16, 18, 20};
+
+        for (LocalDate today : todays) {
+            for (LocalDate dobFrom : dobBounds) {
+                for (LocalDate dobTo : dobBounds) {
+                    for (Boolean adult : adults) {
+                        for (Integer minAge : ages) {
+                            for (Integer maxAge : ages) {
+                                if (minAge != null && maxAge != null && minAge > maxAge) continue;
+                                DobRange r = DobRange.of(dobFrom, dobTo, adult, minAge, maxAge, today);
+                                for (LocalDate d = today.minusYears(25); !d.isAfter(today); d = d.plusDays(7)) {
+                                    LocalDate dob = d;
+                                    int age = age(dob, today);
+                                    boolean expected = (dobFrom == null || !dob.isBefore(dobFrom))
+                                            && (dobTo == null || !dob.isAfter(dobTo))
+                                            && (adult == null || adult == (age >= AgeCalculator.ADULT_AGE))
+                                            && (minAge == null || age >= minAge)
+                                            && (maxAge == null || age <= maxAge);
+                                    assertEquals(expected, contains(r, dob), () -> String.format(
+                                            "today=%s dob=%s from=%s to=%s adult=%s min=%s max=%s -> %s",
+                                            today, dob, dobFrom, dobTo, adult, minAge, maxAge, r));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void dobBoundsAreIntersectedWithAgeBounds() {
+        // dobTo sớm hơn mốc 18 tuổi -> giữ dobTo; dobFrom muộn hơn mốc maxAge -> giữ dobFrom
+        DobRange r = DobRange.of(LocalDate.of(2000, 1, 1), LocalDate.of(2005, 6, 30), true, null, 30, TODAY);
+        assertEquals(LocalDate.of(2000, 1, 1), r.from());
+        assertEquals(LocalDate.of(2005, 6, 30), r.to());
+
+        // Ngược lại: mốc tuổi chặt hơn dob người dùng gửi
+        r = DobRange.of(LocalDate.of(1900, 1, 1), LocalDate.of(2020, 1, 1), null, 20, 25, TODAY);
+        assertEquals(LocalDate.of(2000, 10, 20), r.from());
+        assertEquals(LocalDate.of(2006, 10, 19), r.to());
+
+        // adult=true + minAge nhỏ hơn 18 -> vẫn 18; adult=false + maxAge lớn hơn 17 -> vẫn 17
+        assertEquals(LocalDate.of(2008, 10, 19), DobRange.of(null, null, true, 10, null, TODAY).to());
+        assertEquals(LocalDate.of(2008, 10, 20), DobRange.of(null, null, false, null, 40, TODAY).from());
+    }
+
+    @Test
+    void contradictoryFiltersGiveAnEmptyRange() {
+        // adult=true nhưng dob sau mốc 18 tuổi
+        DobRange adultButYoung = DobRange.of(LocalDate.of(2015, 1, 1), null, true, null, null, TODAY);
+        // adult=false nhưng minAge=18 (minAge <= maxAge hợp lệ, adult mới làm rỗng)
+        DobRange minorButAdultAge = DobRange.of(null, null, false, 18, null, TODAY);
+        // minAge/maxAge đúng nhưng dobTo quá sớm
+        DobRange ageVsDob = DobRange.of(null, LocalDate.of(1990, 1, 1), null, 20, 25, TODAY);
+
+        for (DobRange r : List.of(adultButYoung, minorButAdultAge, ageVsDob)) {
+            assertTrue(r.from().isAfter(r.to()), r::toString);
+            assertFalse(r.includeUnknown());
+            for (LocalDate dob = TODAY.minusYears(100); !dob.isAfter(TODAY); dob = dob.plusDays(1)) {
+                assertFalse(contains(r, dob), r + " contains " + dob);
+            }
+        }
+    }
+
+    @Test
+    void unknownDobOnlyForPlainNotAdultFilter() {
+        // isAdult(null) = false nên adult=false gồm cả dob không rõ
+        DobRange minors = DobRange.of(null, null, false, null, null, TODAY);
+        assertTrue(minors.includeUnknown());
+        assertTrue(contains(minors, null));
+
+        assertFalse(DobRange.of(null, null, true, null, null, TODAY).includeUnknown());
+        assertFalse(DobRange.of(null, null, false, 10, null, TODAY).includeUnknown());
+        assertFalse(DobRange.of(null, null, false, null, 15, TODAY).includeUnknown());
+        assertFalse(DobRange.of(LocalDate.of(2010, 1, 1), null, false, null, null, TODAY).includeUnknown());
+        assertFalse(DobRange.of(null, LocalDate.of(2010, 1, 1), false, null, null, TODAY).includeUnknown());
+    }
+
+    @Test
+    void noFilterIsAny() {
+        DobRange r = DobRange.of(null, null, null, null, null, TODAY);
+        assertEquals(DobRange.ANY, r);
+        assertNull(r.from());
+        assertNull(r.to());
+    }
+
+    @Test
+    void invalidAgesAreRejected() {
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, null, -1, null, TODAY));
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, null, null, -1, TODAY));
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, null, 30, 20, TODAY));
+    }
+
+    @Test
+    void hugeAgesAreRejectedInsteadOfOverflowing() {
+        // Trước đây: max + 1 tràn int / minusYears ra ngoài LocalDate -> 500
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, null, null, Integer.MAX_VALUE, TODAY));
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, null, Integer.MAX_VALUE, null, TODAY));
+        assertThrows(BadRequestException.class, () -> DobRange.of(null, null, true, DobRange.MAX_AGE + 1, null, TODAY));
+
+        // Đúng bằng chặn trên vẫn hợp lệ
+        DobRange r = DobRange.of(null, null, null, DobRange.MAX_AGE, DobRange.MAX_AGE, TODAY);
+        assertEquals(LocalDate.of(1876, 10, 19), r.to());
+        assertEquals(LocalDate.of(1875, 10, 20), r.from());
+    }
+}
@@ -0,0 +1,110 @@
+package student.management.api_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NormalizerUtilTests {
+
+    @Test
+    void normalizePhoneToE164() {
+        assertEquals("+84905000001", NormalizerUtil.normalizePhone("0905000001"));
+        assertEquals("+84905000002", NormalizerUtil.normalizePhone(" 0905 000 002 "));
+        assertEquals("+84905000003", NormalizerUtil.normalizePhone("0905.000.003"));
+        assertEquals("+84905000004", NormalizerUtil.normalizePhone("(0905)-000-004"));
+        assertEquals("+84905000005", NormalizerUtil.normalizePhone("+84 905 000 005"));
+        assertEquals("+84905000006", NormalizerUtil.normalizePhone("0084905000006"));
+        assertEquals("+84905000007", NormalizerUtil.normalizePhone("\t0905\u3000000 007\n"));
+    }
+
+    @Test
+    void normalizePhoneOnlyTreatsAdjacentZerosAsInternationalPrefix() {
+        // "0 0..." là trunk prefix 0 + số bắt đầu bằng 0, không phải "00"
+        assertEquals("+840905", NormalizerUtil.normalizePhone("0 0905"));
+        assertEquals("+1555", NormalizerUtil.normalizePhone("  00 1555"));
+        assertEquals("+84100", NormalizerUtil.normalizePhone("0100"));
+    }
+
+    @Test
+    void normalizePhoneKeepsOtherInputExceptSeparators() {
+        assertEquals("1900100", NormalizerUtil.normalizePhone("1900 100"));
+        assertEquals("+84", NormalizerUtil.normalizePhone("0"));
+        // No-break space không phải whitespace theo Character.isWhitespace -> giữ nguyên (như migration V1.0.2)
+        assertEquals("+84905\u00A0001", NormalizerUtil.normalizePhone("0905\u00A0001"));
+    }
+
+    @Test
+    void normalizePhoneReturnsNullForBlank() {
+        assertNull(NormalizerUtil.normalizePhone(null));
+        assertNull(NormalizerUtil.normalizePhone(""));
+        assertNull(NormalizerUtil.normalizePhone("   "));
+        assertNull(NormalizerUtil.normalizePhone(" .-() "));
+    }
+
+    @Test
+    void canonicalPhoneIsReturnedAsIs() {
+        String canonical = "+84905000001";
+        assertSame(canonical, NormalizerUtil.normalizePhone(canonical));
+    }
+
+    @Test
+    void normalizeEmailTrimsAndLowercases() {
+        assertEquals("an.nguyen@example.com", NormalizerUtil.normalizeEmail("  An.Nguyen@Example.COM "));
+        assertEquals("đức@example.vn", NormalizerUtil.normalizeEmail("ĐỨC@example.vn"));
+        assertNull(NormalizerUtil.normalizeEmail(null));
+        assertNull(NormalizerUtil.normalizeEmail(" \t "));
+
+        String normalized = "bich.tran@example.com";
+        assertSame(normalized, NormalizerUtil.normalizeEmail(normalized));
+    }
+
+    @Test
+    void normalizeCodeTrimsAndUppercases() {
+        assertEquals("STU001", NormalizerUtil.normalizeCode(" stu001 "));
+        assertEquals("K22-CNTT-0004", NormalizerUtil.normalizeCode("k22-cntt-0004"));
+        assertNull(NormalizerUtil.normalizeCode(null));
+        assertNull(NormalizerUtil.normalizeCode(""));
+
+        String normalized = "STU003";
+        assertSame(normalized, NormalizerUtil.normalizeCode(normalized));
+    }
+
+    @Test
+    void caseMappingIgnoresDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            // tr_TR: "i".toUpperCase() = "İ", "I".toLowerCase() = "ı"
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals("STUI", NormalizerUtil.normalizeCode("stui"));
+            assertEquals("info@example.com", NormalizerUtil.normalizeEmail("INFO@example.com"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void nonAsciiCaseMappingMatchesStringWithRootLocale() {
+        // Ánh xạ 1 ký tự -> nhiều ký tự: per-char Character.toUpperCase/toLowerCase không làm được
+        assertEquals("STRASSE-01", NormalizerUtil.normalizeCode(" straße-01 "));
+        assertEquals("ǄUNGLA", NormalizerUtil.normalizeCode("ǅungla"));
+        assertEquals("i\u0307stanbul@example.com", NormalizerUtil.normalizeEmail("İSTANBUL@example.com"));
+        assertEquals("straße@example.de", NormalizerUtil.normalizeEmail("STRAßE@EXAMPLE.DE"));
+
+        String[] inputs = {"straße", "İstanbul", "ǅ", "ﬁle", "ŉ", "ΣΑΣ", "Đức", "K22-ĐHBK", "mixed ASCII then ß", "ß first"};
+        for (String input : inputs) {
+            assertEquals(input.toUpperCase(Locale.ROOT), NormalizerUtil.normalizeCode(input), input);
+            assertEquals(input.toLowerCase(Locale.ROOT), NormalizerUtil.normalizeEmail(input), input);
+        }
+    }
+
+    @Test
+    void trimToNull() {
+        assertEquals("Nguyễn Văn An", NormalizerUtil.trimToNull("  Nguyễn Văn An  "));
+        assertNull(NormalizerUtil.trimToNull(" "));
+        assertNull(NormalizerUtil.trimToNull(null));
+    }
+}